@@ -0,0 +1,391 @@
+package com.meudominio.amigosecreto.cache;
+
+import com.meudominio.amigosecreto.config.DrawConfig;
+import com.meudominio.amigosecreto.dto.response.DrawResponse;
+import com.meudominio.amigosecreto.event.DrawExecutedEvent;
+import com.meudominio.amigosecreto.event.DrawResetEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice em memória (groupId, giverId) -> (drawId, receiverId) para a consulta "meu sorteio".
+ * Tabela de endereçamento aberto sobre arrays primitivos, atualizada pelos eventos de sorteio;
+ * leituras usam lock otimista e não passam pelo Hibernate.
+ * <p>
+ * Os nomes exibidos ficam fora da tabela: o username de cada sorteado uma única vez, com a
+ * contagem de pares que o referenciam (sai quando o último par sai), e o nome de cada grupo
+ * indexado. A chave é o ID do doador, já resolvido pela checagem de membro que precede toda consulta.
+ */
+@Component
+@Slf4j
+public class DrawIndex {
+
+    private static final long EMPTY = 0L;
+    private static final long MAX_ID = 0xFFFFFFFFL;
+    private static final double MAX_LOAD = 0.5;
+
+    private final boolean enabled;
+    private final StampedLock lock = new StampedLock();
+
+    private final Map<Long, String> groupNames = new ConcurrentHashMap<>();
+    private final Map<Long, Label> receiverNames = new ConcurrentHashMap<>();
+
+    private volatile Table table;
+    private long epoch;
+
+    public DrawIndex(DrawConfig drawConfig) {
+        this.enabled = drawConfig.isIndexEnabled();
+        this.table = new Table(tableSizeFor(drawConfig.getIndexInitialCapacity()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retorna o sorteio do membro no grupo ou null quando não está no índice.
+     * Não verifica se o usuário é membro: o chamador já deve ter feito essa checagem.
+     */
+    public DrawResponse find(Long groupId, Long giverId, String username) {
+        long key = key(groupId, giverId);
+        if (!enabled || key == EMPTY) {
+            return null;
+        }
+
+        long drawId;
+        long receiverId;
+
+        long stamp = lock.tryOptimisticRead();
+        Table t = table;
+        int slot = t.slotOf(key);
+        drawId = slot >= 0 ? t.drawIds[slot] : 0;
+        receiverId = slot >= 0 ? t.receiverIds[slot] : 0;
+
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                t = table;
+                slot = t.slotOf(key);
+                drawId = slot >= 0 ? t.drawIds[slot] : 0;
+                receiverId = slot >= 0 ? t.receiverIds[slot] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (slot < 0) {
+            return null;
+        }
+
+        // Nomes removidos entre a leitura do par e aqui viram ausência: o chamador vai ao banco
+        Label receiver = receiverNames.get(receiverId);
+        String groupName = groupNames.get(groupId);
+        if (receiver == null || groupName == null) {
+            return null;
+        }
+
+        return DrawResponse.builder()
+                .id(drawId)
+                .groupId(groupId)
+                .groupName(groupName)
+                .giverUsername(username)
+                .receiverUsername(receiver.username)
+                .build();
+    }
+
+    /**
+     * Versão atual do índice. Deve ser lida antes de consultar o banco para um preenchimento
+     * posterior via {@link #put}, que é descartado se houve remoção no meio do caminho.
+     */
+    public long epoch() {
+        long stamp = lock.readLock();
+        try {
+            return epoch;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Preenche o índice com um sorteio lido do banco (leitura sob demanda)
+     */
+    public void put(long expectedEpoch, Long groupId, String groupName, Long drawId,
+                    Long giverId, Long receiverId, String receiverUsername) {
+        if (!enabled || key(groupId, giverId) == EMPTY || drawId == null
+                || receiverId == null || receiverUsername == null) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            if (epoch != expectedEpoch) {
+                return;
+            }
+            groupNames.put(groupId, groupName);
+            insert(key(groupId, giverId), drawId, receiverId, receiverUsername);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDrawExecuted(DrawExecutedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            groupNames.put(event.groupId(), event.groupName());
+            for (DrawExecutedEvent.Pair pair : event.pairs()) {
+                long key = key(event.groupId(), pair.giverId());
+                if (key == EMPTY || pair.drawId() == null
+                        || pair.receiverId() == null || pair.receiverUsername() == null) {
+                    continue;
+                }
+                insert(key, pair.drawId(), pair.receiverId(), pair.receiverUsername());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        log.debug("Índice de sorteios: {} pares indexados para grupo ID: {}", event.pairs().size(), event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onDrawReset(DrawResetEvent event) {
+        evictGroup(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        evictGroup(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberRemoved(MemberRemovedEvent event) {
+        long key = key(event.groupId(), event.userId());
+        if (!enabled || key == EMPTY) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            epoch++;
+            int slot = table.slotOf(key);
+            if (slot >= 0) {
+                release(table.receiverIds[slot]);
+                table.removeAt(slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Quantidade de pares indexados
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return table.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+
+    /**
+     * Quantidade de usernames de sorteados guardados (no máximo um por sorteado indexado)
+     */
+    int receiverNameCount() {
+        return receiverNames.size();
+    }
+
+
+    private void evictGroup(Long groupId) {
+        if (!enabled) {
+            return;
+        }
+
+        long stamp = lock.writeLock();
+        try {
+            epoch++;
+            Table old = table;
+            Table rebuilt = new Table(old.keys.length);
+            for (int i = 0; i < old.keys.length; i++) {
+                long key = old.keys[i];
+                if (key == EMPTY) {
+                    continue;
+                }
+                if ((key >>> 32) == groupId) {
+                    release(old.receiverIds[i]);
+                } else {
+                    rebuilt.insert(key, old.drawIds[i], old.receiverIds[i]);
+                }
+            }
+            table = rebuilt;
+            groupNames.remove(groupId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+
+    private void insert(long key, long drawId, long receiverId, String receiverUsername) {
+        if (table.size + 1 > table.keys.length * MAX_LOAD) {
+            Table old = table;
+            Table grown = new Table(old.keys.length << 1);
+            for (int i = 0; i < old.keys.length; i++) {
+                if (old.keys[i] != EMPTY) {
+                    grown.insert(old.keys[i], old.drawIds[i], old.receiverIds[i]);
+                }
+            }
+            table = grown;
+        }
+        // Conta o novo par antes de soltar o anterior, para o nome não sair quando o sorteado se repete
+        retain(receiverId, receiverUsername);
+        long previous = table.insert(key, drawId, receiverId);
+        if (previous != EMPTY) {
+            release(previous);
+        }
+    }
+
+
+    /**
+     * Nomes dos sorteados: só alterados sob o lock de escrita, lidos sem lock por find()
+     */
+    private void retain(long receiverId, String username) {
+        receiverNames.compute(receiverId, (id, label) -> {
+            Label retained = label != null ? label : new Label(username);
+            retained.refs++;
+            return retained;
+        });
+    }
+
+    private void release(long receiverId) {
+        receiverNames.computeIfPresent(receiverId, (id, label) -> --label.refs == 0 ? null : label);
+    }
+
+
+    private static long key(Long groupId, Long giverId) {
+        if (groupId == null || giverId == null
+                || groupId <= 0 || groupId > MAX_ID || giverId <= 0 || giverId > MAX_ID) {
+            return EMPTY;
+        }
+        return (groupId << 32) | giverId;
+    }
+
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        return Math.max(16, size);
+    }
+
+    /**
+     * Arrays paralelos com sondagem linear. Remoção por deslocamento para trás,
+     * sem marcadores de remoção.
+     */
+    private static final class Table {
+
+        private final long[] keys;
+        private final long[] drawIds;
+        private final long[] receiverIds;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.drawIds = new long[capacity];
+            this.receiverIds = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int home(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        /**
+         * Posição da chave ou -1. Limita a sondagem ao tamanho da tabela para que
+         * uma leitura otimista concorrente com escrita nunca fique presa em laço.
+         */
+        private int slotOf(long key) {
+            int slot = home(key);
+            for (int probes = 0; probes <= mask; probes++) {
+                long current = keys[slot];
+                if (current == key) {
+                    return slot;
+                }
+                if (current == EMPTY) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Grava o par e retorna o sorteado que a chave tinha antes (EMPTY se a chave é nova)
+         */
+        private long insert(long key, long drawId, long receiverId) {
+            int slot = home(key);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            long previous = EMPTY;
+            if (keys[slot] == EMPTY) {
+                size++;
+            } else {
+                previous = receiverIds[slot];
+            }
+            drawIds[slot] = drawId;
+            receiverIds[slot] = receiverId;
+            keys[slot] = key;
+            return previous;
+        }
+
+        private void removeAt(int slot) {
+            int gap = slot;
+            int i = slot;
+            while (true) {
+                i = (i + 1) & mask;
+                long key = keys[i];
+                if (key == EMPTY) {
+                    break;
+                }
+                // Move a entrada para a lacuna se a lacuna estiver entre a posição de origem e a atual
+                int home = home(key);
+                if (((i - home) & mask) >= ((i - gap) & mask)) {
+                    keys[gap] = key;
+                    drawIds[gap] = drawIds[i];
+                    receiverIds[gap] = receiverIds[i];
+                    gap = i;
+                }
+            }
+            keys[gap] = EMPTY;
+            size--;
+        }
+    }
+
+    /**
+     * Username de um sorteado e quantos pares indexados o referenciam
+     */
+    private static final class Label {
+
+        private final String username;
+        private int refs;
+
+        private Label(String username) {
+            this.username = username;
+        }
+    }
+}
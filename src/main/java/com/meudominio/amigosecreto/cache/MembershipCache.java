@@ -0,0 +1,266 @@
+package com.meudominio.amigosecreto.cache;
+
+import com.meudominio.amigosecreto.config.MembershipConfig;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
+import com.meudominio.amigosecreto.event.UserDeletedEvent;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache das verificações "usuário é membro do grupo?". Guarda por grupo um long[] ordenado
+ * com os IDs dos membros (busca binária), com despejo LRU limitado pelo total de IDs.
+ * Invalidado pelos eventos de entrada, saída e exclusão após o commit.
+ * <p>
+ * Acertos não tomam lock: o mapa é concorrente e o LRU é aproximado por um relógio lógico que
+ * só avança nas cargas, gravado na entrada quando muda. As cargas em andamento são descartadas
+ * pela época da faixa do grupo (épocas distribuídas por hash), não por qualquer invalidação.
+ * <p>
+ * Guarda também o ID de cada username verificado, para que um acerto não vá ao banco nem para
+ * resolver o usuário. Usernames não mudam; o par só sai quando o usuário é excluído, já que um
+ * novo cadastro pode reaproveitar o nome com outro ID.
+ */
+@Component
+@Slf4j
+public class MembershipCache {
+
+    /** Marcador de grupo grande demais para o cache: a verificação vai sempre ao banco */
+    private static final long[] OVERSIZED = new long[0];
+    private static final int EPOCH_STRIPES = 1024;
+
+    private final GroupMemberRepository groupMemberRepository;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long maxEntries;
+    private final int maxGroupSize;
+    private final int maxUsers;
+
+    private final Map<Long, Entry> groups = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+    private final AtomicLong cachedEntries = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+    private final AtomicLong userEpoch = new AtomicLong();
+
+    public MembershipCache(GroupMemberRepository groupMemberRepository,
+                           UserRepository userRepository,
+                           MembershipConfig membershipConfig) {
+        this.groupMemberRepository = groupMemberRepository;
+        this.userRepository = userRepository;
+        this.enabled = membershipConfig.isCacheEnabled();
+        this.maxEntries = membershipConfig.getCacheMaxEntries();
+        this.maxGroupSize = membershipConfig.getCacheMaxGroupSize();
+        this.maxUsers = membershipConfig.getCacheMaxUsers();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isMember(Long groupId, Long userId) {
+        if (!enabled || groupId == null || userId == null) {
+            return groupMemberRepository.existsByGroupIdAndUserId(groupId, userId);
+        }
+
+        long[] members;
+        Entry entry = groups.get(groupId);
+        if (entry != null) {
+            entry.touch(clock.get());
+            members = entry.members;
+        } else {
+            members = load(groupId, epochs.get(stripe(groupId)));
+        }
+
+        if (members == OVERSIZED) {
+            return groupMemberRepository.existsByGroupIdAndUserId(groupId, userId);
+        }
+        return Arrays.binarySearch(members, userId) >= 0;
+    }
+
+    /**
+     * ID do usuário pelo username, da memória depois da primeira consulta
+     */
+    public Optional<Long> findUserId(String username) {
+        if (!enabled || username == null) {
+            return userRepository.findIdByUsername(username);
+        }
+
+        Long cached = userIds.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Mesma proteção das cargas de grupo: uma exclusão durante a consulta descarta o resultado
+        long expectedEpoch = userEpoch.get();
+        Optional<Long> loaded = userRepository.findIdByUsername(username);
+        loaded.ifPresent(userId -> {
+            if (userIds.size() >= maxUsers) {
+                // Limite atingido: sai um username qualquer (a ordem do mapa segue o hash)
+                Iterator<String> names = userIds.keySet().iterator();
+                if (names.hasNext()) {
+                    userIds.remove(names.next());
+                }
+            }
+            userIds.compute(username, (name, current) ->
+                    current != null || userEpoch.get() != expectedEpoch ? current : userId);
+        });
+        return loaded;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMembersAdded(MembersAddedEvent event) {
+        evict(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberRemoved(MemberRemovedEvent event) {
+        evict(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        evict(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // A época sobe antes da remoção: uma carga que já leu o ID antigo não consegue gravá-lo depois
+        userEpoch.incrementAndGet();
+        userIds.values().removeIf(event.userId()::equals);
+    }
+
+    /**
+     * Quantidade de IDs guardados somando todos os grupos
+     */
+    public long size() {
+        return cachedEntries.get();
+    }
+
+
+    private long[] load(Long groupId, long expectedEpoch) {
+        List<Long> ids = groupMemberRepository.findUserIdsByGroupId(groupId);
+
+        long[] members;
+        if (ids.size() > maxGroupSize) {
+            members = OVERSIZED;
+        } else {
+            members = new long[ids.size()];
+            for (int i = 0; i < members.length; i++) {
+                members[i] = ids.get(i);
+            }
+            Arrays.sort(members);
+        }
+
+        // Grupo vazio (ou inexistente) não é guardado: não há evento que o invalide na criação
+        if (ids.isEmpty()) {
+            return members;
+        }
+
+        // Uma invalidação do grupo durante a consulta torna o resultado possivelmente obsoleto.
+        // A checagem roda dentro do compute, que serializa com o compute de evict() na mesma chave
+        Entry loaded = new Entry(members, clock.getAndIncrement());
+        groups.compute(groupId, (id, current) -> {
+            if (current != null || epochs.get(stripe(id)) != expectedEpoch) {
+                return current;
+            }
+            cachedEntries.addAndGet(weight(members));
+            return loaded;
+        });
+
+        if (cachedEntries.get() > maxEntries) {
+            evictEldest();
+        }
+        return members;
+    }
+
+    private void evict(Long groupId) {
+        if (!enabled) {
+            return;
+        }
+
+        groups.compute(groupId, (id, current) -> {
+            epochs.incrementAndGet(stripe(id));
+            if (current != null) {
+                cachedEntries.addAndGet(-weight(current.members));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Remove as entradas menos usadas até voltar ao limite. Só uma thread despeja por vez;
+     * as demais seguem sem esperar, já que a próxima carga tenta de novo.
+     */
+    private void evictEldest() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // Fotografa o último uso antes de ordenar: acertos concorrentes continuam gravando
+            List<Candidate> candidates = new ArrayList<>(groups.size());
+            groups.forEach((groupId, entry) -> candidates.add(new Candidate(groupId, entry, entry.lastUsed)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastUsed));
+            for (Candidate candidate : candidates) {
+                if (cachedEntries.get() <= maxEntries) {
+                    break;
+                }
+                if (groups.remove(candidate.groupId(), candidate.entry())) {
+                    cachedEntries.addAndGet(-weight(candidate.entry().members));
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static int stripe(Long groupId) {
+        return (Long.hashCode(groupId) * 0x9E3779B9 >>> 22) & (EPOCH_STRIPES - 1);
+    }
+
+    private static long weight(long[] members) {
+        return Math.max(1, members.length);
+    }
+
+    private record Candidate(Long groupId, Entry entry, long lastUsed) {
+    }
+
+    private static final class Entry {
+
+        private final long[] members;
+        private volatile long lastUsed;
+
+        private Entry(long[] members, long lastUsed) {
+            this.members = members;
+            this.lastUsed = lastUsed;
+        }
+
+        /** Só grava quando o relógio avançou, para acertos repetidos não disputarem a linha de cache */
+        private void touch(long now) {
+            if (lastUsed != now) {
+                lastUsed = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "draw")
+@Getter
+@Setter
+public class DrawConfig {
+
+    private long optimizerTimeBudgetMs = 2000; // orçamento máximo do otimizador
+    private long optimizerMaxIterations = 50_000_000;
+    private boolean indexEnabled = false; // índice em memória para consultas de "meu sorteio"
+    private int indexInitialCapacity = 1024;
+}
@@ -0,0 +1,16 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "member-import")
+@Getter
+@Setter
+public class MemberImportConfig {
+
+    private long progressTtlMinutes = 60; // por quanto tempo o andamento de uma importação finalizada fica consultável
+    private long evictionIntervalMs = 300_000; // intervalo da limpeza dos andamentos expirados
+}
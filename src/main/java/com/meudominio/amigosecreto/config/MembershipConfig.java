@@ -0,0 +1,18 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "membership")
+@Getter
+@Setter
+public class MembershipConfig {
+
+    private boolean cacheEnabled = false; // cache em memória das verificações de membro
+    private long cacheMaxEntries = 1_000_000; // total de IDs guardados somando todos os grupos
+    private int cacheMaxGroupSize = 50_000; // grupos maiores são sempre consultados no banco
+    private int cacheMaxUsers = 100_000; // usernames com o ID guardado para as verificações
+}
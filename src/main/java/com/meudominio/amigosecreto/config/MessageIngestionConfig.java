@@ -0,0 +1,18 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "message-ingestion")
+@Getter
+@Setter
+public class MessageIngestionConfig {
+
+    private boolean writeBehindEnabled = false; // envia as mensagens por fila e grava em lotes
+    private int queueCapacity = 10_000; // mensagens aguardando gravação antes de responder 503
+    private int batchSize = 500; // máximo de mensagens por transação
+    private long flushIntervalMs = 5; // espera máxima para completar um lote após a primeira mensagem
+}
@@ -0,0 +1,17 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "message-retention")
+@Getter
+@Setter
+public class MessageRetentionConfig {
+
+    private boolean enabled = false; // arquiva periodicamente as mensagens antigas
+    private int retentionDays = 365; // idade a partir da qual a mensagem sai da tabela principal
+    private int chunkSize = 1000; // mensagens por bloco arquivado (uma transação por bloco)
+}
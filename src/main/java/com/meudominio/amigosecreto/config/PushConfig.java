@@ -0,0 +1,22 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "push")
+@Getter
+@Setter
+public class PushConfig {
+
+    private int replayBufferSize = 200; // últimas mensagens de cada grupo guardadas para reconexão
+    private int subscriberQueueSize = 256; // eventos pendentes por conexão (além do replay) antes de desconectar o cliente lento
+    private long emitterTimeoutMs = 1_800_000; // tempo máximo de uma conexão SSE antes de o cliente reconectar
+    private long heartbeatIntervalMs = 25_000; // intervalo do comentário enviado para manter as conexões abertas
+    private long idleChannelTtlMs = 600_000; // grupo sem conexões e sem mensagens por esse tempo perde o buffer
+    private int senderThreads = 4; // threads que escrevem nas conexões
+    private int longPollMaxWaitSeconds = 30; // espera máxima aceita na sincronização com long-polling
+    private int longPollThreads = 2; // threads que respondem as esperas acordadas
+}
@@ -0,0 +1,20 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitConfig {
+
+    private boolean enabled = true; // limita por usuário o envio de mensagens e a execução de sorteios
+    private int messageCapacity = 20; // rajada máxima de mensagens
+    private int messageRefillPerMinute = 60; // mensagens por minuto em regime contínuo
+    private int drawCapacity = 5; // rajada máxima de sorteios (executar ou desfazer)
+    private int drawRefillPerMinute = 10; // sorteios por minuto em regime contínuo
+    private long evictionIntervalMs = 60_000; // intervalo da limpeza dos baldes cheios (usuários ociosos)
+}
@@ -0,0 +1,17 @@
+package com.meudominio.amigosecreto.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "search")
+@Getter
+@Setter
+public class SearchConfig {
+
+    private String engine = "ngram"; // "ngram" (índice em memória, portável) ou "postgres" (pg_trgm e tsvector, índices pela migração V2_1)
+    private int ngramLoadPageSize = 10_000; // grupos lidos por consulta ao montar o índice em memória
+    private int messageLoadPageSize = 10_000; // mensagens lidas por consulta ao montar o índice invertido
+}
@@ -1,13 +1,17 @@
 package com.meudominio.amigosecreto.controller;
 
 import com.meudominio.amigosecreto.dto.response.DrawResponse;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse;
+import com.meudominio.amigosecreto.model.enums.DrawMode;
 import com.meudominio.amigosecreto.service.DrawService;
+import com.meudominio.amigosecreto.service.DrawVerificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -21,14 +25,17 @@ import java.util.List;
 public class DrawController {
 
     private final DrawService drawService;
+    private final DrawVerificationService drawVerificationService;
 
     @PostMapping("/draw")
-    @Operation(summary = "Executar sorteio", description = "Realiza o sorteio do amigo secreto para o grupo (apenas administrador)")
+    @Operation(summary = "Executar sorteio", description = "Realiza o sorteio do amigo secreto para o grupo (apenas administrador). " +
+            "O modo OPTIMIZED minimiza as preferências suaves respeitando os bloqueios")
     public ResponseEntity<List<DrawResponse>> executeDraw(
             @PathVariable Long groupId,
+            @RequestParam(defaultValue = "RANDOM") DrawMode mode,
             Authentication authentication) {
         String username = authentication.getName();
-        List<DrawResponse> results = drawService.executeDraw(groupId, username);
+        List<DrawResponse> results = drawService.executeDraw(groupId, username, mode);
         return ResponseEntity.status(HttpStatus.CREATED).body(results);
     }
 
@@ -52,6 +59,14 @@ public class DrawController {
         return ResponseEntity.ok(results);
     }
 
+    @GetMapping("/draw/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Verificar sorteio", description = "Confere se o sorteio persistido forma um único ciclo válido sem pares bloqueados (apenas ADMIN)")
+    public ResponseEntity<DrawVerificationResponse> verifyDraw(@PathVariable Long groupId) {
+        DrawVerificationResponse response = drawVerificationService.verify(groupId);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/draw")
     @Operation(summary = "Resetar sorteio", description = "Remove o sorteio atual para refazê-lo (apenas administrador)")
     public ResponseEntity<Void> resetDraw(
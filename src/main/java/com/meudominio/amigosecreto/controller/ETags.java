@@ -0,0 +1,31 @@
+package com.meudominio.amigosecreto.controller;
+
+/**
+ * Comparação do cabeçalho If-None-Match com o ETag atual de um recurso
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Indica se o cliente já tem a versão atual; aceita lista de ETags, "*" e ETags fracos (W/)
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+
+        String quoted = "\"" + etag + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.strip();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
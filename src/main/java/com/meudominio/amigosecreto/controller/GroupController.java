@@ -1,19 +1,34 @@
 package com.meudominio.amigosecreto.controller;
 
+import com.meudominio.amigosecreto.dto.request.AddMembersRequest;
+import com.meudominio.amigosecreto.dto.request.BlockUsersRequest;
 import com.meudominio.amigosecreto.dto.request.CreateGroupRequest;
+import com.meudominio.amigosecreto.dto.request.GroupSort;
+import com.meudominio.amigosecreto.dto.response.BatchAddMembersResponse;
+import com.meudominio.amigosecreto.dto.response.BatchBlockResponse;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.GroupResponse;
+import com.meudominio.amigosecreto.dto.response.GroupSearchResult;
+import com.meudominio.amigosecreto.dto.response.ImportProgressResponse;
+import com.meudominio.amigosecreto.dto.response.MemberResponse;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
 import com.meudominio.amigosecreto.service.GroupService;
+import com.meudominio.amigosecreto.service.MemberImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -24,6 +39,7 @@ import java.util.List;
 public class GroupController {
 
     private final GroupService groupService;
+    private final MemberImportService memberImportService;
 
     @PostMapping
     @Operation(summary = "Criar novo grupo", description = "Cria um grupo de amigo secreto (usuário se torna administrador)")
@@ -36,19 +52,59 @@ public class GroupController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar grupos do usuário", description = "Retorna todos os grupos que o usuário participa")
-    public ResponseEntity<List<GroupResponse>> getUserGroups(Authentication authentication) {
+    @Operation(summary = "Listar grupos do usuário", description = "Retorna todos os grupos que o usuário participa, com ordenação e filtros pelos contadores do grupo")
+    public ResponseEntity<List<GroupResponse>> getUserGroups(
+            @RequestParam(defaultValue = "ID") GroupSort sort,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+            @RequestParam(required = false) DrawStatus drawStatus,
+            @RequestParam(defaultValue = "0") int minMembers,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
         String username = authentication.getName();
-        List<GroupResponse> groups = groupService.getUserGroups(username);
-        return ResponseEntity.ok(groups);
+        String etag = groupService.getUserGroupsETag(username, sort, direction, drawStatus, minMembers);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        List<GroupResponse> groups = groupService.getUserGroups(username, sort, direction, drawStatus, minMembers);
+        return etag == null ? ResponseEntity.ok(groups) : ResponseEntity.ok().eTag(etag).body(groups);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar grupos por nome", description = "Busca, entre os grupos do usuário, os que têm o texto no nome (mínimo de 3 caracteres), com os que começam pelo texto primeiro")
+    public ResponseEntity<List<GroupSearchResult>> searchGroups(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        return ResponseEntity.ok(groupService.searchGroups(q, limit, authentication.getName()));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obter detalhes do grupo", description = "Retorna informações detalhadas de um grupo específico")
-    public ResponseEntity<GroupResponse> getGroupById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<GroupResponse> getGroupById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
         String username = authentication.getName();
+        String etag = groupService.getGroupETag(id, username);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         GroupResponse response = groupService.getGroupById(id, username);
-        return ResponseEntity.ok(response);
+        return etag == null ? ResponseEntity.ok(response) : ResponseEntity.ok().eTag(etag).body(response);
+    }
+
+    @GetMapping("/{id}/members")
+    @Operation(summary = "Listar membros do grupo", description = "Retorna os membros em páginas; use o nextCursor retornado no parâmetro after")
+    public ResponseEntity<CursorPageResponse<MemberResponse>> getMembers(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        String username = authentication.getName();
+        CursorPageResponse<MemberResponse> page = groupService.getMembers(id, username, after, limit);
+        return ResponseEntity.ok(page);
     }
 
     @PostMapping("/{id}/members")
@@ -62,6 +118,47 @@ public class GroupController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping("/{id}/members:batch")
+    @Operation(summary = "Adicionar membros em lote", description = "Adiciona vários participantes por ID e/ou username, com resultado por item (apenas administrador)")
+    public ResponseEntity<BatchAddMembersResponse> addMembers(
+            @PathVariable Long id,
+            @Valid @RequestBody AddMembersRequest request,
+            Authentication authentication) {
+        String username = authentication.getName();
+        BatchAddMembersResponse response = groupService.addMembers(id, request, username);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/{id}/members:import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar participantes", description = "Lê um CSV (username,email,password) ou NDJSON em streaming, cria os usuários que faltam e os adiciona ao grupo em lotes (apenas administrador). Responde só no fim: cada usuário novo custa um hash BCrypt (~0,1 s), então 10 mil usuários novos levam de 10 a 20 minutos e o timeout de leitura do cliente e dos proxies deve acompanhar o tamanho do arquivo. Se a conexão cair, os lotes gravados permanecem e o andamento segue no GET")
+    public ResponseEntity<ImportProgressResponse> importMembers(
+            @PathVariable Long id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            Authentication authentication) {
+        String username = authentication.getName();
+        MemberImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? MemberImportService.Format.NDJSON
+                : MemberImportService.Format.CSV;
+        ImportProgressResponse response = memberImportService.importMembers(id, username, body, format);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}/members:import")
+    @Operation(summary = "Andamento da importação", description = "Retorna o andamento da importação atual ou da última realizada, guardado por member-import.progress-ttl-minutes após o fim (apenas administrador)")
+    public ResponseEntity<ImportProgressResponse> getImportProgress(@PathVariable Long id, Authentication authentication) {
+        String username = authentication.getName();
+        return ResponseEntity.ok(memberImportService.getProgress(id, username));
+    }
+
+    @PostMapping("/{id}/read")
+    @Operation(summary = "Marcar grupo como lido", description = "Zera o contador de mensagens não lidas do usuário no grupo")
+    public ResponseEntity<Void> markGroupRead(@PathVariable Long id, Authentication authentication) {
+        String username = authentication.getName();
+        groupService.markGroupRead(id, username);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}/members/{userId}")
     @Operation(summary = "Remover membro do grupo", description = "Remove um participante do grupo (apenas administrador)")
     public ResponseEntity<Void> removeMember(
@@ -91,4 +188,27 @@ public class GroupController {
         groupService.blockUser(id, username, blockedUserId);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
+
+    @PostMapping("/{id}/blocks:batch")
+    @Operation(summary = "Bloquear em lote", description = "Cadastra vários bloqueios de uma vez, com resultado por par e verificação opcional de que os bloqueios não tornam o sorteio comprovadamente inviável (apenas administrador)")
+    public ResponseEntity<BatchBlockResponse> blockUsers(
+            @PathVariable Long id,
+            @Valid @RequestBody BlockUsersRequest request,
+            Authentication authentication) {
+        String username = authentication.getName();
+        BatchBlockResponse response = groupService.blockUsers(id, request, username);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/preferences")
+    @Operation(summary = "Registrar preferência", description = "Indica que o usuário prefere não tirar outro participante (peso de 1 a 100, usado no sorteio otimizado)")
+    public ResponseEntity<Void> addPreference(
+            @PathVariable Long id,
+            @RequestParam Long avoidedUserId,
+            @RequestParam(defaultValue = "10") Integer weight,
+            Authentication authentication) {
+        String username = authentication.getName();
+        groupService.addPreference(id, username, avoidedUserId, weight);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
 }
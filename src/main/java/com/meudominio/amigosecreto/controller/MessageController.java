@@ -1,19 +1,26 @@
 package com.meudominio.amigosecreto.controller;
 
 import com.meudominio.amigosecreto.dto.request.SendMessageRequest;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.dto.response.MessageSyncResponse;
+import com.meudominio.amigosecreto.service.MessageArchiveService;
 import com.meudominio.amigosecreto.service.MessageService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -23,25 +30,83 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final MessageArchiveService messageArchiveService;
 
     @PostMapping
     @Operation(summary = "Enviar mensagem", description = "Envia uma mensagem (anônima ou identificada) para o grupo")
-    public ResponseEntity<MessageResponse> sendMessage(
+    public CompletableFuture<ResponseEntity<MessageResponse>> sendMessage(
             @Valid @RequestBody SendMessageRequest request,
             Authentication authentication) {
         String username = authentication.getName();
-        MessageResponse response = messageService.sendMessage(request, username);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        CompletableFuture<MessageResponse> response = messageService.isWriteBehindEnabled()
+                ? messageService.submitMessage(request, username)
+                : CompletableFuture.completedFuture(messageService.sendMessage(request, username));
+        return response.thenApply(body -> ResponseEntity.status(HttpStatus.CREATED).body(body));
     }
 
     @GetMapping("/group/{groupId}")
-    @Operation(summary = "Listar mensagens do grupo", description = "Retorna todas as mensagens de um grupo específico")
-    public ResponseEntity<List<MessageResponse>> getGroupMessages(
+    @Operation(summary = "Listar mensagens do grupo", description = "Retorna as mensagens do grupo da mais recente para a mais antiga, em páginas; use o nextCursor retornado no parâmetro before")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> getGroupMessages(
             @PathVariable Long groupId,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             Authentication authentication) {
         String username = authentication.getName();
-        List<MessageResponse> messages = messageService.getGroupMessages(groupId, username);
-        return ResponseEntity.ok(messages);
+        String etag = messageService.getGroupMessagesETag(groupId, username);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        CursorPageResponse<MessageResponse> page = messageService.getGroupMessages(groupId, username, before, limit);
+        return etag == null ? ResponseEntity.ok(page) : ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    @GetMapping("/group/{groupId}/search")
+    @Operation(summary = "Buscar nas mensagens do grupo", description = "Busca mensagens do grupo que contêm todas as palavras (sem diferenciar acentos), das mais recentes para as mais antigas; use o nextCursor retornado no parâmetro before")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> searchMessages(
+            @PathVariable Long groupId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        String username = authentication.getName();
+        CursorPageResponse<MessageResponse> page = messageService.searchMessages(groupId, username, q, before, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/group/{groupId}/archive")
+    @Operation(summary = "Listar mensagens arquivadas do grupo", description = "Retorna o histórico antigo do grupo, já fora da lista principal, da mensagem mais recente para a mais antiga; use o nextCursor retornado no parâmetro before")
+    public ResponseEntity<CursorPageResponse<MessageResponse>> getArchivedMessages(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        String username = authentication.getName();
+        CursorPageResponse<MessageResponse> page = messageArchiveService.getArchivedMessages(groupId, username, before, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/group/{groupId}/since/{cursor}")
+    @Operation(summary = "Sincronizar mensagens desde um cursor", description = "Retorna as mensagens enviadas e as exclusões após o cursor (o ID de uma mensagem ou o cursor da sincronização anterior); com wait, aguarda até essa quantidade de segundos por novidades")
+    public DeferredResult<MessageSyncResponse> getMessagesSince(
+            @PathVariable Long groupId,
+            @PathVariable String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int wait,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return messageService.getMessagesSince(groupId, username, cursor, limit, wait);
+    }
+
+    @GetMapping(value = "/group/{groupId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Receber mensagens em tempo real", description = "Abre um canal SSE com as novas mensagens (evento message) e exclusões (evento delete, com o ID da mensagem) do grupo; ao reconectar com Last-Event-ID recebe o que perdeu, ou um evento reset quando é preciso recarregar a lista")
+    public SseEmitter streamGroupMessages(
+            @PathVariable Long groupId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication) {
+        String username = authentication.getName();
+        return messageService.subscribe(groupId, username, lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -1,11 +1,15 @@
 package com.meudominio.amigosecreto.controller;
 
+import com.meudominio.amigosecreto.dto.response.DrawResponse;
 import com.meudominio.amigosecreto.dto.response.UserResponse;
+import com.meudominio.amigosecreto.service.DrawService;
 import com.meudominio.amigosecreto.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,6 +25,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final DrawService drawService;
 
     @GetMapping("/me")
     @Operation(summary = "Obter dados do usuário atual", description = "Retorna informações do usuário autenticado")
@@ -30,6 +35,21 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/me/draws")
+    @Operation(summary = "Ver meus amigos secretos", description = "Retorna quem o usuário tirou em todos os seus grupos (suporta If-None-Match)")
+    public ResponseEntity<List<DrawResponse>> getMyDraws(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+        String username = authentication.getName();
+        String etag = drawService.getMyDrawsETag(username);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        List<DrawResponse> draws = drawService.getMyDraws(username);
+        return ResponseEntity.ok().eTag(etag).body(draws);
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Listar todos os usuários", description = "Retorna lista de todos os usuários (apenas ADMIN)")
@@ -0,0 +1,10 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha do NDJSON de um bloco arquivado; o remetente é nulo nas mensagens anônimas
+ */
+public record ArchivedMessage(Long id, String senderUsername, String content, boolean anonymous,
+                              LocalDateTime timestamp) {
+}
@@ -0,0 +1,8 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Agregado que muda sempre que os sorteios de um usuário mudam: quantidade de sorteios em que
+ * ele é o doador, soma e maior ID (sorteios refeitos ganham IDs novos)
+ */
+public record DrawListVersion(Long draws, Long idSum, Long lastId) {
+}
@@ -0,0 +1,8 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Projeção de um sorteio com os nomes já resolvidos na própria consulta
+ */
+public record DrawView(Long id, Long groupId, String groupName,
+                       String giverUsername, String receiverUsername, Long receiverId) {
+}
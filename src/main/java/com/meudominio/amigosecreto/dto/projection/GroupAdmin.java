@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Administrador de um grupo, lido sem carregar as entidades Group e User
+ */
+public record GroupAdmin(Long adminId, String adminUsername) {
+}
@@ -0,0 +1,9 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Agregado que muda sempre que a lista de grupos de um usuário muda: quantidade de grupos,
+ * soma dos IDs (entradas e saídas), soma das revisões (alterações em qualquer grupo) e soma
+ * das leituras do usuário (contadores de não lidas)
+ */
+public record GroupListVersion(Long groups, Long idSum, Long revisionSum, Long withStats, Long readSeqSum) {
+}
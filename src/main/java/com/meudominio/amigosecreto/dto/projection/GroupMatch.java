@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * ID e nome de um grupo, usados pela busca por nome
+ */
+public record GroupMatch(Long id, String name) {
+}
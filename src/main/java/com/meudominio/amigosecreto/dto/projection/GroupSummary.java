@@ -0,0 +1,24 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um grupo com o administrador e os contadores resolvidos na consulta;
+ * unreadCount só é preenchido nas listas por membro
+ */
+public record GroupSummary(Long id, String name, String description, String adminUsername,
+                           LocalDate drawDate, LocalDateTime createdAt, Integer memberCount,
+                           Integer blockCount, Integer messageCount, DrawStatus drawStatus,
+                           LocalDateTime updatedAt, Long unreadCount) {
+
+    public GroupSummary(Long id, String name, String description, String adminUsername,
+                        LocalDate drawDate, LocalDateTime createdAt, Integer memberCount,
+                        Integer blockCount, Integer messageCount, DrawStatus drawStatus,
+                        LocalDateTime updatedAt) {
+        this(id, name, description, adminUsername, drawDate, createdAt, memberCount,
+             blockCount, messageCount, drawStatus, updatedAt, null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Par de IDs lido diretamente do banco (ex.: doador/recebedor, bloqueador/bloqueado)
+ */
+public record IdPair(Long first, Long second) {
+}
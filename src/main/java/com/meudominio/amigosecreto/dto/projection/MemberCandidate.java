@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Usuário candidato a membro; membershipId é preenchido quando ele já participa do grupo
+ */
+public record MemberCandidate(Long userId, String username, Long membershipId) {
+}
@@ -0,0 +1,9 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de um membro do grupo; o ID da associação serve de cursor na paginação
+ */
+public record MemberView(Long id, Long userId, String username, LocalDateTime joinedAt) {
+}
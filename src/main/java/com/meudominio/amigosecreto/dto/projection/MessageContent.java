@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Projeção mínima de uma mensagem para montar o índice de busca
+ */
+public record MessageContent(Long id, Long groupId, String content) {
+}
@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+/**
+ * Grupo, remetente e admin do grupo de uma mensagem, lidos pelas chaves sem carregar as entidades
+ */
+public record MessageOwnership(Long groupId, Long senderId, Long adminId) {
+}
@@ -0,0 +1,12 @@
+package com.meudominio.amigosecreto.dto.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção de uma mensagem com o grupo e o remetente resolvidos na consulta;
+ * (timestamp, id) serve de cursor na paginação. Nas listagens senderUsername vem nulo
+ * para mensagens anônimas
+ */
+public record MessageView(Long id, Long groupId, String groupName, String senderUsername, String content,
+                          Boolean isAnonymous, LocalDateTime timestamp) {
+}
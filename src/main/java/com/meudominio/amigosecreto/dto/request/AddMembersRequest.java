@@ -0,0 +1,26 @@
+package com.meudominio.amigosecreto.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Requisição de inclusão de membros em lote (por ID e/ou username)")
+public class AddMembersRequest {
+
+    @Size(max = 10000, message = "Máximo de 10000 IDs por requisição")
+    @Schema(description = "IDs dos usuários a adicionar", example = "[2, 3, 4]")
+    private List<Long> userIds;
+
+    @Size(max = 10000, message = "Máximo de 10000 usernames por requisição")
+    @Schema(description = "Usernames dos usuários a adicionar", example = "[\"mariasouza\", \"pedrolima\"]")
+    private List<String> usernames;
+}
@@ -0,0 +1,45 @@
+package com.meudominio.amigosecreto.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Requisição de cadastro de bloqueios em lote")
+public class BlockUsersRequest {
+
+    @NotEmpty(message = "Informe ao menos um bloqueio")
+    @Size(max = 10000, message = "Máximo de 10000 bloqueios por requisição")
+    @Schema(description = "Pares (quem bloqueia, quem é bloqueado)")
+    private List<@Valid @NotNull Pair> blocks;
+
+    @Schema(description = "Rejeita o lote se os bloqueios comprovadamente impedirem o sorteio; passar na verificação não garante que o sorteio encontre um ciclo", example = "true")
+    private boolean checkFeasibility;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Bloqueio: o participante blockerId não pode tirar blockedId")
+    public static class Pair {
+
+        @NotNull(message = "ID de quem bloqueia é obrigatório")
+        @Schema(description = "ID de quem bloqueia", example = "2")
+        private Long blockerId;
+
+        @NotNull(message = "ID do bloqueado é obrigatório")
+        @Schema(description = "ID do bloqueado", example = "3")
+        private Long blockedId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.meudominio.amigosecreto.dto.request;
+
+/**
+ * Campos aceitos para ordenar a listagem de grupos
+ */
+public enum GroupSort {
+    ID,
+    NAME,
+    CREATED_AT,
+    DRAW_DATE,
+    MEMBER_COUNT,
+    BLOCK_COUNT,
+    MESSAGE_COUNT,
+    UPDATED_AT
+}
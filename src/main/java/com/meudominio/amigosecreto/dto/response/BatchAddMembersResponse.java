@@ -0,0 +1,46 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da inclusão de membros em lote")
+public class BatchAddMembersResponse {
+
+    public enum Status { ADDED, ALREADY_MEMBER, NOT_FOUND, DUPLICATE }
+
+    @Schema(description = "ID do grupo", example = "1")
+    private Long groupId;
+
+    @Schema(description = "Quantidade de itens por resultado")
+    private Map<Status, Integer> totals;
+
+    @Schema(description = "Resultado de cada item, na ordem enviada (IDs primeiro, depois usernames)")
+    private List<Item> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Resultado de um item do lote")
+    public static class Item {
+
+        @Schema(description = "ID ou username enviado", example = "mariasouza")
+        private String identifier;
+
+        @Schema(description = "ID do usuário resolvido", example = "2")
+        private Long userId;
+
+        @Schema(description = "Resultado do item", example = "ADDED")
+        private Status status;
+    }
+}
@@ -0,0 +1,46 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado do cadastro de bloqueios em lote")
+public class BatchBlockResponse {
+
+    public enum Status { ADDED, ALREADY_BLOCKED, NOT_MEMBER, SELF_BLOCK, DUPLICATE }
+
+    @Schema(description = "ID do grupo", example = "1")
+    private Long groupId;
+
+    @Schema(description = "Quantidade de pares por resultado")
+    private Map<Status, Integer> totals;
+
+    @Schema(description = "Resultado de cada par, na ordem enviada")
+    private List<Item> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Resultado de um par do lote")
+    public static class Item {
+
+        @Schema(description = "ID de quem bloqueia", example = "2")
+        private Long blockerId;
+
+        @Schema(description = "ID do bloqueado", example = "3")
+        private Long blockedId;
+
+        @Schema(description = "Resultado do par", example = "ADDED")
+        private Status status;
+    }
+}
@@ -0,0 +1,26 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados paginada por cursor")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Itens da página")
+    private List<T> items;
+
+    @Schema(description = "Cursor para buscar a próxima página (ausente na última)", example = "1042")
+    private String nextCursor;
+
+    @Schema(description = "Indica se existem mais itens após esta página", example = "true")
+    private boolean hasMore;
+}
@@ -0,0 +1,51 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado da verificação de integridade do sorteio persistido")
+public class DrawVerificationResponse {
+
+    public enum Status { VALID, INVALID, NOT_DRAWN }
+
+    public enum Problem {
+        NON_MEMBER,
+        SELF_DRAW,
+        DUPLICATE_GIVER,
+        DUPLICATE_RECEIVER,
+        MISSING_GIVER,
+        MULTIPLE_CYCLES,
+        BLOCKED_PAIR
+    }
+
+    @Schema(description = "ID do grupo", example = "1")
+    private Long groupId;
+
+    @Schema(description = "Resultado da verificação", example = "VALID")
+    private Status status;
+
+    @Schema(description = "Número de membros do grupo", example = "8")
+    private Integer participants;
+
+    @Schema(description = "Número de pares de sorteio lidos", example = "8")
+    private Long draws;
+
+    @Schema(description = "Quantidade de ocorrências por tipo de problema")
+    private Map<Problem, Integer> problems;
+
+    @Schema(description = "Duração da verificação em milissegundos", example = "3")
+    private Long durationMs;
+
+    @Schema(description = "Data e hora da verificação", example = "2025-12-06T04:00:00")
+    private LocalDateTime verifiedAt;
+}
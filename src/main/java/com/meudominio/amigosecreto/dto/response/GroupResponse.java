@@ -1,5 +1,6 @@
 package com.meudominio.amigosecreto.dto.response;
 
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,7 +9,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
 @Data
 @Builder
@@ -35,9 +35,21 @@ public class GroupResponse {
     @Schema(description = "Número de membros no grupo", example = "8")
     private Integer memberCount;
 
-    @Schema(description = "Lista com usernames dos membros")
-    private List<String> members;
+    @Schema(description = "Número de bloqueios cadastrados no grupo", example = "3")
+    private Integer blockCount;
+
+    @Schema(description = "Número de mensagens no mural do grupo", example = "42")
+    private Integer messageCount;
+
+    @Schema(description = "Mensagens do mural ainda não lidas pelo usuário (apenas na listagem)", example = "5")
+    private Long unreadCount;
+
+    @Schema(description = "Situação do sorteio", example = "PENDING")
+    private DrawStatus drawStatus;
 
     @Schema(description = "Data de criação do grupo", example = "2025-12-01T14:30:00")
     private LocalDateTime createdAt;
+
+    @Schema(description = "Data da última alteração nos contadores do grupo", example = "2025-12-05T09:15:00")
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,21 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Grupo encontrado na busca por nome")
+public class GroupSearchResult {
+
+    @Schema(description = "ID do grupo", example = "1")
+    private Long id;
+
+    @Schema(description = "Nome do grupo", example = "Amigo Secreto 2025")
+    private String name;
+}
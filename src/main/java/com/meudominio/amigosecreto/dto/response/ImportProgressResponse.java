@@ -0,0 +1,53 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Andamento de uma importação de participantes")
+public class ImportProgressResponse {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Schema(description = "ID do grupo", example = "1")
+    private Long groupId;
+
+    @Schema(description = "Situação da importação", example = "RUNNING")
+    private Status status;
+
+    @Schema(description = "Linhas de dados lidas até agora", example = "40000")
+    private Long rowsRead;
+
+    @Schema(description = "Usuários criados", example = "1200")
+    private Long usersCreated;
+
+    @Schema(description = "Membros adicionados ao grupo", example = "38500")
+    private Long membersAdded;
+
+    @Schema(description = "Linhas cujo usuário já era membro", example = "300")
+    private Long alreadyMembers;
+
+    @Schema(description = "Linhas rejeitadas (validação ou falha do lote)", example = "12")
+    private Long rejected;
+
+    @Schema(description = "Lotes gravados com sucesso", example = "80")
+    private Long chunksCommitted;
+
+    @Schema(description = "Primeiros erros encontrados, com o número da linha")
+    private List<String> errors;
+
+    @Schema(description = "Início da importação", example = "2025-12-01T14:30:00")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Fim da importação (ausente enquanto em andamento)", example = "2025-12-01T14:35:00")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,26 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Membro de um grupo")
+public class MemberResponse {
+
+    @Schema(description = "ID do usuário", example = "2")
+    private Long userId;
+
+    @Schema(description = "Username do membro", example = "mariasouza")
+    private String username;
+
+    @Schema(description = "Data de entrada no grupo", example = "2025-12-01T14:30:00")
+    private LocalDateTime joinedAt;
+}
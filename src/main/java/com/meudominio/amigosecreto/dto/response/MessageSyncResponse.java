@@ -0,0 +1,29 @@
+package com.meudominio.amigosecreto.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Mensagens novas e exclusões desde o cursor informado")
+public class MessageSyncResponse {
+
+    @Schema(description = "Mensagens enviadas após o cursor, da mais antiga para a mais recente")
+    private List<MessageResponse> messages;
+
+    @Schema(description = "IDs das mensagens excluídas após o cursor")
+    private List<Long> deletedMessageIds;
+
+    @Schema(description = "Cursor para a próxima sincronização", example = "1042.17")
+    private String cursor;
+
+    @Schema(description = "Indica se ainda há alterações além desta resposta", example = "false")
+    private boolean hasMore;
+}
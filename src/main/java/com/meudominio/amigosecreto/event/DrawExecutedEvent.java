@@ -0,0 +1,12 @@
+package com.meudominio.amigosecreto.event;
+
+import java.util.List;
+
+/**
+ * Publicado quando um sorteio é executado para um grupo
+ */
+public record DrawExecutedEvent(Long groupId, String groupName, List<Pair> pairs) {
+
+    public record Pair(Long drawId, Long giverId, String giverUsername, Long receiverId, String receiverUsername) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando o sorteio de um grupo é resetado
+ */
+public record DrawResetEvent(Long groupId) {
+}
@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando um grupo é criado
+ */
+public record GroupCreatedEvent(Long groupId, String name) {
+}
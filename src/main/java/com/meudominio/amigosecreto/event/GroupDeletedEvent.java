@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando um grupo é removido
+ */
+public record GroupDeletedEvent(Long groupId) {
+}
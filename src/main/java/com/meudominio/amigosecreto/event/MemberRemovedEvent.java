@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando um membro é removido de um grupo
+ */
+public record MemberRemovedEvent(Long groupId, Long userId) {
+}
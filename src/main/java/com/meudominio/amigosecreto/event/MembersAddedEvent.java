@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando um ou mais membros entram em um grupo
+ */
+public record MembersAddedEvent(Long groupId) {
+}
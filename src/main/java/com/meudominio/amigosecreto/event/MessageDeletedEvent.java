@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando uma mensagem é excluída
+ */
+public record MessageDeletedEvent(Long groupId, Long messageId) {
+}
@@ -0,0 +1,9 @@
+package com.meudominio.amigosecreto.event;
+
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+
+/**
+ * Publicado quando uma mensagem é enviada; o payload já tem o remetente mascarado se anônima
+ */
+public record MessageSentEvent(Long groupId, MessageResponse message) {
+}
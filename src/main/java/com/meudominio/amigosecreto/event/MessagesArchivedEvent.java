@@ -0,0 +1,9 @@
+package com.meudominio.amigosecreto.event;
+
+import java.util.List;
+
+/**
+ * Publicado quando um bloco de mensagens antigas sai da tabela de mensagens para o arquivo
+ */
+public record MessagesArchivedEvent(Long groupId, List<Long> messageIds) {
+}
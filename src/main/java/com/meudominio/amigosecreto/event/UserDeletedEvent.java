@@ -0,0 +1,7 @@
+package com.meudominio.amigosecreto.event;
+
+/**
+ * Publicado quando um usuário é excluído
+ */
+public record UserDeletedEvent(Long userId) {
+}
@@ -0,0 +1,264 @@
+package com.meudominio.amigosecreto.ingest;
+
+import com.meudominio.amigosecreto.config.MessageIngestionConfig;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.exception.ServiceOverloadedException;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageBatchRepository;
+import com.meudominio.amigosecreto.repository.MessageBatchRepository.NewMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Gravação das mensagens por trás (write-behind): o envio já validado entra numa fila limitada e
+ * uma única thread grava os pendentes em lotes JDBC, uma transação por lote, com os contadores
+ * somados por grupo e o grupo marcado como lido para cada remetente. Cada cliente recebe a
+ * resposta quando o lote dele é confirmado; fila cheia responde 503 em vez de acumular memória.
+ * Desligado por padrão.
+ */
+@Component
+@Slf4j
+public class MessageWriteBehind implements SmartLifecycle {
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final MessageBatchRepository messageBatchRepository;
+    private final GroupRepository groupRepository;
+    private final GroupStatsRepository groupStatsRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Pending> queue;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public MessageWriteBehind(MessageBatchRepository messageBatchRepository,
+                              GroupRepository groupRepository,
+                              GroupStatsRepository groupStatsRepository,
+                              GroupMemberRepository groupMemberRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              MessageIngestionConfig ingestionConfig) {
+        this.messageBatchRepository = messageBatchRepository;
+        this.groupRepository = groupRepository;
+        this.groupStatsRepository = groupStatsRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = ingestionConfig.isWriteBehindEnabled();
+        this.batchSize = ingestionConfig.getBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(ingestionConfig.getFlushIntervalMs());
+        this.queue = new ArrayBlockingQueue<>(ingestionConfig.getQueueCapacity());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enfileira uma mensagem já validada; o futuro completa com a mensagem gravada
+     */
+    public CompletableFuture<MessageResponse> submit(Long groupId, Long senderId, String senderUsername,
+                                                     String content, boolean anonymous) {
+        Pending pending = new Pending(
+                new NewMessage(groupId, senderId, content, anonymous, LocalDateTime.now()),
+                senderUsername,
+                new CompletableFuture<>());
+
+        // Depois do stop ninguém mais drenaria a fila: recusa como sobrecarga para o cliente tentar de novo
+        if ((writer != null && !running) || !queue.offer(pending)) {
+            throw new ServiceOverloadedException("Muitas mensagens sendo enviadas no momento. Tente novamente em instantes");
+        }
+        return pending.ack();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "message-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Gravação de mensagens em lote ativa (lote de até {})", batchSize);
+    }
+
+    /**
+     * Encerra a thread depois de gravar o que já estava na fila
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Grava tudo o que está na fila agora, em lotes, na thread atual
+     */
+    void flushPending() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                List<Pending> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada na gravação de mensagens em lote", e);
+            }
+        }
+        flushPending();
+    }
+
+    /**
+     * Espera a primeira mensagem e junta as que chegarem até encher o lote ou vencer o intervalo
+     */
+    private List<Pending> nextBatch() throws InterruptedException {
+        Pending first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+
+        List<Pending> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void flush(List<Pending> batch) {
+        List<MessageResponse> responses;
+        try {
+            responses = transactionTemplate.execute(status -> write(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() > 1) {
+                // Isola a mensagem com problema (ex.: grupo excluído após a validação) sem perder as demais
+                log.warn("Lote de {} mensagens falhou, gravando uma a uma: {}", batch.size(), e.getMessage());
+                batch.forEach(pending -> flush(List.of(pending)));
+            } else {
+                batch.get(0).ack().completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).ack().complete(responses.get(i));
+        }
+    }
+
+    private List<MessageResponse> write(List<Pending> batch) {
+        // Trava os grupos antes do insert para que os IDs de cada grupo sejam confirmados em ordem
+        groupStatsRepository.lockByGroupIdIn(batch.stream().map(pending -> pending.message().groupId())
+                .collect(Collectors.toCollection(TreeSet::new)));
+        List<Long> ids = messageBatchRepository.insertAll(batch.stream().map(Pending::message).toList());
+
+        // Ordem fixa de grupos para que lotes concorrentes não travem as mesmas linhas em ordens diferentes
+        Map<Long, GroupBatch> byGroup = new TreeMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            NewMessage message = batch.get(i).message();
+            byGroup.computeIfAbsent(message.groupId(), id -> new GroupBatch()).add(ids.get(i), message.senderId());
+        }
+        byGroup.forEach((groupId, group) -> {
+            groupStatsRepository.addSentMessages(groupId, group.count, group.lastMessageId);
+            group.senderIds.forEach(senderId -> groupMemberRepository.markRead(groupId, senderId));
+        });
+
+        Map<Long, String> groupNames = groupRepository.findMatchesByIdIn(byGroup.keySet()).stream()
+                .collect(Collectors.toMap(GroupMatch::id, GroupMatch::name));
+
+        List<MessageResponse> responses = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            NewMessage message = pending.message();
+            MessageResponse response = MessageResponse.builder()
+                    .id(ids.get(i))
+                    .groupId(message.groupId())
+                    .groupName(groupNames.get(message.groupId()))
+                    .senderUsername(message.anonymous() ? "Anônimo" : pending.senderUsername())
+                    .content(message.content())
+                    .isAnonymous(message.anonymous())
+                    .timestamp(message.timestamp())
+                    .build();
+            responses.add(response);
+            eventPublisher.publishEvent(new MessageSentEvent(message.groupId(), response));
+        }
+        return responses;
+    }
+
+    /**
+     * Mensagens de um mesmo grupo no lote: quantidade, maior ID e remetentes em ordem de ID
+     */
+    private static final class GroupBatch {
+
+        private final Set<Long> senderIds = new TreeSet<>();
+        private int count;
+        private long lastMessageId;
+
+        void add(long messageId, Long senderId) {
+            count++;
+            lastMessageId = Math.max(lastMessageId, messageId);
+            senderIds.add(senderId);
+        }
+    }
+
+    private record Pending(NewMessage message, String senderUsername, CompletableFuture<MessageResponse> ack) {
+    }
+}
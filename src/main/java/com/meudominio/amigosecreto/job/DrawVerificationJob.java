@@ -0,0 +1,43 @@
+package com.meudominio.amigosecreto.job;
+
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse;
+import com.meudominio.amigosecreto.repository.DrawRepository;
+import com.meudominio.amigosecreto.service.DrawVerificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job agendado que verifica periodicamente todos os sorteios persistidos
+ */
+@Component
+@ConditionalOnProperty(prefix = "draw", name = "verification-enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DrawVerificationJob {
+
+    private final DrawRepository drawRepository;
+    private final DrawVerificationService drawVerificationService;
+
+    @Scheduled(cron = "${draw.verification-cron:0 0 4 * * *}")
+    public void verifyAllDraws() {
+        int invalid = 0;
+        int checked = 0;
+
+        for (Long groupId : drawRepository.findGroupIdsWithDraws()) {
+            try {
+                DrawVerificationResponse result = drawVerificationService.verify(groupId);
+                checked++;
+                if (result.getStatus() == DrawVerificationResponse.Status.INVALID) {
+                    invalid++;
+                }
+            } catch (Exception ex) {
+                log.error("Falha ao verificar sorteio do grupo ID: {}", groupId, ex);
+            }
+        }
+
+        log.info("Verificação de sorteios concluída: {} grupos verificados, {} inválidos", checked, invalid);
+    }
+}
@@ -0,0 +1,50 @@
+package com.meudominio.amigosecreto.job;
+
+import com.meudominio.amigosecreto.config.MessageRetentionConfig;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.service.MessageArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Job agendado que move as mensagens mais antigas que a retenção para o arquivo, em blocos
+ */
+@Component
+@ConditionalOnProperty(prefix = "message-retention", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MessageRetentionJob {
+
+    private final MessageRepository messageRepository;
+    private final MessageArchiveService messageArchiveService;
+    private final MessageRetentionConfig retentionConfig;
+
+    @Scheduled(cron = "${message-retention.cron:0 30 3 * * *}")
+    public void archiveOldMessages() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionConfig.getRetentionDays());
+        int chunkSize = retentionConfig.getChunkSize();
+        long archived = 0;
+        int groups = 0;
+
+        for (Long groupId : messageRepository.findGroupIdsWithMessagesBefore(cutoff)) {
+            try {
+                int chunk;
+                do {
+                    chunk = messageArchiveService.archiveChunk(groupId, cutoff, chunkSize);
+                    archived += chunk;
+                } while (chunk == chunkSize);
+                groups++;
+            } catch (Exception ex) {
+                log.error("Falha ao arquivar mensagens do grupo ID: {}", groupId, ex);
+            }
+        }
+
+        log.info("Retenção de mensagens concluída: {} mensagens de {} grupos arquivadas (anteriores a {})",
+                 archived, groups, cutoff);
+    }
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "blocked_users", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"group_id", "blocker_id", "blocked_id"})
+    @UniqueConstraint(name = "uk_blocked_users_group_id_blocker_id_blocked_id",
+                      columnNames = {"group_id", "blocker_id", "blocked_id"})
+}, indexes = {
+    @Index(name = "idx_blocked_users_group_id_blocked_id", columnList = "group_id, blocked_id")
 })
 @Data
 @Builder
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "draws", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"group_id", "giver_id"})
+    @UniqueConstraint(name = "uk_draws_group_id_giver_id", columnNames = {"group_id", "giver_id"})
+}, indexes = {
+    @Index(name = "idx_draws_group_id_receiver_id", columnList = "group_id, receiver_id"),
+    @Index(name = "idx_draws_giver_id", columnList = "giver_id")
 })
 @Data
 @Builder
@@ -12,7 +12,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "groups")
+@Table(name = "groups", indexes = {
+    @Index(name = "idx_groups_admin_id", columnList = "admin_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -51,6 +53,10 @@ public class Group {
     @Builder.Default
     private List<BlockedUser> blockedUsers = new ArrayList<>();
 
+    @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<SoftPreference> softPreferences = new ArrayList<>();
+
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Message> messages = new ArrayList<>();
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "group_members", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"group_id", "user_id"})
+    @UniqueConstraint(name = "uk_group_members_group_id_user_id", columnNames = {"group_id", "user_id"})
+}, indexes = {
+    @Index(name = "idx_group_members_group_id_id", columnList = "group_id, id"),
+    @Index(name = "idx_group_members_user_id_group_id", columnList = "user_id, group_id")
 })
 @Data
 @Builder
@@ -33,6 +36,14 @@ public class GroupMember {
     @Column(name = "joined_at", nullable = false)
     private LocalDateTime joinedAt;
 
+    /** GroupStats.messageSeq na última leitura; nulo enquanto o membro nunca marcou o grupo como lido */
+    @Column(name = "read_seq")
+    private Long readSeq;
+
+    /** Maior ID de mensagem do grupo na última leitura */
+    @Column(name = "last_read_message_id")
+    private Long lastReadMessageId;
+
     @PrePersist
     protected void onCreate() {
         if (joinedAt == null) {
@@ -0,0 +1,59 @@
+package com.meudominio.amigosecreto.model;
+
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Contadores desnormalizados de um grupo, mantidos na mesma transação das escritas
+ */
+@Entity
+@Table(name = "group_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupStats {
+
+    @Id
+    @Column(name = "group_id")
+    private Long groupId;
+
+    @Column(name = "member_count", nullable = false)
+    private Integer memberCount;
+
+    @Column(name = "block_count", nullable = false)
+    @Builder.Default
+    private Integer blockCount = 0;
+
+    @Column(name = "message_count", nullable = false)
+    @Builder.Default
+    private Integer messageCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "draw_status", nullable = false, length = 20)
+    @Builder.Default
+    private DrawStatus drawStatus = DrawStatus.PENDING;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /** Total de mensagens já enviadas ao grupo; não diminui com exclusões. Base das mensagens não lidas */
+    @Column(name = "message_seq", nullable = false)
+    @Builder.Default
+    private Long messageSeq = 0L;
+
+    /** Maior ID de mensagem enviada ao grupo */
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    /** Incrementada a cada alteração dos contadores; base dos ETags de grupo e mensagens */
+    @Column(nullable = false)
+    @Builder.Default
+    private Long revision = 0L;
+}
@@ -9,7 +9,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_messages_group_id_timestamp_id", columnList = "group_id, timestamp, id"),
+    @Index(name = "idx_messages_group_id_id", columnList = "group_id, id"),
+    @Index(name = "idx_messages_sender_id", columnList = "sender_id"),
+    @Index(name = "idx_messages_timestamp_group_id", columnList = "timestamp, group_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,52 @@
+package com.meudominio.amigosecreto.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bloco de mensagens antigas de um grupo retirado da tabela de mensagens: as mensagens, em ordem
+ * de ID, ficam no payload como NDJSON compactado com gzip
+ */
+@Entity
+@Table(name = "message_archives", indexes = {
+    @Index(name = "idx_message_archives_group_id_last_message_id", columnList = "group_id, last_message_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    @Column(name = "first_message_id", nullable = false)
+    private Long firstMessageId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "message_count", nullable = false)
+    private Integer messageCount;
+
+    @Column(name = "oldest_timestamp", nullable = false)
+    private LocalDateTime oldestTimestamp;
+
+    @Column(name = "newest_timestamp", nullable = false)
+    private LocalDateTime newestTimestamp;
+
+    @Column(nullable = false, length = 16_777_216)
+    private byte[] payload;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
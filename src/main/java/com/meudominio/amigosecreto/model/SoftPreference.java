@@ -0,0 +1,42 @@
+package com.meudominio.amigosecreto.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Preferência suave: o usuário prefere não tirar outro participante,
+ * mas o sorteio ainda pode gerar esse par se não houver alternativa.
+ */
+@Entity
+@Table(name = "soft_preferences", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_soft_preferences_group_id_user_id_avoided_id",
+                      columnNames = {"group_id", "user_id", "avoided_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SoftPreference {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id", nullable = false)
+    private Group group;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "avoided_id", nullable = false)
+    private User avoided;
+
+    @Column(nullable = false)
+    private Integer weight;
+}
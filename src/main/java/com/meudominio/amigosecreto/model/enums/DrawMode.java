@@ -0,0 +1,6 @@
+package com.meudominio.amigosecreto.model.enums;
+
+public enum DrawMode {
+    RANDOM,
+    OPTIMIZED
+}
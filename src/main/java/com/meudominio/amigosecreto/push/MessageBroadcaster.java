@@ -0,0 +1,362 @@
+package com.meudominio.amigosecreto.push;
+
+import com.meudominio.amigosecreto.config.PushConfig;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Distribui as mensagens novas de cada grupo para as conexões SSE abertas.
+ * Cada grupo guarda as últimas mensagens num buffer circular numerado; o cliente que reconecta
+ * com Last-Event-ID recebe o que perdeu sem consultar o banco, ou um evento "reset" quando o
+ * buffer já não cobre o intervalo (nesse caso recarrega a primeira página pelo GET).
+ * Cada conexão tem uma fila limitada: a conexão lenta que enche a fila é encerrada e se recupera
+ * ao reconectar, sem atrasar as demais. Funciona por instância; com várias instâncias cada
+ * cliente só recebe as mensagens enviadas pela instância em que está conectado.
+ * Exclusões tiram a mensagem do buffer e viram um evento "delete" numerado como os demais;
+ * a remoção de um membro encerra na hora as conexões dele no grupo.
+ */
+@Component
+@Slf4j
+public class MessageBroadcaster {
+
+    static final String MESSAGE_EVENT = "message";
+    static final String RESET_EVENT = "reset";
+    static final String DELETE_EVENT = "delete";
+
+    /** Época das sequências: muda a cada reinício para invalidar IDs de eventos antigos */
+    private final AtomicLong epochs = new AtomicLong(System.currentTimeMillis());
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final int replayBufferSize;
+    private final int subscriberQueueSize;
+    private final long emitterTimeoutMs;
+    private final long idleChannelTtlMs;
+    private final ExecutorService senders;
+    private final LongSupplier clock;
+
+    @Autowired
+    public MessageBroadcaster(PushConfig pushConfig) {
+        this(pushConfig, Executors.newFixedThreadPool(pushConfig.getSenderThreads()), System::currentTimeMillis);
+    }
+
+    MessageBroadcaster(PushConfig pushConfig, ExecutorService senders, LongSupplier clock) {
+        this.replayBufferSize = pushConfig.getReplayBufferSize();
+        this.subscriberQueueSize = pushConfig.getSubscriberQueueSize();
+        this.emitterTimeoutMs = pushConfig.getEmitterTimeoutMs();
+        this.idleChannelTtlMs = pushConfig.getIdleChannelTtlMs();
+        this.senders = senders;
+        this.clock = clock;
+    }
+
+    /**
+     * Abre uma conexão do membro para o grupo, repassando primeiro o que o cliente perdeu desde lastEventId
+     */
+    public SseEmitter subscribe(Long groupId, Long userId, String lastEventId) {
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        // O replay não conta contra a fila: cabe inteiro e ainda sobra a folga normal para as novas
+        Subscriber subscriber = new Subscriber(emitter, userId, subscriberQueueSize + replayBufferSize);
+
+        // Replay e inscrição no mesmo compute: nenhuma mensagem fica de fora nem chega duplicada
+        Channel channel = channels.compute(groupId, (id, current) -> {
+            Channel target = current != null ? current : newChannel();
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                List<Event> missed = target.since(lastEventId);
+                if (missed == null) {
+                    subscriber.queue.add(new Event(null, 0, RESET_EVENT, ""));
+                } else {
+                    subscriber.queue.addAll(missed);
+                }
+            }
+            target.subscribers.add(subscriber);
+            return target;
+        });
+
+        Runnable unsubscribe = () -> channel.subscribers.remove(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        schedule(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        publish(event.groupId(), MESSAGE_EVENT, event.message(), null);
+    }
+
+    /**
+     * Tira a mensagem do buffer, para que não seja repassada a quem reconecta, e avisa as conexões
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageDeleted(MessageDeletedEvent event) {
+        publish(event.groupId(), DELETE_EVENT, event.messageId(), event.messageId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMemberRemoved(MemberRemovedEvent event) {
+        List<Subscriber> removed = new ArrayList<>();
+        channels.computeIfPresent(event.groupId(), (id, channel) -> {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.userId.equals(event.userId())) {
+                    channel.subscribers.remove(subscriber);
+                    removed.add(subscriber);
+                }
+            }
+            return channel;
+        });
+        removed.forEach(subscriber -> subscriber.emitter.complete());
+
+        if (!removed.isEmpty()) {
+            log.debug("{} conexões SSE encerradas: usuário ID {} removido do grupo ID {}",
+                      removed.size(), event.userId(), event.groupId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        Channel channel = channels.remove(event.groupId());
+        if (channel != null) {
+            channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+    }
+
+    /**
+     * Comentário periódico em todas as conexões: mantém proxies abertos e descobre clientes que caíram.
+     * Também descarta o buffer dos grupos sem conexões e sem mensagens há mais que o TTL
+     */
+    @Scheduled(fixedDelayString = "${push.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long idleBefore = clock.getAsLong() - idleChannelTtlMs;
+        for (Long groupId : channels.keySet()) {
+            channels.computeIfPresent(groupId, (id, channel) ->
+                    channel.subscribers.isEmpty() && channel.lastActivity < idleBefore ? null : channel);
+        }
+
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.offer(Event.HEARTBEAT)) {
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    /**
+     * Quantidade de conexões abertas no grupo
+     */
+    public int subscriberCount(Long groupId) {
+        Channel channel = channels.get(groupId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+        channels.clear();
+    }
+
+    /**
+     * Numera o evento no buffer do grupo (tirando antes a mensagem excluída, se houver) e o
+     * enfileira em todas as conexões, dentro do mesmo compute da inscrição
+     */
+    private void publish(Long groupId, String name, Object data, Long deletedMessageId) {
+        List<Subscriber> targets = new ArrayList<>();
+        channels.compute(groupId, (id, current) -> {
+            Channel target = current != null ? current : newChannel();
+            if (deletedMessageId != null) {
+                target.discard(deletedMessageId);
+            }
+            Event pushed = target.append(name, data, replayBufferSize, clock.getAsLong());
+            for (Subscriber subscriber : target.subscribers) {
+                if (!subscriber.offer(pushed)) {
+                    // Cliente lento: desconecta e deixa a reconexão recuperar pelo buffer
+                    target.subscribers.remove(subscriber);
+                    subscriber.overflowed.set(true);
+                }
+                targets.add(subscriber);
+            }
+            return target;
+        });
+        targets.forEach(this::schedule);
+    }
+
+    private Channel newChannel() {
+        return new Channel(epochs.incrementAndGet(), clock.getAsLong());
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Escreve os eventos pendentes da conexão; só uma thread drena cada conexão por vez
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Event event;
+            while ((event = subscriber.poll()) != null) {
+                subscriber.emitter.send(event.toSse());
+            }
+            if (subscriber.overflowed.get()) {
+                subscriber.emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão SSE encerrada pelo cliente: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // Evento que chegou entre o último poll e a liberação do dreno
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private record Event(String id, long seq, String name, Object data) {
+
+        static final Event HEARTBEAT = new Event(null, 0, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(name).data(data);
+            return id == null ? builder : builder.id(id);
+        }
+    }
+
+    /**
+     * Buffer circular dos últimos eventos do grupo e conexões abertas; o buffer só é acessado
+     * dentro do compute do mapa de canais. Mensagens excluídas deixam lacunas na numeração, então
+     * a cobertura do buffer é dada pelo último número descartado por falta de espaço
+     */
+    private static final class Channel {
+
+        private final long epoch;
+        private final ArrayDeque<Event> replay = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private long seq;
+        private long trimmedThrough;
+        private volatile long lastActivity;
+
+        Channel(long epoch, long now) {
+            this.epoch = epoch;
+            this.lastActivity = now;
+        }
+
+        Event append(String name, Object data, int capacity, long now) {
+            lastActivity = now;
+            seq++;
+            Event event = new Event(epoch + "." + seq, seq, name, data);
+            if (replay.size() == capacity) {
+                trimmedThrough = replay.pollFirst().seq();
+            }
+            replay.addLast(event);
+            return event;
+        }
+
+        void discard(Long messageId) {
+            replay.removeIf(event -> event.data() instanceof MessageResponse message
+                    && messageId.equals(message.getId()));
+        }
+
+        /**
+         * Eventos após o ID informado, ou null quando o ID é de outra época ou já saiu do buffer
+         */
+        List<Event> since(String lastEventId) {
+            int dot = lastEventId.indexOf('.');
+            long last;
+            try {
+                if (dot < 0 || Long.parseLong(lastEventId.substring(0, dot)) != epoch) {
+                    return null;
+                }
+                last = Long.parseLong(lastEventId.substring(dot + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            if (last < trimmedThrough || last > seq) {
+                return null;
+            }
+            List<Event> missed = new ArrayList<>();
+            for (Event event : replay) {
+                if (event.seq() > last) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long userId;
+        private final int capacity;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Long userId, int capacity) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.capacity = capacity;
+        }
+
+        synchronized boolean offer(Event event) {
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.addLast(event);
+            return true;
+        }
+
+        synchronized Event poll() {
+            return queue.pollFirst();
+        }
+
+        synchronized boolean hasPending() {
+            return !queue.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.meudominio.amigosecreto.push;
+
+import com.meudominio.amigosecreto.config.PushConfig;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Requisições de long-polling estacionadas por grupo. Cada espera é só um callback em memória
+ * (a requisição fica suspensa num DeferredResult, sem ocupar thread do Tomcat); a primeira
+ * alteração confirmada no grupo acorda todas as esperas dele de uma vez, e o callback roda num
+ * pool próprio para não atrasar o commit de quem escreveu.
+ */
+@Component
+@Slf4j
+public class MessageSyncWaiters {
+
+    private final Map<Long, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    @Autowired
+    public MessageSyncWaiters(PushConfig pushConfig) {
+        this(Executors.newFixedThreadPool(pushConfig.getLongPollThreads()));
+    }
+
+    MessageSyncWaiters(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Registra a espera; o callback roda no máximo uma vez, na próxima alteração do grupo
+     */
+    public Registration register(Long groupId, Runnable onChange) {
+        Waiter waiter = new Waiter(onChange);
+        waiters.computeIfAbsent(groupId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+        return () -> {
+            waiter.claim();
+            waiters.computeIfPresent(groupId, (id, set) -> {
+                set.remove(waiter);
+                return set.isEmpty() ? null : set;
+            });
+        };
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        wake(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageDeleted(MessageDeletedEvent event) {
+        wake(event.groupId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        wake(event.groupId());
+    }
+
+    /**
+     * Quantidade de esperas ativas no grupo
+     */
+    public int waiting(Long groupId) {
+        Set<Waiter> set = waiters.get(groupId);
+        return set == null ? 0 : set.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void wake(Long groupId) {
+        Set<Waiter> woken = waiters.remove(groupId);
+        if (woken == null) {
+            return;
+        }
+        for (Waiter waiter : woken) {
+            if (waiter.claim()) {
+                try {
+                    executor.execute(waiter.onChange);
+                } catch (RejectedExecutionException e) {
+                    log.warn("Long-polling do grupo ID {} não pôde ser respondido: executor encerrado", groupId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancela a espera (resposta já enviada ou tempo esgotado)
+     */
+    @FunctionalInterface
+    public interface Registration {
+        void cancel();
+    }
+
+    private static final class Waiter {
+
+        private final Runnable onChange;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Waiter(Runnable onChange) {
+            this.onChange = onChange;
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
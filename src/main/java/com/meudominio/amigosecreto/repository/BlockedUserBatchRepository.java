@@ -0,0 +1,33 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.dto.projection.IdPair;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Inserção de bloqueios em lote via JDBC, sem passar pelo contexto de persistência
+ */
+@Repository
+@RequiredArgsConstructor
+public class BlockedUserBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into blocked_users (group_id, blocker_id, blocked_id) values (?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os pares (bloqueador, bloqueado) em lotes de até 500 comandos por ida ao banco
+     */
+    public void insertAll(Long groupId, List<IdPair> pairs) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, pairs, BATCH_SIZE, (ps, pair) -> {
+            ps.setLong(1, groupId);
+            ps.setLong(2, pair.first());
+            ps.setLong(3, pair.second());
+        });
+    }
+}
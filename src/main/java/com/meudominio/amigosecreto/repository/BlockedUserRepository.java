@@ -1,12 +1,22 @@
 package com.meudominio.amigosecreto.repository;
 
+import com.meudominio.amigosecreto.dto.projection.IdPair;
 import com.meudominio.amigosecreto.model.BlockedUser;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface BlockedUserRepository extends JpaRepository<BlockedUser, Long> {
@@ -31,8 +41,26 @@ public interface BlockedUserRepository extends JpaRepository<BlockedUser, Long>
      */
     boolean existsByGroupAndBlockerAndBlocked(Group group, User blocker, User blocked);
     
+    /**
+     * Percorre os pares (bloqueador, bloqueado) de um grupo com cursor somente-leitura
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.meudominio.amigosecreto.dto.projection.IdPair(b.blocker.id, b.blocked.id) " +
+           "from BlockedUser b where b.group.id = :groupId")
+    Stream<IdPair> streamPairsByGroupId(@Param("groupId") Long groupId);
+
     /**
      * Deleta todos os bloqueios de um grupo
      */
     void deleteByGroup(Group group);
+
+    /**
+     * Remove todos os bloqueios do grupo com um único DELETE, sem carregar as entidades
+     */
+    @Modifying
+    @Query("delete from BlockedUser b where b.group.id = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
 }
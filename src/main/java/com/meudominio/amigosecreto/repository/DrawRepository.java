@@ -1,13 +1,25 @@
 package com.meudominio.amigosecreto.repository;
 
+import com.meudominio.amigosecreto.dto.projection.DrawListVersion;
+import com.meudominio.amigosecreto.dto.projection.DrawView;
+import com.meudominio.amigosecreto.dto.projection.IdPair;
 import com.meudominio.amigosecreto.model.Draw;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface DrawRepository extends JpaRepository<Draw, Long> {
@@ -22,6 +34,32 @@ public interface DrawRepository extends JpaRepository<Draw, Long> {
      */
     Optional<Draw> findByGroupAndGiver(Group group, User giver);
     
+    /**
+     * Busca, em uma única consulta, todos os sorteios em que o usuário é o doador
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.DrawView(" +
+           "d.id, g.id, g.name, giver.username, receiver.username, receiver.id) " +
+           "from Draw d join d.group g join d.giver giver join d.receiver receiver " +
+           "where giver.username = :username order by g.id")
+    List<DrawView> findViewsByGiverUsername(@Param("username") String username);
+
+    /**
+     * Versão dos sorteios em que o usuário é o doador, calculada sem montar a lista
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.DrawListVersion(" +
+           "count(d.id), coalesce(sum(d.id), 0), coalesce(max(d.id), 0)) " +
+           "from Draw d where d.giver.username = :username")
+    DrawListVersion findListVersionByGiverUsername(@Param("username") String username);
+
+    /**
+     * Busca o sorteio de um participante já com os nomes resolvidos
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.DrawView(" +
+           "d.id, g.id, g.name, giver.username, receiver.username, receiver.id) " +
+           "from Draw d join d.group g join d.giver giver join d.receiver receiver " +
+           "where g.id = :groupId and giver.id = :giverId")
+    Optional<DrawView> findViewByGroupIdAndGiverId(@Param("groupId") Long groupId, @Param("giverId") Long giverId);
+
     /**
      * Busca quem tirou um determinado usuário
      */
@@ -32,8 +70,32 @@ public interface DrawRepository extends JpaRepository<Draw, Long> {
      */
     boolean existsByGroup(Group group);
     
+    /**
+     * Percorre os pares (doador, recebedor) de um grupo com cursor somente-leitura
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.meudominio.amigosecreto.dto.projection.IdPair(d.giver.id, d.receiver.id) " +
+           "from Draw d where d.group.id = :groupId")
+    Stream<IdPair> streamPairsByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Lista os IDs dos grupos que possuem sorteio realizado
+     */
+    @Query("select distinct d.group.id from Draw d")
+    List<Long> findGroupIdsWithDraws();
+
     /**
      * Deleta todos os sorteios de um grupo (para resetar)
      */
     void deleteByGroup(Group group);
+
+    /**
+     * Remove todos os sorteios do grupo com um único DELETE, sem carregar as entidades
+     */
+    @Modifying
+    @Query("delete from Draw d where d.group.id = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
 }
@@ -0,0 +1,36 @@
+package com.meudominio.amigosecreto.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Inserção de membros em lote via JDBC, sem passar pelo contexto de persistência
+ */
+@Repository
+@RequiredArgsConstructor
+public class GroupMemberBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into group_members (group_id, user_id, joined_at) values (?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere as associações em lotes de até 500 comandos por ida ao banco
+     */
+    public void insertAll(Long groupId, List<Long> userIds, LocalDateTime joinedAt) {
+        Timestamp timestamp = Timestamp.valueOf(joinedAt);
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, userIds, BATCH_SIZE, (ps, userId) -> {
+            ps.setLong(1, groupId);
+            ps.setLong(2, userId);
+            ps.setTimestamp(3, timestamp);
+        });
+    }
+}
@@ -1,11 +1,18 @@
 package com.meudominio.amigosecreto.repository;
 
+import com.meudominio.amigosecreto.dto.projection.MemberCandidate;
+import com.meudominio.amigosecreto.dto.projection.MemberView;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.GroupMember;
 import com.meudominio.amigosecreto.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,7 +40,85 @@ public interface GroupMemberRepository extends JpaRepository<GroupMember, Long>
     boolean existsByGroupAndUser(Group group, User user);
     
     /**
-     * Conta quantos membros tem em um grupo
+     * Busca apenas os IDs dos usuários membros de um grupo
      */
-    long countByGroup(Group group);
+    @Query("select gm.user.id from GroupMember gm where gm.group.id = :groupId")
+    List<Long> findUserIdsByGroupId(@Param("groupId") Long groupId);
+
+    /**
+     * Busca apenas os IDs dos grupos de que o usuário é membro
+     */
+    @Query("select gm.group.id from GroupMember gm where gm.user.id = :userId")
+    List<Long> findGroupIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Verifica se um usuário é membro de um grupo usando apenas os IDs
+     */
+    boolean existsByGroupIdAndUserId(Long groupId, Long userId);
+
+    /**
+     * Busca o ID do usuário pelo username, apenas se ele for membro do grupo
+     */
+    @Query("select u.id from GroupMember gm join gm.user u where gm.group.id = :groupId and u.username = :username")
+    Optional<Long> findUserIdByGroupIdAndUsername(@Param("groupId") Long groupId, @Param("username") String username);
+
+    /**
+     * Busca a associação de um usuário a um grupo pelos IDs
+     */
+    Optional<GroupMember> findByGroupIdAndUserId(Long groupId, Long userId);
+
+    /**
+     * Busca a próxima página de membros de um grupo a partir do cursor (ID da associação)
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.MemberView(gm.id, u.id, u.username, gm.joinedAt) " +
+           "from GroupMember gm join gm.user u where gm.group.id = :groupId and gm.id > :after order by gm.id")
+    List<MemberView> findMembersAfter(@Param("groupId") Long groupId, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Resolve usuários por ID indicando, na mesma consulta, quem já é membro do grupo
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.MemberCandidate(u.id, u.username, gm.id) " +
+           "from User u left join GroupMember gm on gm.user = u and gm.group.id = :groupId " +
+           "where u.id in :userIds")
+    List<MemberCandidate> findCandidatesByIds(@Param("groupId") Long groupId,
+                                              @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Resolve usuários por username indicando, na mesma consulta, quem já é membro do grupo
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.MemberCandidate(u.id, u.username, gm.id) " +
+           "from User u left join GroupMember gm on gm.user = u and gm.group.id = :groupId " +
+           "where u.username in :usernames")
+    List<MemberCandidate> findCandidatesByUsernames(@Param("groupId") Long groupId,
+                                                    @Param("usernames") Collection<String> usernames);
+
+    /**
+     * Marca o grupo como lido pelo membro: copia a sequência e o maior ID de mensagem da mesma
+     * linha de group_stats, no mesmo comando
+     */
+    @Modifying
+    @Query("update GroupMember gm set " +
+           "gm.readSeq = (select s.messageSeq from GroupStats s where s.groupId = :groupId), " +
+           "gm.lastReadMessageId = (select coalesce(s.lastMessageId, 0) from GroupStats s where s.groupId = :groupId) " +
+           "where gm.group.id = :groupId and gm.user.id = :userId")
+    int markRead(@Param("groupId") Long groupId, @Param("userId") Long userId);
+
+    /**
+     * Mensagem excluída: para quem ainda não a tinha lido, avança a leitura em uma posição,
+     * tirando-a do contador de não lidas. "Ainda não lida" é decidido pelo ID, o que só é exato
+     * porque as gravações travam a linha do grupo em group_stats antes do insert
+     * ({@link GroupStatsRepository#lockByGroupIdIn}): os IDs de um grupo são confirmados em ordem,
+     * então quem leu até o ID X já contou na sequência toda mensagem de ID menor
+     */
+    @Modifying
+    @Query("update GroupMember gm set gm.readSeq = gm.readSeq + 1 " +
+           "where gm.group.id = :groupId and gm.lastReadMessageId < :messageId")
+    int skipUnreadMessage(@Param("groupId") Long groupId, @Param("messageId") Long messageId);
+
+    /**
+     * Remove todos os membros do grupo com um único DELETE, sem carregar as entidades
+     */
+    @Modifying
+    @Query("delete from GroupMember gm where gm.group.id = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
 }
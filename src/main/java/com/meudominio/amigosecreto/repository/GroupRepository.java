@@ -1,11 +1,23 @@
 package com.meudominio.amigosecreto.repository;
 
+import com.meudominio.amigosecreto.dto.projection.GroupAdmin;
+import com.meudominio.amigosecreto.dto.projection.GroupListVersion;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.projection.GroupSummary;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
@@ -16,7 +28,73 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByAdmin(User admin);
     
     /**
-     * Busca grupos pelo nome (útil para pesquisa)
+     * Lista ID e nome dos grupos com ID maior que o cursor, em ordem de ID (carga do índice de busca)
      */
-    List<Group> findByNameContainingIgnoreCase(String name);
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupMatch(g.id, g.name) " +
+           "from Group g where g.id > :after order by g.id")
+    List<GroupMatch> findMatchesAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * ID e nome dos grupos informados, em uma única consulta
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupMatch(g.id, g.name) " +
+           "from Group g where g.id in :ids")
+    List<GroupMatch> findMatchesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lista, em uma única consulta, os grupos de que o usuário participa com o administrador,
+     * os contadores e as mensagens não lidas por ele (todas, se nunca leu; senão as enviadas desde
+     * a última leitura, pela diferença de sequências). Filtra pela situação do sorteio (opcional) e pelo mínimo de membros;
+     * a ordenação deve usar expressões sobre os aliases g e s (JpaSort.unsafe).
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupSummary(" +
+           "g.id, g.name, g.description, a.username, g.drawDate, g.createdAt, coalesce(s.memberCount, 0), " +
+           "coalesce(s.blockCount, 0), coalesce(s.messageCount, 0), " +
+           "coalesce(s.drawStatus, com.meudominio.amigosecreto.model.enums.DrawStatus.PENDING), s.updatedAt, " +
+           "cast(case when gm.readSeq is null then coalesce(s.messageCount, 0) " +
+           "else coalesce(s.messageSeq, 0) - gm.readSeq end as Long)) " +
+           "from GroupMember gm join gm.group g join g.admin a left join GroupStats s on s.groupId = g.id " +
+           "where gm.user.username = :username " +
+           "and (:drawStatus is null " +
+           "or coalesce(s.drawStatus, com.meudominio.amigosecreto.model.enums.DrawStatus.PENDING) = :drawStatus) " +
+           "and coalesce(s.memberCount, 0) >= :minMembers")
+    List<GroupSummary> findSummariesByMemberUsername(@Param("username") String username,
+                                                     @Param("drawStatus") DrawStatus drawStatus,
+                                                     @Param("minMembers") int minMembers,
+                                                     Sort sort);
+
+    /**
+     * Versão da lista de grupos do usuário, calculada sem montar a lista
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupListVersion(" +
+           "count(g.id), coalesce(sum(g.id), 0), coalesce(sum(s.revision), 0), count(s.groupId), " +
+           "coalesce(sum(gm.readSeq), 0)) " +
+           "from GroupMember gm join gm.group g left join GroupStats s on s.groupId = g.id " +
+           "where gm.user.username = :username")
+    GroupListVersion findListVersionByMemberUsername(@Param("username") String username);
+
+    /**
+     * Busca o resumo de um grupo com o administrador e os contadores
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupSummary(" +
+           "g.id, g.name, g.description, a.username, g.drawDate, g.createdAt, coalesce(s.memberCount, 0), " +
+           "coalesce(s.blockCount, 0), coalesce(s.messageCount, 0), " +
+           "coalesce(s.drawStatus, com.meudominio.amigosecreto.model.enums.DrawStatus.PENDING), s.updatedAt) " +
+           "from Group g join g.admin a left join GroupStats s on s.groupId = g.id " +
+           "where g.id = :groupId")
+    Optional<GroupSummary> findSummaryById(@Param("groupId") Long groupId);
+
+    /**
+     * Busca apenas o ID e o username do administrador do grupo
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.GroupAdmin(a.id, a.username) " +
+           "from Group g join g.admin a where g.id = :groupId")
+    Optional<GroupAdmin> findAdminById(@Param("groupId") Long groupId);
+
+    /**
+     * Remove o grupo com um DELETE direto. Os registros filhos devem ser removidos antes.
+     */
+    @Modifying
+    @Query("delete from Group g where g.id = :groupId")
+    int deleteGroupById(@Param("groupId") Long groupId);
 }
@@ -0,0 +1,94 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.model.GroupStats;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GroupStatsRepository extends JpaRepository<GroupStats, Long> {
+
+    /**
+     * Soma (ou subtrai) membros do contador do grupo sem carregar a entidade
+     */
+    @Modifying
+    @Query("update GroupStats s set s.memberCount = s.memberCount + :delta, " +
+           "s.updatedAt = local datetime, s.revision = s.revision + 1 where s.groupId = :groupId")
+    int addMembers(@Param("groupId") Long groupId, @Param("delta") int delta);
+
+    /**
+     * Soma (ou subtrai) bloqueios do contador do grupo
+     */
+    @Modifying
+    @Query("update GroupStats s set s.blockCount = s.blockCount + :delta, " +
+           "s.updatedAt = local datetime, s.revision = s.revision + 1 where s.groupId = :groupId")
+    int addBlocks(@Param("groupId") Long groupId, @Param("delta") int delta);
+
+    /**
+     * Soma (ou subtrai) mensagens do contador do grupo
+     */
+    @Modifying
+    @Query("update GroupStats s set s.messageCount = s.messageCount + :delta, " +
+           "s.updatedAt = local datetime, s.revision = s.revision + 1 where s.groupId = :groupId")
+    int addMessages(@Param("groupId") Long groupId, @Param("delta") int delta);
+
+    /**
+     * Registra mensagens enviadas: soma ao contador e à sequência do grupo e avança o maior ID
+     * (que nunca recua quando transações concorrentes confirmam fora de ordem)
+     */
+    @Modifying
+    @Query("update GroupStats s set s.messageCount = s.messageCount + :count, " +
+           "s.messageSeq = s.messageSeq + cast(:count as Long), " +
+           "s.lastMessageId = case when s.lastMessageId is null or s.lastMessageId < :lastMessageId " +
+           "then :lastMessageId else s.lastMessageId end, " +
+           "s.updatedAt = local datetime, s.revision = s.revision + 1 where s.groupId = :groupId")
+    int addSentMessages(@Param("groupId") Long groupId,
+                        @Param("count") int count,
+                        @Param("lastMessageId") Long lastMessageId);
+
+    /**
+     * Marca o grupo como sorteado ou pendente
+     */
+    @Modifying
+    @Query("update GroupStats s set s.drawStatus = :status, " +
+           "s.updatedAt = local datetime, s.revision = s.revision + 1 where s.groupId = :groupId")
+    int updateDrawStatus(@Param("groupId") Long groupId, @Param("status") DrawStatus status);
+
+    /**
+     * Incrementa a revisão sem mudar os contadores (ex.: mensagens movidas para o arquivo)
+     */
+    @Modifying
+    @Query("update GroupStats s set s.updatedAt = local datetime, s.revision = s.revision + 1 " +
+           "where s.groupId = :groupId")
+    int touch(@Param("groupId") Long groupId);
+
+    /**
+     * Trava as linhas dos grupos até o fim da transação, em ordem de ID para que lotes concorrentes
+     * não se bloqueiem em ordens diferentes. Quem grava mensagens ou marcas de exclusão passa por
+     * aqui antes do insert: com a linha do grupo travada, os IDs de um mesmo grupo são gerados e
+     * confirmados na mesma ordem, e a sincronização por "id > :after" não pula uma linha que
+     * confirmou depois de outra de ID maior
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from GroupStats s where s.groupId in :groupIds order by s.groupId")
+    List<GroupStats> lockByGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * Revisão atual do grupo, sem carregar a entidade
+     */
+    @Query("select s.revision from GroupStats s where s.groupId = :groupId")
+    Optional<Long> findRevisionByGroupId(@Param("groupId") Long groupId);
+
+    @Modifying
+    @Query("delete from GroupStats s where s.groupId = :groupId")
+    int deleteByGroupId(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,28 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.model.MessageArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MessageArchiveRepository extends JpaRepository<MessageArchive, Long> {
+
+    /**
+     * Blocos com mensagens anteriores ao ID informado, do mais recente para o mais antigo,
+     * por varredura de intervalo sobre (group_id, last_message_id)
+     */
+    @Query("select a from MessageArchive a " +
+           "where a.groupId = :groupId and a.firstMessageId < :before " +
+           "order by a.lastMessageId desc")
+    List<MessageArchive> findBefore(@Param("groupId") Long groupId, @Param("before") Long before, Pageable pageable);
+
+    @Modifying
+    @Query("delete from MessageArchive a where a.groupId = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
+}
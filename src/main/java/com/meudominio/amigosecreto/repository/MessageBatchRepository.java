@@ -0,0 +1,63 @@
+package com.meudominio.amigosecreto.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserção de mensagens em lote via JDBC, devolvendo os IDs gerados
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into messages (group_id, sender_id, content, is_anonymous, timestamp) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere todas as mensagens em um único lote e retorna os IDs na mesma ordem
+     */
+    public List<Long> insertAll(List<NewMessage> messages) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        NewMessage message = messages.get(i);
+                        ps.setLong(1, message.groupId());
+                        ps.setLong(2, message.senderId());
+                        ps.setString(3, message.content());
+                        ps.setBoolean(4, message.anonymous());
+                        ps.setTimestamp(5, Timestamp.valueOf(message.timestamp()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return messages.size();
+                    }
+                },
+                keyHolder);
+
+        return keyHolder.getKeyList().stream()
+                .map(Map::values)
+                .map(values -> ((Number) values.iterator().next()).longValue())
+                .toList();
+    }
+
+    public record NewMessage(Long groupId, Long senderId, String content, boolean anonymous, LocalDateTime timestamp) {
+    }
+}
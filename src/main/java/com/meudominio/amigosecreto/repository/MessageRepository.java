@@ -1,20 +1,56 @@
 package com.meudominio.amigosecreto.repository;
 
+import com.meudominio.amigosecreto.dto.projection.MessageContent;
+import com.meudominio.amigosecreto.dto.projection.MessageOwnership;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.Message;
 import com.meudominio.amigosecreto.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
+
+    /**
+     * Projeção das listagens: o username do remetente só é buscado, por subconsulta pela chave,
+     * nas mensagens identificadas; nas anônimas a consulta nem chega à tabela de usuários
+     */
+    String VIEW_SELECT = "select new com.meudominio.amigosecreto.dto.projection.MessageView(" +
+            "m.id, g.id, g.name, " +
+            "case when m.isAnonymous = false then (select u.username from User u where u.id = m.sender.id) end, " +
+            "m.content, m.isAnonymous, m.timestamp) " +
+            "from Message m join m.group g ";
     
     /**
-     * Busca todas as mensagens de um grupo, ordenadas por timestamp decrescente
+     * Primeira página das mensagens do grupo, da mais recente para a mais antiga
+     */
+    @Query(VIEW_SELECT +
+           "where g.id = :groupId " +
+           "order by m.timestamp desc, m.id desc")
+    List<MessageView> findLatest(@Param("groupId") Long groupId, Pageable pageable);
+
+    /**
+     * Próxima página (keyset): mensagens anteriores ao cursor (timestamp, id), usando o índice
+     * (group_id, timestamp, id) sem OFFSET
      */
-    List<Message> findByGroupOrderByTimestampDesc(Group group);
+    @Query(VIEW_SELECT +
+           "where g.id = :groupId " +
+           "and (m.timestamp < :timestamp or (m.timestamp = :timestamp and m.id < :id)) " +
+           "order by m.timestamp desc, m.id desc")
+    List<MessageView> findBefore(@Param("groupId") Long groupId,
+                                 @Param("timestamp") LocalDateTime timestamp,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
     
     /**
      * Busca todas as mensagens enviadas por um usuário
@@ -36,13 +72,69 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      */
     List<Message> findByGroupAndIsAnonymousFalseOrderByTimestampDesc(Group group);
     
-    /**
-     * Conta quantas mensagens existem em um grupo
-     */
-    long countByGroup(Group group);
-    
     /**
      * Deleta todas as mensagens de um grupo
      */
     void deleteByGroup(Group group);
+
+    /**
+     * Mensagens enviadas após o ID informado, em ordem de envio, por varredura de intervalo sobre (group_id, id)
+     */
+    @Query(VIEW_SELECT +
+           "where g.id = :groupId and m.id > :after " +
+           "order by m.id")
+    List<MessageView> findAfter(@Param("groupId") Long groupId, @Param("after") Long after, Pageable pageable);
+
+    /**
+     * Mensagens informadas já com grupo e remetente, em uma única consulta (resultado da busca textual)
+     */
+    @Query(VIEW_SELECT +
+           "where m.id in :ids")
+    List<MessageView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT +
+           "where m.id = :id")
+    Optional<MessageView> findViewById(@Param("id") Long id);
+
+    /**
+     * Grupo, remetente e admin do grupo da mensagem, só com as chaves (autorização da exclusão)
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.MessageOwnership(g.id, m.sender.id, g.admin.id) " +
+           "from Message m join m.group g where m.id = :id")
+    Optional<MessageOwnership> findOwnershipById(@Param("id") Long id);
+
+    /**
+     * Lista ID, grupo e conteúdo das mensagens com ID maior que o cursor (carga do índice de busca)
+     */
+    @Query("select new com.meudominio.amigosecreto.dto.projection.MessageContent(m.id, m.group.id, m.content) " +
+           "from Message m where m.id > :after order by m.id")
+    List<MessageContent> findContentsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Grupos com mensagens anteriores ao corte de retenção
+     */
+    @Query("select distinct m.group.id from Message m where m.timestamp < :cutoff")
+    List<Long> findGroupIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Mensagens do grupo anteriores ao corte, das mais antigas para as mais novas (próximo bloco a arquivar).
+     * Como nas listagens, o remetente das anônimas vem nulo: o arquivo nunca guarda quem as enviou
+     */
+    @Query(VIEW_SELECT +
+           "where g.id = :groupId and m.timestamp < :cutoff " +
+           "order by m.id")
+    List<MessageView> findArchivable(@Param("groupId") Long groupId,
+                                     @Param("cutoff") LocalDateTime cutoff,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("delete from Message m where m.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Remove todas as mensagens do grupo com um único DELETE, sem carregar as entidades
+     */
+    @Modifying
+    @Query("delete from Message m where m.group.id = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
 }
@@ -0,0 +1,31 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.model.MessageTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MessageTombstoneRepository extends JpaRepository<MessageTombstone, Long> {
+
+    /**
+     * Exclusões registradas após o cursor, limitadas às mensagens que o cliente pode ter recebido
+     * (ID até upToMessageId), em varredura de intervalo sobre (group_id, id)
+     */
+    @Query("select t from MessageTombstone t " +
+           "where t.groupId = :groupId and t.id > :after and t.messageId <= :upToMessageId " +
+           "order by t.id")
+    List<MessageTombstone> findAfter(@Param("groupId") Long groupId,
+                                     @Param("after") Long after,
+                                     @Param("upToMessageId") Long upToMessageId,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("delete from MessageTombstone t where t.groupId = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
+}
@@ -0,0 +1,34 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.model.Group;
+import com.meudominio.amigosecreto.model.SoftPreference;
+import com.meudominio.amigosecreto.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SoftPreferenceRepository extends JpaRepository<SoftPreference, Long> {
+
+    /**
+     * Busca todas as preferências suaves de um grupo
+     */
+    List<SoftPreference> findByGroup(Group group);
+
+    /**
+     * Busca uma preferência específica de um usuário em um grupo
+     */
+    Optional<SoftPreference> findByGroupAndUserAndAvoided(Group group, User user, User avoided);
+
+    /**
+     * Remove todas as preferências suaves do grupo com um único DELETE, sem carregar as entidades
+     */
+    @Modifying
+    @Query("delete from SoftPreference p where p.group.id = :groupId")
+    int deleteAllByGroupId(@Param("groupId") Long groupId);
+}
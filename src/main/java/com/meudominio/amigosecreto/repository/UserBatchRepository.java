@@ -0,0 +1,34 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Criação de usuários em lote via JDBC, usada pela importação de participantes
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBatchRepository {
+
+    private static final String INSERT_SQL =
+            "insert into users (username, email, password, role) values (?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os usuários (senha já codificada) em lotes; os IDs gerados não são retornados
+     */
+    public void insertAll(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, BATCH_SIZE, (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPassword());
+            ps.setString(4, user.getRole().name());
+        });
+    }
+}
@@ -2,8 +2,12 @@ package com.meudominio.amigosecreto.repository;
 
 import com.meudominio.amigosecreto.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -28,4 +32,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Verifica se existe um usuário com o email informado
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Busca apenas o ID do usuário pelo username
+     */
+    @Query("select u.id from User u where u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
+    /**
+     * Retorna, dentre os emails informados, os que já estão cadastrados
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
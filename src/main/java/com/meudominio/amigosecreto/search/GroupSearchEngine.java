@@ -0,0 +1,31 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Busca de grupos por trecho do nome, restrita aos grupos de que o usuário é membro.
+ * A implementação é escolhida pela propriedade search.engine.
+ */
+public interface GroupSearchEngine {
+
+    /** Tamanho mínimo do texto normalizado; abaixo disso a busca é rejeitada antes de chegar ao motor */
+    int MIN_QUERY_LENGTH = 3;
+
+    /**
+     * Retorna até limit grupos do usuário cujo nome contém o texto, sem diferenciar maiúsculas.
+     * Nomes que começam com o texto vêm primeiro, seguidos dos mais parecidos e mais curtos.
+     * O texto chega já normalizado por {@link #normalize(String)} e com pelo menos
+     * {@link #MIN_QUERY_LENGTH} caracteres: os motores não o tratam de novo.
+     */
+    List<GroupMatch> search(Long userId, String query, int limit);
+
+    /**
+     * Forma única do texto de busca para qualquer motor: sem espaços nas pontas e em minúsculas
+     */
+    static String normalize(String query) {
+        return query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,249 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.config.SearchConfig;
+import com.meudominio.amigosecreto.dto.projection.MessageContent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.event.MessagesArchivedEvent;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória das mensagens, por grupo, para bancos sem busca textual (H2).
+ * Cada termo aponta para a lista ordenada dos IDs das mensagens que o contêm; a busca anda da
+ * mais recente para a mais antiga na lista do termo mais raro e confirma os demais por busca
+ * binária. Montado na inicialização e atualizado pelos eventos de envio, exclusão e arquivamento após o commit;
+ * exclusões são marcadas e removidas das listas quando se acumulam.
+ */
+@Component
+@ConditionalOnProperty(prefix = "search", name = "engine", havingValue = "ngram", matchIfMissing = true)
+@Slf4j
+public class InvertedMessageIndex implements MessageSearchEngine, SmartInitializingSingleton {
+
+    /** Exclusões marcadas num grupo a partir das quais as listas são compactadas */
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private final MessageRepository messageRepository;
+    private final int loadPageSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, GroupPostings> groups = new HashMap<>();
+    /** Grupos excluídos: impede que a carga inicial os reinsira */
+    private final Set<Long> deletedGroups = new HashSet<>();
+
+    public InvertedMessageIndex(MessageRepository messageRepository, SearchConfig searchConfig) {
+        this.messageRepository = messageRepository;
+        this.loadPageSize = searchConfig.getMessageLoadPageSize();
+    }
+
+    /**
+     * Carrega todas as mensagens por páginas de ID antes de a aplicação começar a receber requisições
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        long after = 0L;
+        int loaded = 0;
+        List<MessageContent> page;
+        do {
+            page = messageRepository.findContentsAfter(after, PageRequest.of(0, loadPageSize));
+            for (MessageContent message : page) {
+                add(message.groupId(), message.id(), message.content());
+                after = message.id();
+            }
+            loaded += page.size();
+        } while (page.size() == loadPageSize);
+
+        log.info("Índice de busca de mensagens montado com {} mensagens em {} ms",
+                 loaded, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        add(event.groupId(), event.message().getId(), event.message().getContent());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageDeleted(MessageDeletedEvent event) {
+        remove(event.groupId(), List.of(event.messageId()));
+    }
+
+    /**
+     * Mensagens arquivadas saem da busca como as excluídas
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessagesArchived(MessagesArchivedEvent event) {
+        remove(event.groupId(), event.messageIds());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            groups.remove(event.groupId());
+            deletedGroups.add(event.groupId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(Long groupId, List<String> terms, long beforeId, int limit) {
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            GroupPostings postings = groups.get(groupId);
+            if (postings == null) {
+                return List.of();
+            }
+
+            List<Postings> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Postings list = postings.byTerm.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            Postings rarest = lists.get(0);
+            List<Long> ids = new ArrayList<>(Math.min(limit, rarest.size));
+            for (int i = rarest.indexBefore(beforeId); i >= 0 && ids.size() < limit; i--) {
+                long id = rarest.ids[i];
+                if (!postings.removed.contains(id) && containedInAll(lists, id)) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Long groupId, Long messageId, String content) {
+        if (groupId == null || messageId == null) {
+            return;
+        }
+        List<String> terms = SearchTokenizer.tokenize(content);
+
+        lock.writeLock().lock();
+        try {
+            if (deletedGroups.contains(groupId)) {
+                return;
+            }
+            GroupPostings postings = groups.computeIfAbsent(groupId, id -> new GroupPostings());
+            for (String term : terms) {
+                postings.byTerm.computeIfAbsent(term, t -> new Postings()).add(messageId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long groupId, List<Long> messageIds) {
+        lock.writeLock().lock();
+        try {
+            if (deletedGroups.contains(groupId)) {
+                return;
+            }
+            // A marca vale mesmo sem o grupo indexado: a carga inicial pode trazer a mensagem depois
+            GroupPostings postings = groups.computeIfAbsent(groupId, id -> new GroupPostings());
+            postings.removed.addAll(messageIds);
+            if (postings.removed.size() >= COMPACT_THRESHOLD) {
+                postings.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean containedInAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class GroupPostings {
+
+        private final Map<String, Postings> byTerm = new HashMap<>();
+        private final Set<Long> removed = new HashSet<>();
+
+        void compact() {
+            byTerm.values().removeIf(list -> list.removeAll(removed) == 0);
+            removed.clear();
+        }
+    }
+
+    /**
+     * Lista crescente de IDs; os envios chegam quase sempre em ordem, então inserir é um append
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * Posição do maior ID menor que beforeId, ou -1
+         */
+        int indexBefore(long beforeId) {
+            int position = Arrays.binarySearch(ids, 0, size, beforeId);
+            return (position >= 0 ? position : -(position + 1)) - 1;
+        }
+
+        /**
+         * Remove os IDs informados e retorna quantos restaram
+         */
+        int removeAll(Set<Long> removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+}
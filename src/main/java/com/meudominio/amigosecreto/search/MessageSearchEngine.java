@@ -0,0 +1,15 @@
+package com.meudominio.amigosecreto.search;
+
+import java.util.List;
+
+/**
+ * Busca textual nas mensagens de um grupo. A implementação é escolhida pela propriedade search.engine.
+ */
+public interface MessageSearchEngine {
+
+    /**
+     * Retorna até limit IDs de mensagens do grupo que contêm todos os termos (já normalizados pelo
+     * SearchTokenizer), com ID menor que beforeId, da mais recente para a mais antiga
+     */
+    List<Long> search(Long groupId, List<String> terms, long beforeId, int limit);
+}
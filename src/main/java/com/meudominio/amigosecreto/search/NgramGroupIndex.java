@@ -0,0 +1,249 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.config.SearchConfig;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.event.GroupCreatedEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas dos nomes de grupo, em memória, para bancos sem pg_trgm (H2).
+ * Cada trigrama aponta para a lista ordenada dos documentos que o contêm; a busca percorre
+ * apenas a lista do trigrama mais raro do texto e confirma o trecho em cada candidato.
+ * Montado na inicialização e mantido pelos eventos de criação e exclusão após o commit.
+ * Só entram no resultado os grupos do usuário, lidos pelo índice (user_id, group_id) de
+ * group_members; quando ele participa de menos grupos que a lista do trigrama, confere só esses.
+ */
+@Component
+@ConditionalOnProperty(prefix = "search", name = "engine", havingValue = "ngram", matchIfMissing = true)
+@Slf4j
+public class NgramGroupIndex implements GroupSearchEngine, SmartInitializingSingleton {
+
+    private static final int GRAM = 3;
+
+    /** Ordem de relevância: prefixo primeiro, depois posição do trecho, nome mais curto e ID */
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::position)
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::groupId);
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final int loadPageSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> docsByGroupId = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private long[] groupIds = new long[1024];
+    private String[] names = new String[1024];
+    private String[] keys = new String[1024];
+    private int docCount;
+
+    public NgramGroupIndex(GroupRepository groupRepository, GroupMemberRepository groupMemberRepository,
+                           SearchConfig searchConfig) {
+        this.groupRepository = groupRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.loadPageSize = searchConfig.getNgramLoadPageSize();
+    }
+
+    /**
+     * Carrega todos os grupos por páginas de ID antes de a aplicação começar a receber requisições
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.currentTimeMillis();
+        long after = 0L;
+        List<GroupMatch> page;
+        do {
+            page = groupRepository.findMatchesAfter(after, PageRequest.of(0, loadPageSize));
+            for (GroupMatch match : page) {
+                add(match.id(), match.name());
+                after = match.id();
+            }
+        } while (page.size() == loadPageSize);
+
+        log.info("Índice de busca de grupos montado com {} grupos em {} ms",
+                 size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupCreated(GroupCreatedEvent event) {
+        add(event.groupId(), event.name());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGroupDeleted(GroupDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            // O marcador -1 impede que a carga inicial reinsira um grupo já removido
+            Integer doc = docsByGroupId.put(event.groupId(), -1);
+            if (doc != null && doc >= 0) {
+                removed.set(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<GroupMatch> search(Long userId, String query, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        long[] memberOf = toSortedArray(groupMemberRepository.findGroupIdsByUserId(userId));
+        if (memberOf.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings rarest = null;
+            for (int i = 0; i + GRAM <= query.length(); i++) {
+                Postings candidates = postings.get(gram(query, i));
+                if (candidates == null) {
+                    return List.of();
+                }
+                if (rarest == null || candidates.size < rarest.size) {
+                    rarest = candidates;
+                }
+            }
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            if (memberOf.length < rarest.size) {
+                for (long groupId : memberOf) {
+                    Integer doc = docsByGroupId.get(groupId);
+                    if (doc != null && doc >= 0) {
+                        offer(top, doc, query, limit);
+                    }
+                }
+            } else {
+                for (int i = 0; i < rarest.size; i++) {
+                    int doc = rarest.docs[i];
+                    if (Arrays.binarySearch(memberOf, groupIds[doc]) >= 0) {
+                        offer(top, doc, query, limit);
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING);
+            return hits.stream()
+                    .map(hit -> new GroupMatch(hit.groupId(), names[hit.doc()]))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantidade de grupos ativos no índice
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - removed.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void offer(PriorityQueue<Hit> top, int doc, String key, int limit) {
+        if (removed.get(doc)) {
+            return;
+        }
+        int position = keys[doc].indexOf(key);
+        if (position < 0) {
+            return;
+        }
+        top.offer(new Hit(doc, position, keys[doc].length(), groupIds[doc]));
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private void add(Long groupId, String name) {
+        if (groupId == null || name == null) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (docsByGroupId.containsKey(groupId)) {
+                return;
+            }
+
+            int doc = docCount++;
+            if (doc == groupIds.length) {
+                int capacity = groupIds.length * 2;
+                groupIds = Arrays.copyOf(groupIds, capacity);
+                names = Arrays.copyOf(names, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+
+            String key = GroupSearchEngine.normalize(name);
+            groupIds[doc] = groupId;
+            names[doc] = name;
+            keys[doc] = key;
+            docsByGroupId.put(groupId, doc);
+
+            for (int i = 0; i + GRAM <= key.length(); i++) {
+                // Documentos entram em ordem crescente: basta olhar o último para não repetir
+                postings.computeIfAbsent(gram(key, i), g -> new Postings()).addIfLast(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] array = new long[ids.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ids.get(i);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static long gram(String key, int offset) {
+        return ((long) key.charAt(offset) << 32) | ((long) key.charAt(offset + 1) << 16) | key.charAt(offset + 2);
+    }
+
+    private record Hit(int doc, int position, int length, long groupId) {
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        void addIfLast(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
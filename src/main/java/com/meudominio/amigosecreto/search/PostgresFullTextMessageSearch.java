@@ -0,0 +1,36 @@
+package com.meudominio.amigosecreto.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Busca no PostgreSQL com tsvector sobre o conteúdo sem acentos (configuração 'simple', sem
+ * radicalização, como o índice em memória), atendida por um índice GIN de expressão criado pela
+ * migração db/migration/postgresql/V2_1. A consulta repete exatamente a expressão do índice para
+ * que o planejador o use.
+ */
+@Component
+@ConditionalOnProperty(prefix = "search", name = "engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresFullTextMessageSearch implements MessageSearchEngine {
+
+    private static final String DOCUMENT =
+            "to_tsvector('simple', translate(lower(content), " +
+            "'áàâãäåéèêëíìîïóòôõöúùûüçñýÿ', 'aaaaaaeeeeiiiiooooouuuucnyy'))";
+    private static final String SEARCH_SQL =
+            "select id from messages " +
+            "where group_id = ? and id < ? and " + DOCUMENT + " @@ plainto_tsquery('simple', ?) " +
+            "order by id desc " +
+            "limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> search(Long groupId, List<String> terms, long beforeId, int limit) {
+        return jdbcTemplate.queryForList(SEARCH_SQL, Long.class, groupId, beforeId, String.join(" ", terms), limit);
+    }
+}
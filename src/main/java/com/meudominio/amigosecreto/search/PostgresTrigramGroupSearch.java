@@ -0,0 +1,44 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Busca no PostgreSQL com LIKE '%texto%' sobre lower(name), atendido por um índice GIN
+ * de trigramas (pg_trgm) em vez de varrer a tabela; a ordenação usa similarity(). A extensão e o
+ * índice vêm da migração db/migration/postgresql/V2_1. O join com group_members restringe aos
+ * grupos do usuário e usa o índice (user_id, group_id)
+ */
+@Component
+@ConditionalOnProperty(prefix = "search", name = "engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresTrigramGroupSearch implements GroupSearchEngine {
+
+    private static final String SEARCH_SQL =
+            "select g.id, g.name from groups g " +
+            "join group_members gm on gm.group_id = g.id and gm.user_id = ? " +
+            "where lower(g.name) like ? escape '\\' " +
+            "order by lower(g.name) like ? escape '\\' desc, similarity(lower(g.name), ?) desc, " +
+            "length(g.name), g.id " +
+            "limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<GroupMatch> search(Long userId, String query, int limit) {
+        String escaped = escapeLike(query);
+
+        return jdbcTemplate.query(SEARCH_SQL,
+                (rs, rowNum) -> new GroupMatch(rs.getLong("id"), rs.getString("name")),
+                userId, "%" + escaped + "%", escaped + "%", query, limit);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
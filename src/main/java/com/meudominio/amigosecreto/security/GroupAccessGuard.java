@@ -0,0 +1,66 @@
+package com.meudominio.amigosecreto.security;
+
+import com.meudominio.amigosecreto.cache.MembershipCache;
+import com.meudominio.amigosecreto.dto.projection.GroupAdmin;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verificações de acesso a grupos por username com consultas escalares,
+ * sem carregar as entidades Group e User (nem o hash da senha)
+ */
+@Component
+@RequiredArgsConstructor
+public class GroupAccessGuard {
+
+    private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
+    private static final String USER_NOT_FOUND = "Usuário não encontrado";
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final MembershipCache membershipCache;
+
+    /**
+     * Garante que o usuário é o administrador do grupo e retorna o ID dele
+     */
+    public Long requireAdmin(Long groupId, String username, String message) {
+        GroupAdmin admin = groupRepository.findAdminById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+
+        if (!admin.adminUsername().equals(username)) {
+            throw new UnauthorizedException(message);
+        }
+        return admin.adminId();
+    }
+
+    /**
+     * Garante que o usuário é membro do grupo e retorna o ID dele. Com o cache de membros
+     * ativo, usuário e grupo já vistos respondem sem nenhuma consulta; sem ele, uma única
+     * consulta faz as duas coisas.
+     * A existência do grupo só é consultada quando a verificação falha, para responder 404 ou 403.
+     */
+    public Long requireMember(Long groupId, String username, String message) {
+        Long userId;
+        if (membershipCache.isEnabled()) {
+            userId = membershipCache.findUserId(username)
+                    .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+            if (!membershipCache.isMember(groupId, userId)) {
+                userId = null;
+            }
+        } else {
+            userId = groupMemberRepository.findUserIdByGroupIdAndUsername(groupId, username).orElse(null);
+        }
+
+        if (userId == null) {
+            if (!groupRepository.existsById(groupId)) {
+                throw new ResourceNotFoundException(GROUP_NOT_FOUND);
+            }
+            throw new UnauthorizedException(message);
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,92 @@
+package com.meudominio.amigosecreto.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.exception.ErrorResponse;
+import com.meudominio.amigosecreto.security.RateLimiter.Category;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Aplica o RateLimiter às rotas caras depois da autenticação JWT, por usuário: envio de mensagens
+ * e execução ou reinício de sorteios. Acima do limite responde 429 com Retry-After, antes de
+ * qualquer acesso ao banco. Requisições sem usuário autenticado seguem para a segurança recusá-las.
+ * Não é um bean: é instanciado pelo SecurityConfig para não ser registrado também fora da cadeia.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        Category category = categoryOf(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (category != null && authentication != null && authentication.isAuthenticated()) {
+            long waitMs = rateLimiter.tryAcquire(category, authentication.getName());
+            if (waitMs > 0) {
+                reject(request, response, authentication.getName(), category, waitMs);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    static Category categoryOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getServletPath();
+
+        if ("POST".equals(method) && "/api/messages".equals(path)) {
+            return Category.MESSAGES;
+        }
+        if (("POST".equals(method) || "DELETE".equals(method)) && PATHS.match("/api/groups/*/draw", path)) {
+            return Category.DRAWS;
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String username,
+                        Category category, long waitMs) throws IOException {
+        long retryAfter = Math.max(1, (waitMs + 999) / 1000);
+        log.warn("Limite de requisições atingido: usuário '{}', categoria {}", username, category);
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(String.format("Muitas requisições. Tente novamente em %d segundo(s)", retryAfter))
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
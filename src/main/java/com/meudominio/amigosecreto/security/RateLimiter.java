@@ -0,0 +1,145 @@
+package com.meudominio.amigosecreto.security;
+
+import com.meudominio.amigosecreto.config.RateLimitConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de requisições por usuário e categoria com token buckets em memória, sem locks.
+ * Cada balde é um único AtomicLong com o instante da última recarga e os tokens (em milésimos)
+ * empacotados; a recarga é calculada sob demanda a cada tentativa e gravada por CAS.
+ * Baldes que já voltaram a ficar cheios são descartados periodicamente. Funciona por instância.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Category {
+        MESSAGES, DRAWS
+    }
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final long origin;
+    private final Map<Category, Limit> limits = new EnumMap<>(Category.class);
+    private final Map<Category, Map<String, AtomicLong>> buckets = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> allowed = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> rejected = new EnumMap<>(Category.class);
+
+    @Autowired
+    public RateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry) {
+        this(rateLimitConfig, meterRegistry, () -> System.nanoTime() / 1_000_000);
+    }
+
+    RateLimiter(RateLimitConfig rateLimitConfig, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.enabled = rateLimitConfig.isEnabled();
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+        limits.put(Category.MESSAGES,
+                new Limit(rateLimitConfig.getMessageCapacity(), rateLimitConfig.getMessageRefillPerMinute()));
+        limits.put(Category.DRAWS,
+                new Limit(rateLimitConfig.getDrawCapacity(), rateLimitConfig.getDrawRefillPerMinute()));
+
+        for (Category category : Category.values()) {
+            Map<String, AtomicLong> categoryBuckets = new ConcurrentHashMap<>();
+            buckets.put(category, categoryBuckets);
+            Tags tags = Tags.of("category", category.name());
+            allowed.put(category, meterRegistry.counter("rate.limit.requests", tags.and("result", "allowed")));
+            rejected.put(category, meterRegistry.counter("rate.limit.requests", tags.and("result", "rejected")));
+            meterRegistry.gaugeMapSize("rate.limit.buckets", tags, categoryBuckets);
+        }
+    }
+
+    /**
+     * Consome um token do usuário na categoria. Retorna 0 quando a requisição pode seguir,
+     * ou quantos milissegundos faltam para o próximo token
+     */
+    public long tryAcquire(Category category, String username) {
+        if (!enabled) {
+            return 0;
+        }
+
+        Limit limit = limits.get(category);
+        AtomicLong bucket = buckets.get(category)
+                .computeIfAbsent(username, key -> new AtomicLong(pack(elapsed(), limit.capacity())));
+
+        while (true) {
+            long state = bucket.get();
+            long now = elapsed();
+            long tokens = limit.refill(state, now);
+            if (tokens < ONE_TOKEN) {
+                rejected.get(category).increment();
+                return limit.millisUntil(ONE_TOKEN - tokens);
+            }
+            if (bucket.compareAndSet(state, pack(now, tokens - ONE_TOKEN))) {
+                allowed.get(category).increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Descarta os baldes que já recarregaram por completo: recriá-los cheios dá o mesmo resultado.
+     * Uma tentativa concorrente no balde descartado custa no máximo um token a mais ao usuário
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = elapsed();
+        buckets.forEach((category, categoryBuckets) -> {
+            Limit limit = limits.get(category);
+            categoryBuckets.values().removeIf(bucket -> limit.refill(bucket.get(), now) >= limit.capacity());
+        });
+    }
+
+    /**
+     * Usuários com balde ativo na categoria
+     */
+    public int trackedUsers(Category category) {
+        return buckets.get(category).size();
+    }
+
+    private long elapsed() {
+        return clock.getAsLong() - origin;
+    }
+
+    private static long pack(long timestamp, long tokens) {
+        return (timestamp << TOKEN_BITS) | tokens;
+    }
+
+    /**
+     * Capacidade e recarga em milésimos de token; refillPerMinute milésimos por milissegundo / 60
+     */
+    private record Limit(long capacity, long refillPerMinute) {
+
+        Limit(int capacity, int refillPerMinute) {
+            this(capacity * ONE_TOKEN, refillPerMinute);
+            if (capacity < 1 || this.capacity > TOKEN_MASK || refillPerMinute < 1) {
+                throw new IllegalArgumentException(
+                        "Limite inválido: capacidade entre 1 e " + TOKEN_MASK / ONE_TOKEN + " e recarga positiva");
+            }
+        }
+
+        long refill(long state, long now) {
+            long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+            long tokens = state & TOKEN_MASK;
+            return Math.min(capacity, tokens + elapsed * refillPerMinute / 60);
+        }
+
+        long millisUntil(long missing) {
+            return (missing * 60 + refillPerMinute - 1) / refillPerMinute;
+        }
+    }
+}
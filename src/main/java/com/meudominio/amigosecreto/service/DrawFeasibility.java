@@ -0,0 +1,188 @@
+package com.meudominio.amigosecreto.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checagem determinística de inviabilidade do sorteio sobre o grafo "quem pode tirar quem"
+ * (todos os pares menos os bloqueados e a própria pessoa), indexado pela posição (0..n-1).
+ * <p>
+ * O sorteio é um ciclo único, então exige que cada participante tenha um sorteado distinto
+ * (emparelhamento perfeito, condição de Hall) e que o grafo seja fortemente conexo. As duas
+ * condições são apenas necessárias, não suficientes: quem falha em alguma é comprovadamente
+ * inviável, mas passar nas duas não garante um ciclo único (o problema geral é NP-completo).
+ * Esses casos só são apontados pelo próprio sorteio.
+ * <p>
+ * Os bloqueios costumam ser poucos perto dos n² pares, então as buscas percorrem o complemento:
+ * a lista de vértices ainda não visitados é varrida e só ficam nela os bloqueados, o que dá
+ * O(n + bloqueios) por busca.
+ */
+final class DrawFeasibility {
+
+    private static final int NONE = -1;
+
+    private final int size;
+    private final List<int[]> pending = new ArrayList<>();
+
+    DrawFeasibility(int size) {
+        this.size = size;
+    }
+
+    DrawFeasibility block(int giver, int receiver) {
+        pending.add(new int[]{giver, receiver});
+        return this;
+    }
+
+    /**
+     * Indica se alguma condição necessária falha; false significa "não comprovadamente inviável"
+     */
+    boolean isProvablyInfeasible() {
+        if (size < 2) {
+            return true;
+        }
+
+        int[][] blockedReceivers = adjacency(0, 1);
+        int[][] blockedGivers = adjacency(1, 0);
+
+        return !reachesAll(blockedReceivers)
+                || !reachesAll(blockedGivers)
+                || !hasPerfectMatching(blockedReceivers);
+    }
+
+
+    /**
+     * Busca em largura a partir da posição 0 no grafo permitido (ou no reverso, conforme a lista)
+     */
+    private boolean reachesAll(int[][] blocked) {
+        int[] unvisited = new int[size - 1];
+        for (int i = 1; i < size; i++) {
+            unvisited[i - 1] = i;
+        }
+        int remaining = unvisited.length;
+
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = 0;
+
+        while (head < tail && remaining > 0) {
+            int u = queue[head++];
+            int kept = 0;
+            for (int i = 0; i < remaining; i++) {
+                int v = unvisited[i];
+                if (isBlocked(blocked, u, v)) {
+                    unvisited[kept++] = v;
+                } else {
+                    queue[tail++] = v;
+                }
+            }
+            remaining = kept;
+        }
+
+        return remaining == 0;
+    }
+
+
+    /**
+     * Emparelha cada doador com um sorteado distinto. Começa pelo vizinho seguinte de cada um,
+     * que quase sempre é permitido, e só procura caminhos aumentantes para quem sobrou.
+     */
+    private boolean hasPerfectMatching(int[][] blocked) {
+        int[] receiverOf = new int[size];
+        int[] giverOf = new int[size];
+        Arrays.fill(receiverOf, NONE);
+        Arrays.fill(giverOf, NONE);
+
+        for (int g = 0; g < size; g++) {
+            int r = (g + 1) % size;
+            if (!isBlocked(blocked, g, r)) {
+                receiverOf[g] = r;
+                giverOf[r] = g;
+            }
+        }
+
+        int[] unvisited = new int[size];
+        int[] parent = new int[size];
+        int[] queue = new int[size];
+
+        for (int start = 0; start < size; start++) {
+            if (receiverOf[start] != NONE) {
+                continue;
+            }
+
+            for (int i = 0; i < size; i++) {
+                unvisited[i] = i;
+            }
+            int remaining = size;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            int free = NONE;
+
+            while (head < tail && free == NONE) {
+                int u = queue[head++];
+                int kept = 0;
+                for (int i = 0; i < remaining; i++) {
+                    int r = unvisited[i];
+                    if (free != NONE || r == u || isBlocked(blocked, u, r)) {
+                        unvisited[kept++] = r;
+                        continue;
+                    }
+                    parent[r] = u;
+                    if (giverOf[r] == NONE) {
+                        free = r;
+                    } else {
+                        queue[tail++] = giverOf[r];
+                    }
+                }
+                remaining = kept;
+            }
+
+            if (free == NONE) {
+                return false;
+            }
+
+            // Inverte o caminho: cada doador do caminho passa a tirar o sorteado que o alcançou
+            for (int r = free; r != NONE; ) {
+                int g = parent[r];
+                int previous = receiverOf[g];
+                receiverOf[g] = r;
+                giverOf[r] = g;
+                r = previous;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Listas ordenadas de bloqueios por vértice; from/to escolhem o sentido (doador ou sorteado)
+     */
+    private int[][] adjacency(int from, int to) {
+        int[] degree = new int[size];
+        for (int[] pair : pending) {
+            degree[pair[from]]++;
+        }
+
+        int[][] lists = new int[size][];
+        for (int i = 0; i < size; i++) {
+            lists[i] = new int[degree[i]];
+        }
+
+        int[] fill = new int[size];
+        for (int[] pair : pending) {
+            lists[pair[from]][fill[pair[from]]++] = pair[to];
+        }
+        for (int[] list : lists) {
+            Arrays.sort(list);
+        }
+        return lists;
+    }
+
+
+    private static boolean isBlocked(int[][] blocked, int u, int v) {
+        return Arrays.binarySearch(blocked[u], v) >= 0;
+    }
+}
@@ -0,0 +1,279 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.config.DrawConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Otimizador do sorteio por simulated annealing sobre o ciclo de participantes.
+ * Bloqueios são restrições rígidas; preferências suaves são penalidades com peso.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DrawOptimizer {
+
+    private static final int TIME_CHECK_INTERVAL = 256;
+    private static final double FINAL_TEMPERATURE = 0.01;
+
+    private final DrawConfig drawConfig;
+
+    /**
+     * Busca o ciclo de menor penalidade dentro do orçamento de tempo configurado.
+     * Cada movimento troca duas posições e é avaliado apenas pelas arestas afetadas.
+     */
+    public Result optimize(Constraints constraints, Random random) {
+        int n = constraints.size();
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(drawConfig.getOptimizerTimeBudgetMs());
+        long maxIterations = drawConfig.getOptimizerMaxIterations();
+
+        int[] current = shuffledIdentity(n, random);
+        long currentCost = totalCost(current, constraints);
+        int[] best = current.clone();
+        long bestCost = currentCost;
+
+        double initialTemperature = Math.max(1.0, constraints.maxSoftWeight());
+        double temperature = initialTemperature;
+        long start = System.nanoTime();
+        long iterations = 0;
+
+        while (bestCost > 0 && iterations < maxIterations) {
+            if (iterations % TIME_CHECK_INTERVAL == 0) {
+                double elapsed = (double) (System.nanoTime() - start) / budgetNanos;
+                if (elapsed >= 1.0) {
+                    break;
+                }
+                temperature = initialTemperature * Math.pow(FINAL_TEMPERATURE / initialTemperature, elapsed);
+            }
+            iterations++;
+
+            int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) {
+                j++;
+            }
+
+            long delta = swapDelta(current, i, j, constraints);
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                swap(current, i, j);
+                currentCost += delta;
+
+                if (currentCost < bestCost) {
+                    bestCost = currentCost;
+                    System.arraycopy(current, 0, best, 0, n);
+                }
+            }
+        }
+
+        int hardViolations = countHardViolations(best, constraints);
+        long softPenalty = bestCost - hardViolations * constraints.hardPenalty();
+
+        log.debug("Otimizador: {} iterações, penalidade {}, {} bloqueios violados",
+                  iterations, softPenalty, hardViolations);
+
+        return new Result(best, softPenalty, hardViolations, iterations);
+    }
+
+
+    private long swapDelta(int[] order, int i, int j, Constraints constraints) {
+        int n = order.length;
+        int a = (i - 1 + n) % n;
+        int b = (j - 1 + n) % n;
+
+        long before = affectedCost(order, constraints, a, i, b, j);
+        swap(order, i, j);
+        long after = affectedCost(order, constraints, a, i, b, j);
+        swap(order, i, j);
+
+        return after - before;
+    }
+
+
+    private long affectedCost(int[] order, Constraints constraints, int e1, int e2, int e3, int e4) {
+        long sum = edgeCost(order, constraints, e1);
+        if (e2 != e1) {
+            sum += edgeCost(order, constraints, e2);
+        }
+        if (e3 != e1 && e3 != e2) {
+            sum += edgeCost(order, constraints, e3);
+        }
+        if (e4 != e1 && e4 != e2 && e4 != e3) {
+            sum += edgeCost(order, constraints, e4);
+        }
+        return sum;
+    }
+
+
+    private long edgeCost(int[] order, Constraints constraints, int position) {
+        return constraints.cost(order[position], order[(position + 1) % order.length]);
+    }
+
+
+    private long totalCost(int[] order, Constraints constraints) {
+        long sum = 0;
+        for (int i = 0; i < order.length; i++) {
+            sum += edgeCost(order, constraints, i);
+        }
+        return sum;
+    }
+
+
+    private int countHardViolations(int[] order, Constraints constraints) {
+        int count = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (constraints.isBlocked(order[i], order[(i + 1) % order.length])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    private int[] shuffledIdentity(int n, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(order, i, random.nextInt(i + 1));
+        }
+        return order;
+    }
+
+
+    private static void swap(int[] order, int i, int j) {
+        int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+
+    /**
+     * Resultado do otimizador: ordem do ciclo (posição i tira a posição i + 1)
+     */
+    public record Result(int[] order, long softPenalty, int hardViolations, long iterations) {
+    }
+
+    /**
+     * Restrições do sorteio indexadas pela posição de cada participante (0..n-1).
+     * Armazenadas como arrays ordenados por doador para busca binária sem alocação.
+     */
+    public static final class Constraints {
+
+        private final int size;
+        private final List<long[]> pending = new ArrayList<>();
+        private int[][] targets;
+        private long[][] costs;
+        private boolean[][] hard;
+        private long maxSoftWeight;
+        private long hardPenalty;
+
+        public Constraints(int size) {
+            this.size = size;
+        }
+
+        public Constraints block(int giver, int receiver) {
+            pending.add(new long[]{giver, receiver, 0, 1});
+            targets = null;
+            return this;
+        }
+
+        public Constraints prefer(int giver, int avoided, int weight) {
+            pending.add(new long[]{giver, avoided, weight, 0});
+            targets = null;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        long cost(int giver, int receiver) {
+            build();
+            int idx = Arrays.binarySearch(targets[giver], receiver);
+            return idx >= 0 ? costs[giver][idx] : 0;
+        }
+
+        boolean isBlocked(int giver, int receiver) {
+            build();
+            int idx = Arrays.binarySearch(targets[giver], receiver);
+            return idx >= 0 && hard[giver][idx];
+        }
+
+        long maxSoftWeight() {
+            build();
+            return maxSoftWeight;
+        }
+
+        long hardPenalty() {
+            build();
+            return hardPenalty;
+        }
+
+        private void build() {
+            if (targets != null) {
+                return;
+            }
+
+            maxSoftWeight = 0;
+            for (long[] entry : pending) {
+                if (entry[3] == 0) {
+                    maxSoftWeight = Math.max(maxSoftWeight, entry[2]);
+                }
+            }
+            // Uma única violação rígida sempre custa mais que todas as penalidades suaves somadas
+            hardPenalty = Math.max(1, maxSoftWeight) * size + 1;
+
+            pending.sort((x, y) -> x[0] != y[0] ? Long.compare(x[0], y[0]) : Long.compare(x[1], y[1]));
+
+            int[] degree = new int[size];
+            long lastGiver = -1;
+            long lastTarget = -1;
+            for (long[] entry : pending) {
+                if (entry[0] != lastGiver || entry[1] != lastTarget) {
+                    degree[(int) entry[0]]++;
+                    lastGiver = entry[0];
+                    lastTarget = entry[1];
+                }
+            }
+
+            targets = new int[size][];
+            costs = new long[size][];
+            hard = new boolean[size][];
+            for (int g = 0; g < size; g++) {
+                targets[g] = new int[degree[g]];
+                costs[g] = new long[degree[g]];
+                hard[g] = new boolean[degree[g]];
+            }
+
+            int[] fill = new int[size];
+            lastGiver = -1;
+            lastTarget = -1;
+            for (long[] entry : pending) {
+                int g = (int) entry[0];
+                boolean isHard = entry[3] == 1;
+                long cost = isHard ? hardPenalty : entry[2];
+
+                if (entry[0] == lastGiver && entry[1] == lastTarget) {
+                    int k = fill[g] - 1;
+                    hard[g][k] |= isHard;
+                    costs[g][k] = hard[g][k] ? hardPenalty : Math.max(costs[g][k], cost);
+                    continue;
+                }
+
+                int k = fill[g]++;
+                targets[g][k] = (int) entry[1];
+                costs[g][k] = cost;
+                hard[g][k] = isHard;
+                lastGiver = entry[0];
+                lastTarget = entry[1];
+            }
+        }
+    }
+}
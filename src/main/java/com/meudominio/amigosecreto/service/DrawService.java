@@ -1,22 +1,32 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.cache.DrawIndex;
+import com.meudominio.amigosecreto.dto.projection.DrawListVersion;
+import com.meudominio.amigosecreto.dto.projection.DrawView;
 import com.meudominio.amigosecreto.dto.response.DrawResponse;
+import com.meudominio.amigosecreto.event.DrawExecutedEvent;
+import com.meudominio.amigosecreto.event.DrawResetEvent;
 import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
-import com.meudominio.amigosecreto.exception.UnauthorizedException;
 import com.meudominio.amigosecreto.model.BlockedUser;
 import com.meudominio.amigosecreto.model.Draw;
 import com.meudominio.amigosecreto.model.Group;
+import com.meudominio.amigosecreto.model.SoftPreference;
 import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.DrawMode;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
 import com.meudominio.amigosecreto.repository.BlockedUserRepository;
 import com.meudominio.amigosecreto.repository.DrawRepository;
 import com.meudominio.amigosecreto.repository.GroupMemberRepository;
 import com.meudominio.amigosecreto.repository.GroupRepository;
-import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.SoftPreferenceRepository;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,7 +39,6 @@ import java.util.*;
 public class DrawService {
 
     private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
-    private static final String USER_NOT_FOUND = "Usuário não encontrado";
     private static final String DRAW_ALREADY_EXISTS = "Já existe um sorteio para este grupo. Delete o sorteio atual primeiro.";
     private static final String UNAUTHORIZED_ADMIN = "Apenas o administrador pode executar o sorteio";
     private static final String UNAUTHORIZED_RESET = "Apenas o administrador pode resetar o sorteio";
@@ -43,24 +52,42 @@ public class DrawService {
 
     private final DrawRepository drawRepository;
     private final GroupRepository groupRepository;
-    private final UserRepository userRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final BlockedUserRepository blockedUserRepository;
+    private final SoftPreferenceRepository softPreferenceRepository;
+    private final GroupStatsRepository groupStatsRepository;
+    private final DrawOptimizer drawOptimizer;
+    private final DrawIndex drawIndex;
+    private final GroupAccessGuard groupAccessGuard;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Executa o sorteio para um grupo
      */
     @Transactional
     public List<DrawResponse> executeDraw(Long groupId, String adminUsername) {
-        log.info("Iniciando sorteio para grupo ID: {} por usuário: {}", groupId, adminUsername);
+        return executeDraw(groupId, adminUsername, DrawMode.RANDOM);
+    }
+
+    /**
+     * Executa o sorteio no modo informado (aleatório ou otimizado por preferências)
+     */
+    @Transactional
+    public List<DrawResponse> executeDraw(Long groupId, String adminUsername, DrawMode mode) {
+        log.info("Iniciando sorteio {} para grupo ID: {} por usuário: {}", mode, groupId, adminUsername);
 
+        groupAccessGuard.requireAdmin(groupId, adminUsername, UNAUTHORIZED_ADMIN);
         Group group = findAndValidateGroup(groupId);
-        findAndValidateAdmin(adminUsername, group);
 
         DrawContext context = prepareDrawContext(group);
-        List<Draw> draws = executeDrawAlgorithm(context);
-
-        return saveAndConvertDraws(draws);
+        List<Draw> draws = mode == DrawMode.OPTIMIZED
+                ? executeOptimizedDraw(context)
+                : executeDrawAlgorithm(context);
+
+        List<DrawResponse> responses = saveAndConvertDraws(draws);
+        groupStatsRepository.updateDrawStatus(groupId, DrawStatus.DRAWN);
+        publishDrawExecuted(group, draws);
+        return responses;
     }
 
 
@@ -76,15 +103,6 @@ public class DrawService {
     }
 
 
-    private User findAndValidateAdmin(String username, Group group) {
-        User admin = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
-
-        validateAdminPermissions(group, admin);
-        return admin;
-    }
-
-
     private DrawContext prepareDrawContext(Group group) {
         List<User> members = getGroupMembers(group);
         validateMinimumParticipants(members);
@@ -132,6 +150,57 @@ public class DrawService {
     }
 
 
+    private List<Draw> executeOptimizedDraw(DrawContext context) {
+        List<User> members = context.getMembers();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            positions.put(members.get(i).getId(), i);
+        }
+
+        DrawOptimizer.Constraints constraints = new DrawOptimizer.Constraints(members.size());
+
+        context.getBlockMap().forEach((blockerId, blockedIds) -> {
+            Integer giver = positions.get(blockerId);
+            if (giver == null) {
+                return;
+            }
+            for (Long blockedId : blockedIds) {
+                Integer receiver = positions.get(blockedId);
+                if (receiver != null) {
+                    constraints.block(giver, receiver);
+                }
+            }
+        });
+
+        for (SoftPreference preference : softPreferenceRepository.findByGroup(context.getGroup())) {
+            Integer giver = positions.get(preference.getUser().getId());
+            Integer avoided = positions.get(preference.getAvoided().getId());
+            if (giver != null && avoided != null) {
+                constraints.prefer(giver, avoided, preference.getWeight());
+            }
+        }
+
+        DrawOptimizer.Result result = drawOptimizer.optimize(constraints, RANDOM);
+
+        if (result.hardViolations() > 0) {
+            throw new BusinessException(
+                "Não foi possível realizar o sorteio respeitando os bloqueios. " +
+                "Reduza os bloqueios ou adicione mais participantes."
+            );
+        }
+
+        log.info("✓ Sorteio otimizado: penalidade {} após {} iterações",
+                 result.softPenalty(), result.iterations());
+
+        List<User> ordered = new ArrayList<>(members.size());
+        for (int position : result.order()) {
+            ordered.add(members.get(position));
+        }
+
+        return buildDrawsFromList(context.getGroup(), ordered);
+    }
+
+
     private List<Draw> tryDrawWithCyclicPermutation(DrawContext context) {
         int n = context.getMembers().size();
 
@@ -165,6 +234,18 @@ public class DrawService {
     }
 
 
+    private void publishDrawExecuted(Group group, List<Draw> draws) {
+        List<DrawExecutedEvent.Pair> pairs = draws.stream()
+                .map(d -> new DrawExecutedEvent.Pair(
+                        d.getId(),
+                        d.getGiver().getId(), d.getGiver().getUsername(),
+                        d.getReceiver().getId(), d.getReceiver().getUsername()))
+                .toList();
+
+        eventPublisher.publishEvent(new DrawExecutedEvent(group.getId(), group.getName(), pairs));
+    }
+
+
     private void fisherYatesShuffle(List<User> list) {
         for (int i = list.size() - 1; i > 0; i--) {
             int j = RANDOM.nextInt(i + 1);
@@ -269,13 +350,6 @@ public class DrawService {
     }
 
 
-    private void validateAdminPermissions(Group group, User admin) {
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException(UNAUTHORIZED_ADMIN);
-        }
-    }
-
-
     private void validateMinimumParticipants(List<User> members) {
         if (members.size() < MIN_PARTICIPANTS) {
             throw new BusinessException(
@@ -311,36 +385,56 @@ public class DrawService {
     }
 
 
+    /**
+     * Retorna quem o usuário tirou no grupo. Depois da checagem de membro, consulta primeiro
+     * o índice em memória; em caso de ausência, lê do banco e preenche o índice. Com o cache de
+     * membros e o índice ativos, um acerto não faz nenhuma consulta.
+     */
     public DrawResponse getMyDraw(Long groupId, String username) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+        long epoch = drawIndex.epoch();
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        Long userId = groupAccessGuard.requireMember(groupId, username, NOT_MEMBER);
 
-        if (!groupMemberRepository.existsByGroupAndUser(group, user)) {
-            throw new UnauthorizedException(NOT_MEMBER);
+        DrawResponse indexed = drawIndex.find(groupId, userId, username);
+        if (indexed != null) {
+            return indexed;
         }
 
-        Draw draw = drawRepository.findByGroupAndGiver(group, user)
+        DrawView draw = drawRepository.findViewByGroupIdAndGiverId(groupId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException(DRAW_NOT_FOUND));
 
+        drawIndex.put(epoch, draw.groupId(), draw.groupName(), draw.id(), userId,
+                draw.receiverId(), draw.receiverUsername());
+
         return mapToResponse(draw);
     }
 
 
-    public List<DrawResponse> getAllDraws(Long groupId, String adminUsername) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+    /**
+     * ETag dos sorteios do usuário a partir de um agregado dos IDs, sem montar a lista.
+     * Nomes de grupo e usernames não mudam, então só IDs novos ou removidos alteram a resposta
+     */
+    public String getMyDrawsETag(String username) {
+        DrawListVersion version = drawRepository.findListVersionByGiverUsername(username);
+        int hash = Objects.hash(username, version.draws(), version.idSum(), version.lastId());
+        return "d" + version.draws() + "-" + version.lastId() + "-" + Integer.toHexString(hash);
+    }
 
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
 
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException(UNAUTHORIZED_VIEW_ALL);
-        }
+    /**
+     * Retorna quem o usuário tirou em todos os seus grupos, com uma única consulta
+     */
+    public List<DrawResponse> getMyDraws(String username) {
+        return drawRepository.findViewsByGiverUsername(username).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
 
-        return drawRepository.findByGroup(group).stream()
+
+    public List<DrawResponse> getAllDraws(Long groupId, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, UNAUTHORIZED_VIEW_ALL);
+
+        return drawRepository.findByGroup(groupRepository.getReferenceById(groupId)).stream()
                 .map(this::mapToResponse)
                 .toList();
     }
@@ -348,17 +442,11 @@ public class DrawService {
 
     @Transactional
     public void resetDraw(Long groupId, String adminUsername) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
-
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
-
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException(UNAUTHORIZED_RESET);
-        }
+        groupAccessGuard.requireAdmin(groupId, adminUsername, UNAUTHORIZED_RESET);
 
-        drawRepository.deleteByGroup(group);
+        drawRepository.deleteAllByGroupId(groupId);
+        groupStatsRepository.updateDrawStatus(groupId, DrawStatus.PENDING);
+        eventPublisher.publishEvent(new DrawResetEvent(groupId));
         log.info("Sorteio resetado para grupo ID: {} por usuário: {}", groupId, adminUsername);
     }
 
@@ -373,6 +461,16 @@ public class DrawService {
                 .build();
     }
 
+    private DrawResponse mapToResponse(DrawView view) {
+        return DrawResponse.builder()
+                .id(view.id())
+                .groupId(view.groupId())
+                .groupName(view.groupName())
+                .giverUsername(view.giverUsername())
+                .receiverUsername(view.receiverUsername())
+                .build();
+    }
+
     /**
      * Classe interna para contexto do sorteio
      */
@@ -0,0 +1,238 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.dto.projection.IdPair;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse.Problem;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse.Status;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.repository.BlockedUserRepository;
+import com.meudominio.amigosecreto.repository.DrawRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Verifica se os sorteios persistidos de um grupo ainda formam um único ciclo válido.
+ * Os pares são lidos por cursor e checados em arrays primitivos, sem carregar entidades:
+ * cada ID vira uma posição por tabela de hash e doadores e sorteados são marcados em bitsets,
+ * tudo numa única passada linear.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DrawVerificationService {
+
+    private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
+    private static final int NONE = -1;
+
+    private final GroupRepository groupRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final DrawRepository drawRepository;
+    private final BlockedUserRepository blockedUserRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Transactional(readOnly = true)
+    public DrawVerificationResponse verify(Long groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new ResourceNotFoundException(GROUP_NOT_FOUND);
+        }
+
+        long start = System.nanoTime();
+
+        MemberSlots slots = MemberSlots.of(groupMemberRepository.findUserIdsByGroupId(groupId));
+        int n = slots.size();
+        int[] next = new int[n];
+        BitSet gave = new BitSet(n);
+        BitSet received = new BitSet(n);
+        Arrays.fill(next, NONE);
+
+        Map<Problem, Integer> problems = new EnumMap<>(Problem.class);
+        long draws = 0;
+
+        try (Stream<IdPair> pairs = drawRepository.streamPairsByGroupId(groupId)) {
+            Iterator<IdPair> it = pairs.iterator();
+            while (it.hasNext()) {
+                IdPair pair = it.next();
+                draws++;
+
+                int giver = slots.slotOf(pair.first());
+                int receiver = slots.slotOf(pair.second());
+
+                if (giver == NONE || receiver == NONE) {
+                    report(problems, Problem.NON_MEMBER);
+                } else if (giver == receiver) {
+                    report(problems, Problem.SELF_DRAW);
+                } else if (gave.get(giver)) {
+                    report(problems, Problem.DUPLICATE_GIVER);
+                } else if (received.get(receiver)) {
+                    report(problems, Problem.DUPLICATE_RECEIVER);
+                } else {
+                    next[giver] = receiver;
+                    gave.set(giver);
+                    received.set(receiver);
+                }
+            }
+        }
+
+        if (draws > 0) {
+            checkPermutationAndCycle(next, gave, problems);
+            checkBlocks(groupId, slots, next, problems);
+        }
+
+        Status status = draws == 0 ? Status.NOT_DRAWN
+                : problems.isEmpty() ? Status.VALID : Status.INVALID;
+        long elapsed = System.nanoTime() - start;
+
+        recordMetrics(status, problems, elapsed);
+
+        if (status == Status.INVALID) {
+            log.warn("Sorteio inválido no grupo ID: {} - problemas: {}", groupId, problems);
+        }
+
+        return DrawVerificationResponse.builder()
+                .groupId(groupId)
+                .status(status)
+                .participants(n)
+                .draws(draws)
+                .problems(problems)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .verifiedAt(LocalDateTime.now())
+                .build();
+    }
+
+
+    private void checkPermutationAndCycle(int[] next, BitSet gave, Map<Problem, Integer> problems) {
+        int n = next.length;
+        for (int i = gave.nextClearBit(0); i < n; i = gave.nextClearBit(i + 1)) {
+            report(problems, Problem.MISSING_GIVER);
+        }
+
+        if (!problems.isEmpty()) {
+            return;
+        }
+
+        // Permutação completa: basta seguir o ciclo a partir do primeiro membro
+        int steps = 0;
+        int current = 0;
+        do {
+            current = next[current];
+            steps++;
+        } while (current != 0 && steps <= n);
+
+        if (steps != n) {
+            report(problems, Problem.MULTIPLE_CYCLES);
+        }
+    }
+
+
+    private void checkBlocks(Long groupId, MemberSlots slots, int[] next, Map<Problem, Integer> problems) {
+        try (Stream<IdPair> blocks = blockedUserRepository.streamPairsByGroupId(groupId)) {
+            Iterator<IdPair> it = blocks.iterator();
+            while (it.hasNext()) {
+                IdPair block = it.next();
+                int blocker = slots.slotOf(block.first());
+                int blocked = slots.slotOf(block.second());
+
+                if (blocker != NONE && blocked != NONE && next[blocker] == blocked) {
+                    report(problems, Problem.BLOCKED_PAIR);
+                }
+            }
+        }
+    }
+
+
+    private void recordMetrics(Status status, Map<Problem, Integer> problems, long elapsedNanos) {
+        meterRegistry.counter("draw.verification", "status", status.name()).increment();
+        problems.forEach((problem, count) ->
+                meterRegistry.counter("draw.verification.problems", "type", problem.name()).increment(count));
+        Timer.builder("draw.verification.duration")
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+
+    private static void report(Map<Problem, Integer> problems, Problem problem) {
+        problems.merge(problem, 1, Integer::sum);
+    }
+
+    /**
+     * Tabela ID do usuário -> posição do membro (0..n-1), com sondagem linear sobre arrays
+     * primitivos. Tamanho potência de dois com folga de 2x, então a busca é O(1) esperado.
+     */
+    private static final class MemberSlots {
+
+        private final long[] keys;
+        private final int[] slots;
+        private final int mask;
+        private int size;
+
+        private MemberSlots(int capacity) {
+            this.keys = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(slots, NONE);
+        }
+
+        private static MemberSlots of(List<Long> ids) {
+            int capacity = Integer.highestOneBit(Math.max(2, ids.size()) * 2 - 1) << 1;
+            MemberSlots table = new MemberSlots(capacity);
+            for (Long id : ids) {
+                table.add(id);
+            }
+            return table;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void add(long id) {
+            int i = home(id);
+            while (slots[i] != NONE) {
+                if (keys[i] == id) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = id;
+            slots[i] = size++;
+        }
+
+        /**
+         * Posição do membro ou {@link #NONE} quando o ID não é membro do grupo
+         */
+        private int slotOf(Long id) {
+            if (id == null) {
+                return NONE;
+            }
+            int i = home(id);
+            while (slots[i] != NONE) {
+                if (keys[i] == id) {
+                    return slots[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return NONE;
+        }
+
+        private int home(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
@@ -1,35 +1,99 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.cache.MembershipCache;
+import com.meudominio.amigosecreto.dto.projection.GroupListVersion;
+import com.meudominio.amigosecreto.dto.projection.GroupSummary;
+import com.meudominio.amigosecreto.dto.projection.IdPair;
+import com.meudominio.amigosecreto.dto.projection.MemberCandidate;
+import com.meudominio.amigosecreto.dto.projection.MemberView;
+import com.meudominio.amigosecreto.dto.request.AddMembersRequest;
+import com.meudominio.amigosecreto.dto.request.BlockUsersRequest;
 import com.meudominio.amigosecreto.dto.request.CreateGroupRequest;
+import com.meudominio.amigosecreto.dto.request.GroupSort;
+import com.meudominio.amigosecreto.dto.response.BatchAddMembersResponse;
+import com.meudominio.amigosecreto.dto.response.BatchBlockResponse;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.GroupResponse;
+import com.meudominio.amigosecreto.dto.response.GroupSearchResult;
+import com.meudominio.amigosecreto.dto.response.MemberResponse;
+import com.meudominio.amigosecreto.event.GroupCreatedEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
 import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.exception.UnauthorizedException;
 import com.meudominio.amigosecreto.model.BlockedUser;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.GroupMember;
+import com.meudominio.amigosecreto.model.GroupStats;
+import com.meudominio.amigosecreto.model.SoftPreference;
 import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+import com.meudominio.amigosecreto.repository.BlockedUserBatchRepository;
 import com.meudominio.amigosecreto.repository.BlockedUserRepository;
+import com.meudominio.amigosecreto.repository.DrawRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberBatchRepository;
 import com.meudominio.amigosecreto.repository.GroupMemberRepository;
 import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageArchiveRepository;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.repository.MessageTombstoneRepository;
+import com.meudominio.amigosecreto.repository.SoftPreferenceRepository;
 import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.search.GroupSearchEngine;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class GroupService {
 
     private static final String USER_NOT_FOUND = "Usuário não encontrado";
     private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
+    private static final int MIN_PREFERENCE_WEIGHT = 1;
+    private static final int MAX_PREFERENCE_WEIGHT = 100;
+    private static final int MAX_MEMBERS_PAGE_SIZE = 200;
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    private static final int MIN_DRAW_PARTICIPANTS = 3;
+    private static final int MAX_SEARCH_LIMIT = 50;
 
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
     private final GroupMemberRepository groupMemberRepository;
     private final BlockedUserRepository blockedUserRepository;
+    private final DrawRepository drawRepository;
+    private final MessageRepository messageRepository;
+    private final MessageTombstoneRepository messageTombstoneRepository;
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final SoftPreferenceRepository softPreferenceRepository;
+    private final GroupStatsRepository groupStatsRepository;
+    private final GroupMemberBatchRepository groupMemberBatchRepository;
+    private final MembershipCache membershipCache;
+    private final GroupAccessGuard groupAccessGuard;
+    private final BlockedUserBatchRepository blockedUserBatchRepository;
+    private final GroupSearchEngine groupSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public GroupResponse createGroup(CreateGroupRequest request, String username) {
@@ -54,99 +118,252 @@ public class GroupService {
 
         groupMemberRepository.save(adminMember);
 
-        return mapToResponse(group);
+        GroupStats stats = groupStatsRepository.save(GroupStats.builder()
+                .groupId(group.getId())
+                .memberCount(1)
+                .updatedAt(LocalDateTime.now())
+                .build());
+
+        eventPublisher.publishEvent(new GroupCreatedEvent(group.getId(), group.getName()));
+
+        return mapToResponse(group, stats);
     }
 
     public List<GroupResponse> getUserGroups(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        return getUserGroups(username, GroupSort.ID, Sort.Direction.ASC, null, 0);
+    }
 
-        return groupMemberRepository.findByUser(user).stream()
-                .map(GroupMember::getGroup)
+    /**
+     * Lista os grupos do usuário em uma única consulta; o tamanho da resposta
+     * não depende da quantidade de membros. Ordenação e filtros usam os contadores
+     * de group_stats, sem COUNT sobre as tabelas filhas.
+     */
+    public List<GroupResponse> getUserGroups(String username, GroupSort sort, Sort.Direction direction,
+                                             DrawStatus drawStatus, int minMembers) {
+        Sort order = JpaSort.unsafe(direction, sortExpression(sort)).and(JpaSort.unsafe(Sort.Direction.ASC, "g.id"));
+        List<GroupSummary> summaries = groupRepository.findSummariesByMemberUsername(
+                username, drawStatus, Math.max(minMembers, 0), order);
+
+        if (summaries.isEmpty()) {
+            if (!userRepository.existsByUsername(username)) {
+                throw new ResourceNotFoundException(USER_NOT_FOUND);
+            }
+        }
+
+        return summaries.stream()
                 .map(this::mapToResponse)
                 .toList();
     }
 
     public GroupResponse getGroupById(Long id, String username) {
-        Group group = groupRepository.findById(id)
+        GroupSummary summary = groupRepository.findSummaryById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        validateMembership(id, username);
 
-        if (!groupMemberRepository.existsByGroupAndUser(group, user)) {
-            throw new UnauthorizedException("Você não é membro deste grupo");
+        return mapToResponse(summary);
+    }
+
+    /**
+     * ETag da lista de grupos do usuário com os parâmetros informados, ou null quando a lista
+     * está vazia ou algum grupo não tem contadores (nesses casos a lista é sempre montada)
+     */
+    public String getUserGroupsETag(String username, GroupSort sort, Sort.Direction direction,
+                                    DrawStatus drawStatus, int minMembers) {
+        GroupListVersion version = groupRepository.findListVersionByMemberUsername(username);
+        if (version.groups() == 0 || !version.groups().equals(version.withStats())) {
+            return null;
         }
 
-        return mapToResponse(group);
+        int hash = Objects.hash(username, version.groups(), version.idSum(), version.revisionSum(),
+                version.readSeqSum(), sort, direction, drawStatus, Math.max(minMembers, 0));
+        return "l" + version.groups() + "-" + version.revisionSum() + "-" + Integer.toHexString(hash);
     }
 
-    @Transactional
-    public void addMember(Long groupId, Long userId, String adminUsername) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+    /**
+     * ETag do grupo a partir da revisão dos contadores, após verificar que o usuário é membro
+     */
+    public String getGroupETag(Long groupId, String username) {
+        validateMembership(groupId, username);
 
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        return groupStatsRepository.findRevisionByGroupId(groupId)
+                .map(revision -> "g" + groupId + "-" + revision)
+                .orElse(null);
+    }
 
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException("Apenas o administrador pode adicionar membros");
+    /**
+     * Busca grupos do usuário por trecho do nome (prefixo ou meio) usando o índice configurado,
+     * sem LIKE '%texto%' sobre a tabela
+     */
+    public List<GroupSearchResult> searchGroups(String query, int limit, String username) {
+        // Normalizado e validado aqui, uma vez, para que o resultado não dependa de search.engine
+        String text = GroupSearchEngine.normalize(query);
+        if (text.length() < GroupSearchEngine.MIN_QUERY_LENGTH) {
+            throw new BusinessException(String.format(
+                    "A busca precisa de pelo menos %d caracteres", GroupSearchEngine.MIN_QUERY_LENGTH));
         }
 
-        User newMember = userRepository.findById(userId)
+        Long userId = userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
 
-        if (groupMemberRepository.existsByGroupAndUser(group, newMember)) {
+        int size = Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT);
+        return groupSearchEngine.search(userId, text, size).stream()
+                .map(match -> GroupSearchResult.builder()
+                        .id(match.id())
+                        .name(match.name())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Lista os membros do grupo com paginação por cursor (keyset) sobre o ID da associação
+     */
+    public CursorPageResponse<MemberResponse> getMembers(Long groupId, String username, Long after, int limit) {
+        validateMembership(groupId, username);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_MEMBERS_PAGE_SIZE);
+        List<MemberView> page = groupMemberRepository.findMembersAfter(
+                groupId, after == null ? 0L : after, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = page.size() > pageSize;
+        List<MemberView> items = hasMore ? page.subList(0, pageSize) : page;
+
+        return CursorPageResponse.<MemberResponse>builder()
+                .items(items.stream().map(this::mapToResponse).toList())
+                .nextCursor(hasMore ? String.valueOf(items.get(items.size() - 1).id()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Transactional
+    public void addMember(Long groupId, Long userId, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode adicionar membros");
+
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(USER_NOT_FOUND);
+        }
+
+        if (groupMemberRepository.existsByGroupIdAndUserId(groupId, userId)) {
             throw new BusinessException("Usuário já é membro do grupo");
         }
 
         GroupMember groupMember = GroupMember.builder()
-                .group(group)
-                .user(newMember)
+                .group(groupRepository.getReferenceById(groupId))
+                .user(userRepository.getReferenceById(userId))
                 .joinedAt(LocalDateTime.now())
                 .build();
 
         groupMemberRepository.save(groupMember);
+        groupStatsRepository.addMembers(groupId, 1);
+        eventPublisher.publishEvent(new MembersAddedEvent(groupId));
     }
 
+    /**
+     * Adiciona vários membros de uma vez: resolve IDs/usernames com consultas IN
+     * (que já indicam quem é membro) e insere os novos em lotes JDBC
+     */
     @Transactional
-    public void removeMember(Long groupId, Long userId, String adminUsername) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+    public BatchAddMembersResponse addMembers(Long groupId, AddMembersRequest request, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode adicionar membros");
 
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        List<Long> userIds = request.getUserIds() == null ? List.of() : request.getUserIds();
+        List<String> usernames = request.getUsernames() == null ? List.of() : request.getUsernames();
 
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException("Apenas o administrador pode remover membros");
+        if (userIds.isEmpty() && usernames.isEmpty()) {
+            throw new BusinessException("Informe ao menos um ID ou username");
         }
 
-        User member = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        Map<Long, MemberCandidate> candidatesById = new HashMap<>();
+        for (List<Long> chunk : chunks(distinctNonNull(userIds))) {
+            groupMemberRepository.findCandidatesByIds(groupId, chunk)
+                    .forEach(c -> candidatesById.put(c.userId(), c));
+        }
 
-        if (member.getId().equals(admin.getId())) {
-            throw new BusinessException("Não é possível remover o administrador do grupo");
+        Map<String, MemberCandidate> candidatesByUsername = new HashMap<>();
+        for (List<String> chunk : chunks(distinctNonNull(usernames))) {
+            groupMemberRepository.findCandidatesByUsernames(groupId, chunk)
+                    .forEach(c -> candidatesByUsername.put(c.username(), c));
         }
 
-        GroupMember groupMember = groupMemberRepository.findByGroupAndUser(group, member)
-                .orElseThrow(() -> new ResourceNotFoundException("Membro não encontrado no grupo"));
+        Set<Long> seen = new HashSet<>();
+        List<Long> toInsert = new ArrayList<>();
+        List<BatchAddMembersResponse.Item> results = new ArrayList<>(userIds.size() + usernames.size());
 
-        groupMemberRepository.delete(groupMember);
+        for (Long userId : userIds) {
+            results.add(classify(String.valueOf(userId), candidatesById.get(userId), seen, toInsert));
+        }
+        for (String username : usernames) {
+            results.add(classify(username, candidatesByUsername.get(username), seen, toInsert));
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                groupMemberBatchRepository.insertAll(groupId, toInsert, LocalDateTime.now());
+            } catch (DuplicateKeyException e) {
+                throw new BusinessException("Membros foram adicionados por outra requisição ao mesmo tempo. Tente novamente.");
+            }
+            groupStatsRepository.addMembers(groupId, toInsert.size());
+            eventPublisher.publishEvent(new MembersAddedEvent(groupId));
+        }
+
+        Map<BatchAddMembersResponse.Status, Integer> totals = new EnumMap<>(BatchAddMembersResponse.Status.class);
+        for (BatchAddMembersResponse.Item item : results) {
+            totals.merge(item.getStatus(), 1, Integer::sum);
+        }
+
+        log.info("Inclusão em lote no grupo ID {}: {}", groupId, totals);
+
+        return BatchAddMembersResponse.builder()
+                .groupId(groupId)
+                .totals(totals)
+                .results(results)
+                .build();
     }
 
+    /**
+     * Marca todas as mensagens do grupo como lidas pelo usuário, zerando o contador de não lidas
+     */
     @Transactional
-    public void deleteGroup(Long groupId, String adminUsername) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+    public void markGroupRead(Long groupId, String username) {
+        Long userId = groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+        groupMemberRepository.markRead(groupId, userId);
+    }
 
-        User admin = userRepository.findByUsername(adminUsername)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+    @Transactional
+    public void removeMember(Long groupId, Long userId, String adminUsername) {
+        Long adminId = groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode remover membros");
 
-        if (!group.getAdmin().getId().equals(admin.getId())) {
-            throw new UnauthorizedException("Apenas o administrador pode deletar o grupo");
+        if (userId.equals(adminId)) {
+            throw new BusinessException("Não é possível remover o administrador do grupo");
         }
 
-        groupRepository.delete(group);
+        GroupMember groupMember = groupMemberRepository.findByGroupIdAndUserId(groupId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Membro não encontrado no grupo"));
+
+        groupMemberRepository.delete(groupMember);
+        groupStatsRepository.addMembers(groupId, -1);
+        eventPublisher.publishEvent(new MemberRemovedEvent(groupId, userId));
+    }
+
+    @Transactional
+    public void deleteGroup(Long groupId, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode deletar o grupo");
+
+        // DELETEs em massa por tabela filha: o cascade do ORM carregaria cada registro na memória
+        int messages = messageRepository.deleteAllByGroupId(groupId);
+        messageTombstoneRepository.deleteAllByGroupId(groupId);
+        messageArchiveRepository.deleteAllByGroupId(groupId);
+        int draws = drawRepository.deleteAllByGroupId(groupId);
+        blockedUserRepository.deleteAllByGroupId(groupId);
+        softPreferenceRepository.deleteAllByGroupId(groupId);
+        int members = groupMemberRepository.deleteAllByGroupId(groupId);
+        groupStatsRepository.deleteByGroupId(groupId);
+        groupRepository.deleteGroupById(groupId);
+
+        log.info("Grupo ID {} deletado: {} membros, {} sorteios e {} mensagens removidos",
+                 groupId, members, draws, messages);
+
+        eventPublisher.publishEvent(new GroupDeletedEvent(groupId));
     }
 
     @Transactional
@@ -165,11 +382,11 @@ public class GroupService {
             throw new BusinessException("Você não pode bloquear a si mesmo");
         }
 
-        if (!groupMemberRepository.existsByGroupAndUser(group, blocker)) {
+        if (!membershipCache.isMember(groupId, blocker.getId())) {
             throw new UnauthorizedException("Você não é membro deste grupo");
         }
 
-        if (!groupMemberRepository.existsByGroupAndUser(group, blocked)) {
+        if (!membershipCache.isMember(groupId, blocked.getId())) {
             throw new BusinessException("Usuário a bloquear não é membro do grupo");
         }
 
@@ -184,22 +401,243 @@ public class GroupService {
                 .build();
 
         blockedUserRepository.save(blockedUser);
+        groupStatsRepository.addBlocks(groupId, 1);
     }
 
-    private GroupResponse mapToResponse(Group group) {
-        List<String> memberNames = groupMemberRepository.findByGroup(group).stream()
-                .map(gm -> gm.getUser().getUsername())
-                .toList();
+    /**
+     * Cadastra vários bloqueios de uma vez (apenas administrador). Os membros e os bloqueios
+     * existentes são carregados uma única vez e os pares novos são inseridos em lotes JDBC.
+     * Com checkFeasibility, desfaz tudo se ao final os bloqueios comprovadamente impedirem o sorteio
+     * (passar na verificação não garante que o sorteio encontre um ciclo).
+     */
+    @Transactional
+    public BatchBlockResponse blockUsers(Long groupId, BlockUsersRequest request, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode cadastrar bloqueios em lote");
+
+        List<Long> memberIds = groupMemberRepository.findUserIdsByGroupId(groupId);
+        Set<Long> members = new HashSet<>(memberIds);
+
+        Set<IdPair> blocked = new HashSet<>();
+        try (Stream<IdPair> existing = blockedUserRepository.streamPairsByGroupId(groupId)) {
+            existing.forEach(blocked::add);
+        }
+
+        List<IdPair> toInsert = new ArrayList<>();
+        List<BatchBlockResponse.Item> results = new ArrayList<>(request.getBlocks().size());
+        Set<IdPair> requested = new HashSet<>();
+
+        for (BlockUsersRequest.Pair pair : request.getBlocks()) {
+            IdPair key = new IdPair(pair.getBlockerId(), pair.getBlockedId());
+            BatchBlockResponse.Status status;
+
+            if (!requested.add(key)) {
+                status = BatchBlockResponse.Status.DUPLICATE;
+            } else if (key.first().equals(key.second())) {
+                status = BatchBlockResponse.Status.SELF_BLOCK;
+            } else if (!members.contains(key.first()) || !members.contains(key.second())) {
+                status = BatchBlockResponse.Status.NOT_MEMBER;
+            } else if (blocked.contains(key)) {
+                status = BatchBlockResponse.Status.ALREADY_BLOCKED;
+            } else {
+                status = BatchBlockResponse.Status.ADDED;
+                blocked.add(key);
+                toInsert.add(key);
+            }
+
+            results.add(BatchBlockResponse.Item.builder()
+                    .blockerId(key.first())
+                    .blockedId(key.second())
+                    .status(status)
+                    .build());
+        }
+
+        if (!toInsert.isEmpty()) {
+            try {
+                blockedUserBatchRepository.insertAll(groupId, toInsert);
+            } catch (DuplicateKeyException e) {
+                throw new BusinessException("Bloqueios foram cadastrados por outra requisição ao mesmo tempo. Tente novamente.");
+            }
+            groupStatsRepository.addBlocks(groupId, toInsert.size());
+        }
+
+        if (request.isCheckFeasibility() && isDrawProvablyInfeasible(memberIds, blocked)) {
+            throw new BusinessException(
+                    "Com esses bloqueios não é possível realizar o sorteio. " +
+                    "Reduza os bloqueios ou adicione mais participantes.");
+        }
+
+        Map<BatchBlockResponse.Status, Integer> totals = new EnumMap<>(BatchBlockResponse.Status.class);
+        for (BatchBlockResponse.Item item : results) {
+            totals.merge(item.getStatus(), 1, Integer::sum);
+        }
+
+        log.info("Bloqueios em lote no grupo ID {}: {}", groupId, totals);
+
+        return BatchBlockResponse.builder()
+                .groupId(groupId)
+                .totals(totals)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Registra (ou atualiza o peso de) uma preferência suave: evitar tirar um participante
+     */
+    @Transactional
+    public void addPreference(Long groupId, String username, Long avoidedUserId, Integer weight) {
+        if (weight == null || weight < MIN_PREFERENCE_WEIGHT || weight > MAX_PREFERENCE_WEIGHT) {
+            throw new BusinessException(String.format(
+                    "Peso da preferência deve estar entre %d e %d", MIN_PREFERENCE_WEIGHT, MAX_PREFERENCE_WEIGHT));
+        }
+
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+
+        User avoided = userRepository.findById(avoidedUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário a evitar não encontrado"));
+
+        if (user.getId().equals(avoided.getId())) {
+            throw new BusinessException("Você não pode registrar preferência sobre si mesmo");
+        }
+
+        if (!membershipCache.isMember(groupId, user.getId())) {
+            throw new UnauthorizedException("Você não é membro deste grupo");
+        }
+
+        if (!membershipCache.isMember(groupId, avoided.getId())) {
+            throw new BusinessException("Usuário a evitar não é membro do grupo");
+        }
+
+        SoftPreference preference = softPreferenceRepository.findByGroupAndUserAndAvoided(group, user, avoided)
+                .orElseGet(() -> SoftPreference.builder()
+                        .group(group)
+                        .user(user)
+                        .avoided(avoided)
+                        .build());
+
+        preference.setWeight(weight);
+        softPreferenceRepository.save(preference);
+    }
+
+    private BatchAddMembersResponse.Item classify(String identifier, MemberCandidate candidate,
+                                                  Set<Long> seen, List<Long> toInsert) {
+        BatchAddMembersResponse.Status status;
+
+        if (candidate == null) {
+            status = BatchAddMembersResponse.Status.NOT_FOUND;
+        } else if (!seen.add(candidate.userId())) {
+            status = BatchAddMembersResponse.Status.DUPLICATE;
+        } else if (candidate.membershipId() != null) {
+            status = BatchAddMembersResponse.Status.ALREADY_MEMBER;
+        } else {
+            status = BatchAddMembersResponse.Status.ADDED;
+            toInsert.add(candidate.userId());
+        }
+
+        return BatchAddMembersResponse.Item.builder()
+                .identifier(identifier)
+                .userId(candidate == null ? null : candidate.userId())
+                .status(status)
+                .build();
+    }
+
+    /**
+     * Checagem determinística das condições necessárias (ver {@link DrawFeasibility}), sem depender
+     * do otimizador nem de orçamento de tempo. Grupos abaixo do mínimo de participantes ainda não
+     * podem sortear e não são avaliados.
+     */
+    private boolean isDrawProvablyInfeasible(List<Long> memberIds, Set<IdPair> blocks) {
+        if (memberIds.size() < MIN_DRAW_PARTICIPANTS) {
+            return false;
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < memberIds.size(); i++) {
+            positions.put(memberIds.get(i), i);
+        }
+
+        DrawFeasibility feasibility = new DrawFeasibility(memberIds.size());
+        for (IdPair block : blocks) {
+            Integer giver = positions.get(block.first());
+            Integer receiver = positions.get(block.second());
+            if (giver != null && receiver != null) {
+                feasibility.block(giver, receiver);
+            }
+        }
+
+        return feasibility.isProvablyInfeasible();
+    }
 
+    private static <T> List<T> distinctNonNull(List<T> values) {
+        return values.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(values.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    private void validateMembership(Long groupId, String username) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+    }
+
+    private static String sortExpression(GroupSort sort) {
+        return switch (sort) {
+            case ID -> "g.id";
+            case NAME -> "lower(g.name)";
+            case CREATED_AT -> "g.createdAt";
+            case DRAW_DATE -> "g.drawDate";
+            case MEMBER_COUNT -> "coalesce(s.memberCount, 0)";
+            case BLOCK_COUNT -> "coalesce(s.blockCount, 0)";
+            case MESSAGE_COUNT -> "coalesce(s.messageCount, 0)";
+            case UPDATED_AT -> "coalesce(s.updatedAt, g.createdAt)";
+        };
+    }
+
+    private GroupResponse mapToResponse(GroupSummary summary) {
+        return GroupResponse.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .description(summary.description())
+                .adminUsername(summary.adminUsername())
+                .drawDate(summary.drawDate())
+                .memberCount(summary.memberCount())
+                .blockCount(summary.blockCount())
+                .messageCount(summary.messageCount())
+                .drawStatus(summary.drawStatus())
+                .createdAt(summary.createdAt())
+                .updatedAt(summary.updatedAt())
+                .unreadCount(summary.unreadCount())
+                .build();
+    }
+
+    private GroupResponse mapToResponse(Group group, GroupStats stats) {
         return GroupResponse.builder()
                 .id(group.getId())
                 .name(group.getName())
                 .description(group.getDescription())
                 .adminUsername(group.getAdmin().getUsername())
                 .drawDate(group.getDrawDate())
-                .memberCount(memberNames.size())
-                .members(memberNames)
+                .memberCount(stats.getMemberCount())
+                .blockCount(stats.getBlockCount())
+                .messageCount(stats.getMessageCount())
+                .drawStatus(stats.getDrawStatus())
                 .createdAt(group.getCreatedAt())
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+
+    private MemberResponse mapToResponse(MemberView member) {
+        return MemberResponse.builder()
+                .userId(member.userId())
+                .username(member.username())
+                .joinedAt(member.joinedAt())
                 .build();
     }
 }
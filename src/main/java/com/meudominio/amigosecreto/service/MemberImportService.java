@@ -0,0 +1,463 @@
+package com.meudominio.amigosecreto.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.config.MemberImportConfig;
+import com.meudominio.amigosecreto.dto.projection.MemberCandidate;
+import com.meudominio.amigosecreto.dto.request.RegisterRequest;
+import com.meudominio.amigosecreto.dto.response.ImportProgressResponse;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
+import com.meudominio.amigosecreto.exception.BusinessException;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.Role;
+import com.meudominio.amigosecreto.repository.GroupMemberBatchRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.UserBatchRepository;
+import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importação de participantes a partir de CSV ou NDJSON lidos em streaming.
+ * As linhas são gravadas em lotes, cada um em sua própria transação: uma falha
+ * no meio do arquivo não desfaz os lotes já gravados.
+ * O andamento de cada grupo fica em memória enquanto a importação roda e, depois de
+ * finalizada, por member-import.progress-ttl-minutes; a limpeza periódica descarta o resto.
+ */
+@Service
+@Slf4j
+public class MemberImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final List<String> DEFAULT_COLUMNS = List.of("username", "email", "password");
+
+    private final GroupAccessGuard groupAccessGuard;
+    private final UserRepository userRepository;
+    private final GroupMemberRepository groupMemberRepository;
+    private final GroupMemberBatchRepository groupMemberBatchRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final GroupStatsRepository groupStatsRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final long progressTtlNanos;
+
+    private final Map<Long, Progress> imports = new ConcurrentHashMap<>();
+
+    public MemberImportService(GroupAccessGuard groupAccessGuard,
+                               UserRepository userRepository,
+                               GroupMemberRepository groupMemberRepository,
+                               GroupMemberBatchRepository groupMemberBatchRepository,
+                               UserBatchRepository userBatchRepository,
+                               GroupStatsRepository groupStatsRepository,
+                               PasswordEncoder passwordEncoder,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MemberImportConfig memberImportConfig) {
+        this.groupAccessGuard = groupAccessGuard;
+        this.userRepository = userRepository;
+        this.groupMemberRepository = groupMemberRepository;
+        this.groupMemberBatchRepository = groupMemberBatchRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.groupStatsRepository = groupStatsRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.progressTtlNanos = TimeUnit.MINUTES.toNanos(memberImportConfig.getProgressTtlMinutes());
+    }
+
+    /**
+     * Lê o corpo linha a linha, cria os usuários que não existem e os adiciona ao grupo.
+     * Apenas uma importação por grupo pode estar em andamento.
+     * Roda na thread da requisição, que só responde no fim: cada usuário novo custa um hash
+     * BCrypt (da ordem de 0,1 s), então 10 mil usuários novos levam de 10 a 20 minutos.
+     */
+    public ImportProgressResponse importMembers(Long groupId, String adminUsername, InputStream body, Format format) {
+        validateAdmin(groupId, adminUsername);
+
+        Progress progress = new Progress(groupId);
+        Progress current = imports.compute(groupId,
+                (id, existing) -> existing != null && existing.isRunning() ? existing : progress);
+        if (current != progress) {
+            throw new BusinessException("Já existe uma importação em andamento para este grupo");
+        }
+
+        log.info("Importação iniciada para grupo ID: {} ({}) por usuário: {}", groupId, format, adminUsername);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            readRows(reader, format, progress);
+            progress.finish(ImportProgressResponse.Status.COMPLETED);
+        } catch (IOException | RuntimeException e) {
+            log.error("Importação do grupo ID {} interrompida na linha {}", groupId, progress.lineNumber, e);
+            progress.error(progress.lineNumber, "leitura interrompida: " + e.getMessage());
+            progress.finish(ImportProgressResponse.Status.FAILED);
+        }
+
+        log.info("Importação finalizada para grupo ID: {} - {} linhas, {} membros adicionados, {} rejeitadas",
+                 groupId, progress.rowsRead.get(), progress.membersAdded.get(), progress.rejected.get());
+
+        return progress.toResponse();
+    }
+
+    /**
+     * Retorna o andamento da importação atual (ou da última) do grupo
+     */
+    public ImportProgressResponse getProgress(Long groupId, String adminUsername) {
+        validateAdmin(groupId, adminUsername);
+
+        Progress progress = imports.get(groupId);
+        if (progress == null) {
+            throw new ResourceNotFoundException("Nenhuma importação encontrada para este grupo");
+        }
+        return progress.toResponse();
+    }
+
+
+    /**
+     * Descarta o andamento das importações finalizadas há mais de progress-ttl-minutes.
+     * As em andamento nunca são removidas; o mapa fica limitado a uma entrada por grupo
+     * que importou dentro da janela
+     */
+    @Scheduled(fixedDelayString = "${member-import.eviction-interval-ms:300000}")
+    public void evictFinished() {
+        long now = System.nanoTime();
+        imports.values().removeIf(progress -> progress.isExpired(now, progressTtlNanos));
+    }
+
+    /**
+     * Importações com andamento guardado (em andamento ou finalizadas dentro da janela)
+     */
+    public int trackedImports() {
+        return imports.size();
+    }
+
+
+    private void validateAdmin(Long groupId, String adminUsername) {
+        groupAccessGuard.requireAdmin(groupId, adminUsername, "Apenas o administrador pode importar participantes");
+    }
+
+
+    private void readRows(BufferedReader reader, Format format, Progress progress) throws IOException {
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> columns = DEFAULT_COLUMNS;
+        char delimiter = ',';
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            progress.lineNumber++;
+            if (progress.lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (format == Format.CSV && progress.lineNumber == 1) {
+                delimiter = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+                List<String> header = parseCsvLine(line, delimiter).stream()
+                        .map(c -> c.trim().toLowerCase(Locale.ROOT))
+                        .toList();
+                if (header.contains("username")) {
+                    columns = header;
+                    continue;
+                }
+            }
+
+            progress.rowsRead.incrementAndGet();
+
+            RegisterRequest request;
+            try {
+                request = format == Format.CSV
+                        ? toRequest(parseCsvLine(line, delimiter), columns)
+                        : objectMapper.readValue(line, RegisterRequest.class);
+            } catch (JsonProcessingException e) {
+                progress.reject(progress.lineNumber, "JSON inválido");
+                continue;
+            }
+
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                progress.reject(progress.lineNumber, violations.iterator().next().getMessage());
+                continue;
+            }
+
+            chunk.add(new Row(progress.lineNumber, request));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeChunk(chunk, progress);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, progress);
+        }
+    }
+
+
+    private void writeChunk(List<Row> rows, Progress progress) {
+        Long groupId = progress.groupId;
+
+        Map<String, Row> byUsername = new LinkedHashMap<>();
+        for (Row row : rows) {
+            if (byUsername.putIfAbsent(row.request().getUsername(), row) != null) {
+                progress.reject(row.line(), "username repetido no arquivo");
+            }
+        }
+
+        // Codifica as senhas fora da transação para não segurar a conexão durante o hash
+        Set<String> known = new HashSet<>();
+        groupMemberRepository.findCandidatesByUsernames(groupId, byUsername.keySet())
+                .forEach(c -> known.add(c.username()));
+        Map<String, String> encoded = new HashMap<>();
+        byUsername.forEach((username, row) -> {
+            if (!known.contains(username)) {
+                encoded.put(username, passwordEncoder.encode(row.request().getPassword()));
+            }
+        });
+
+        try {
+            ChunkResult result = chunkTransaction.execute(status -> persistChunk(groupId, byUsername, encoded));
+            progress.commit(result);
+        } catch (RuntimeException e) {
+            log.warn("Lote da importação do grupo ID {} (linhas {}-{}) falhou: {}",
+                     groupId, rows.get(0).line(), rows.get(rows.size() - 1).line(), e.getMessage());
+            progress.rejected.addAndGet(byUsername.size());
+            progress.error(rows.get(0).line(), "lote até a linha " + rows.get(rows.size() - 1).line()
+                    + " não foi gravado: " + e.getMessage());
+        }
+    }
+
+
+    private ChunkResult persistChunk(Long groupId, Map<String, Row> byUsername, Map<String, String> encoded) {
+        ChunkResult result = new ChunkResult();
+
+        Map<String, MemberCandidate> candidates = new HashMap<>();
+        groupMemberRepository.findCandidatesByUsernames(groupId, byUsername.keySet())
+                .forEach(c -> candidates.put(c.username(), c));
+
+        List<Row> newRows = byUsername.values().stream()
+                .filter(row -> !candidates.containsKey(row.request().getUsername()))
+                .toList();
+
+        if (!newRows.isEmpty()) {
+            Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                    newRows.stream().map(row -> row.request().getEmail()).toList()));
+
+            List<User> users = new ArrayList<>();
+            for (Row row : newRows) {
+                RegisterRequest request = row.request();
+                if (!takenEmails.add(request.getEmail())) {
+                    result.rejected.add(row.line() + ": Email já está em uso");
+                    continue;
+                }
+                users.add(User.builder()
+                        .username(request.getUsername())
+                        .email(request.getEmail())
+                        .password(encoded.computeIfAbsent(request.getUsername(),
+                                u -> passwordEncoder.encode(request.getPassword())))
+                        .role(Role.PARTICIPANT)
+                        .build());
+            }
+
+            if (!users.isEmpty()) {
+                userBatchRepository.insertAll(users);
+                result.usersCreated = users.size();
+                groupMemberRepository.findCandidatesByUsernames(groupId,
+                                users.stream().map(User::getUsername).toList())
+                        .forEach(c -> candidates.put(c.username(), c));
+            }
+        }
+
+        List<Long> toAdd = new ArrayList<>();
+        for (MemberCandidate candidate : candidates.values()) {
+            if (!byUsername.containsKey(candidate.username())) {
+                continue;
+            }
+            if (candidate.membershipId() != null) {
+                result.alreadyMembers++;
+            } else {
+                toAdd.add(candidate.userId());
+            }
+        }
+
+        if (!toAdd.isEmpty()) {
+            groupMemberBatchRepository.insertAll(groupId, toAdd, LocalDateTime.now());
+            groupStatsRepository.addMembers(groupId, toAdd.size());
+            eventPublisher.publishEvent(new MembersAddedEvent(groupId));
+            result.membersAdded = toAdd.size();
+        }
+
+        return result;
+    }
+
+
+    private static RegisterRequest toRequest(List<String> values, List<String> columns) {
+        RegisterRequest request = new RegisterRequest();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            switch (columns.get(i)) {
+                case "username" -> request.setUsername(value);
+                case "email" -> request.setEmail(value);
+                case "password" -> request.setPassword(value);
+                default -> { }
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Divide uma linha CSV respeitando campos entre aspas ("" representa uma aspa)
+     */
+    static List<String> parseCsvLine(String line, char delimiter) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    private record Row(long line, RegisterRequest request) {
+    }
+
+    private static final class ChunkResult {
+        private long usersCreated;
+        private long membersAdded;
+        private long alreadyMembers;
+        private final List<String> rejected = new ArrayList<>();
+    }
+
+    /**
+     * Contadores atualizados pela thread da importação e lidos pelas consultas de andamento
+     */
+    private static final class Progress {
+
+        private final Long groupId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong usersCreated = new AtomicLong();
+        private final AtomicLong membersAdded = new AtomicLong();
+        private final AtomicLong alreadyMembers = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong chunksCommitted = new AtomicLong();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportProgressResponse.Status status = ImportProgressResponse.Status.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+        private long lineNumber;
+
+        private Progress(Long groupId) {
+            this.groupId = groupId;
+        }
+
+        private boolean isRunning() {
+            return status == ImportProgressResponse.Status.RUNNING;
+        }
+
+        private void reject(long line, String message) {
+            rejected.incrementAndGet();
+            error(line, message);
+        }
+
+        private void error(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("linha " + line + ": " + message);
+            }
+        }
+
+        private void commit(ChunkResult result) {
+            usersCreated.addAndGet(result.usersCreated);
+            membersAdded.addAndGet(result.membersAdded);
+            alreadyMembers.addAndGet(result.alreadyMembers);
+            rejected.addAndGet(result.rejected.size());
+            chunksCommitted.incrementAndGet();
+            for (String rejection : result.rejected) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("linha " + rejection);
+                }
+            }
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return !isRunning() && now - finishedNanos >= ttlNanos;
+        }
+
+        private void finish(ImportProgressResponse.Status finalStatus) {
+            finishedAt = LocalDateTime.now();
+            finishedNanos = System.nanoTime();
+            status = finalStatus;
+        }
+
+        private ImportProgressResponse toResponse() {
+            List<String> errorsSnapshot;
+            synchronized (errors) {
+                errorsSnapshot = List.copyOf(errors);
+            }
+            return ImportProgressResponse.builder()
+                    .groupId(groupId)
+                    .status(status)
+                    .rowsRead(rowsRead.get())
+                    .usersCreated(usersCreated.get())
+                    .membersAdded(membersAdded.get())
+                    .alreadyMembers(alreadyMembers.get())
+                    .rejected(rejected.get())
+                    .chunksCommitted(chunksCommitted.get())
+                    .errors(errorsSnapshot)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.meudominio.amigosecreto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.dto.projection.ArchivedMessage;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.MessagesArchivedEvent;
+import com.meudominio.amigosecreto.model.MessageArchive;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageArchiveRepository;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Retenção das mensagens: blocos de mensagens antigas saem da tabela de mensagens para
+ * message_archives como NDJSON compactado, mantendo a tabela e seus índices pequenos.
+ * O histórico arquivado continua disponível para os membros, sob demanda.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MessageArchiveService {
+
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 200;
+
+    private final MessageRepository messageRepository;
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final GroupRepository groupRepository;
+    private final GroupStatsRepository groupStatsRepository;
+    private final GroupAccessGuard groupAccessGuard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Arquiva o próximo bloco de até chunkSize mensagens do grupo anteriores ao corte e as remove
+     * da tabela de mensagens, na mesma transação. Retorna quantas mensagens foram arquivadas
+     */
+    @Transactional
+    public int archiveChunk(Long groupId, LocalDateTime cutoff, int chunkSize) {
+        List<MessageView> messages = messageRepository.findArchivable(groupId, cutoff, PageRequest.of(0, chunkSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = messages.stream().map(MessageView::id).toList();
+        MessageArchive archive = MessageArchive.builder()
+                .groupId(groupId)
+                .firstMessageId(ids.get(0))
+                .lastMessageId(ids.get(ids.size() - 1))
+                .messageCount(messages.size())
+                .oldestTimestamp(messages.stream().map(MessageView::timestamp).min(Comparator.naturalOrder()).orElseThrow())
+                .newestTimestamp(messages.stream().map(MessageView::timestamp).max(Comparator.naturalOrder()).orElseThrow())
+                .payload(compress(messages))
+                .archivedAt(LocalDateTime.now())
+                .build();
+
+        messageArchiveRepository.save(archive);
+        messageRepository.deleteAllByIdIn(ids);
+        // O contador de mensagens inclui as arquivadas; só a primeira página (e o ETag) pode mudar
+        groupStatsRepository.touch(groupId);
+
+        eventPublisher.publishEvent(new MessagesArchivedEvent(groupId, ids));
+        return messages.size();
+    }
+
+    /**
+     * Histórico arquivado do grupo, da mensagem mais recente para a mais antiga, paginado pelo ID
+     * da última mensagem retornada. Descompacta apenas os blocos que a página alcança
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<MessageResponse> getArchivedMessages(Long groupId, String username, Long before, int limit) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_ARCHIVE_PAGE_SIZE);
+        String groupName = groupRepository.findMatchesByIdIn(List.of(groupId)).stream()
+                .map(GroupMatch::name)
+                .findFirst()
+                .orElse(null);
+
+        List<MessageResponse> items = new ArrayList<>(pageSize);
+        boolean hasMore = false;
+        long cursor = before == null ? Long.MAX_VALUE : before;
+
+        while (!hasMore) {
+            List<MessageArchive> blocks = messageArchiveRepository.findBefore(groupId, cursor, PageRequest.of(0, 1));
+            if (blocks.isEmpty()) {
+                break;
+            }
+            MessageArchive block = blocks.get(0);
+            List<ArchivedMessage> messages = decompress(block.getPayload());
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                ArchivedMessage message = messages.get(i);
+                if (message.id() >= cursor) {
+                    continue;
+                }
+                if (items.size() == pageSize) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(mapToResponse(groupId, groupName, message));
+            }
+            cursor = Math.min(cursor, block.getFirstMessageId());
+        }
+
+        return CursorPageResponse.<MessageResponse>builder()
+                .items(items)
+                .nextCursor(hasMore ? String.valueOf(items.get(items.size() - 1).getId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private byte[] compress(List<MessageView> messages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            for (MessageView message : messages) {
+                boolean anonymous = Boolean.TRUE.equals(message.isAnonymous());
+                ArchivedMessage line = new ArchivedMessage(message.id(), anonymous ? null : message.senderUsername(),
+                        message.content(), anonymous, message.timestamp());
+                gzip.write(objectMapper.writeValueAsBytes(line));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao compactar bloco de mensagens", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ArchivedMessage> decompress(byte[] payload) {
+        List<ArchivedMessage> messages = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(payload)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    messages.add(objectMapper.readValue(line, ArchivedMessage.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler bloco de mensagens arquivadas", e);
+        }
+        return messages;
+    }
+
+    private MessageResponse mapToResponse(Long groupId, String groupName, ArchivedMessage message) {
+        return MessageResponse.builder()
+                .id(message.id())
+                .groupId(groupId)
+                .groupName(groupName)
+                .senderUsername(message.anonymous() ? "Anônimo" : message.senderUsername())
+                .content(message.content())
+                .isAnonymous(message.anonymous())
+                .timestamp(message.timestamp())
+                .build();
+    }
+}
@@ -1,22 +1,47 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.config.PushConfig;
+import com.meudominio.amigosecreto.dto.projection.MessageOwnership;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
 import com.meudominio.amigosecreto.dto.request.SendMessageRequest;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.dto.response.MessageSyncResponse;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.ingest.MessageWriteBehind;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.Message;
-import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.MessageTombstone;
+import com.meudominio.amigosecreto.push.MessageBroadcaster;
+import com.meudominio.amigosecreto.push.MessageSyncWaiters;
 import com.meudominio.amigosecreto.repository.GroupMemberRepository;
 import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
 import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.repository.MessageTombstoneRepository;
 import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.search.MessageSearchEngine;
+import com.meudominio.amigosecreto.search.SearchTokenizer;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,98 +49,277 @@ public class MessageService {
 
     private static final String USER_NOT_FOUND = "Usuário não encontrado";
     private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
+    private static final int MAX_MESSAGES_PAGE_SIZE = 200;
+    private static final int MAX_SEARCH_PAGE_SIZE = 50;
+    private static final int MAX_SEARCH_TERMS = 8;
 
     private final MessageRepository messageRepository;
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final GroupStatsRepository groupStatsRepository;
     private final GroupMemberRepository groupMemberRepository;
+    private final GroupAccessGuard groupAccessGuard;
+    private final MessageTombstoneRepository messageTombstoneRepository;
+    private final MessageBroadcaster messageBroadcaster;
+    private final MessageWriteBehind messageWriteBehind;
+    private final MessageSearchEngine messageSearchEngine;
+    private final MessageSyncWaiters syncWaiters;
+    private final PushConfig pushConfig;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MessageResponse sendMessage(SendMessageRequest request, String username) {
         Group group = groupRepository.findById(request.getGroupId())
                 .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
 
-        User sender = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
-
-        // Verificar se é membro
-        if (!groupMemberRepository.existsByGroupAndUser(group, sender)) {
-            throw new UnauthorizedException("Você não é membro deste grupo");
-        }
+        // Só o ID do remetente: a mensagem referencia o usuário sem carregá-lo (nem o hash da senha)
+        Long senderId = groupAccessGuard.requireMember(group.getId(), username, "Você não é membro deste grupo");
 
         Message message = Message.builder()
                 .group(group)
-                .sender(sender)
+                .sender(userRepository.getReferenceById(senderId))
                 .content(request.getContent())
                 .isAnonymous(request.getIsAnonymous() == null || request.getIsAnonymous())
                 .timestamp(LocalDateTime.now())
                 .build();
 
+        // O ID só é gerado com a linha do grupo travada: a sincronização depende da ordem de confirmação
+        groupStatsRepository.lockByGroupIdIn(List.of(group.getId()));
         messageRepository.save(message);
+        groupStatsRepository.addSentMessages(group.getId(), 1, message.getId());
+        // Quem escreve no grupo já viu o que havia nele
+        groupMemberRepository.markRead(group.getId(), senderId);
 
-        return mapToResponse(message);
+        MessageResponse response = mapToResponse(new MessageView(message.getId(), group.getId(), group.getName(),
+                username, message.getContent(), message.getIsAnonymous(), message.getTimestamp()));
+        eventPublisher.publishEvent(new MessageSentEvent(group.getId(), response));
+        return response;
     }
 
-    public List<MessageResponse> getGroupMessages(Long groupId, String username) {
-        Group group = groupRepository.findById(groupId)
-                .orElseThrow(() -> new ResourceNotFoundException(GROUP_NOT_FOUND));
+    /**
+     * Busca textual nas mensagens do grupo, da mais recente para a mais antiga, paginada pelo ID
+     * da última mensagem retornada. Só o conteúdo é indexado: o remetente de mensagens anônimas
+     * continua mascarado e não pode ser descoberto pela busca
+     */
+    public CursorPageResponse<MessageResponse> searchMessages(Long groupId, String username, String query,
+                                                              Long before, int limit) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        List<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            throw new BusinessException(String.format(
+                    "A busca precisa de ao menos uma palavra com %d caracteres", SearchTokenizer.MIN_TERM_LENGTH));
+        }
+        if (terms.size() > MAX_SEARCH_TERMS) {
+            terms = terms.subList(0, MAX_SEARCH_TERMS);
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+        List<Long> ids = messageSearchEngine.search(
+                groupId, terms, before == null ? Long.MAX_VALUE : before, pageSize + 1);
+
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        Map<Long, MessageView> views = pageIds.isEmpty() ? Map.of() : messageRepository.findViewsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(MessageView::id, Function.identity()));
+
+        return CursorPageResponse.<MessageResponse>builder()
+                .items(pageIds.stream()
+                        .map(views::get)
+                        .filter(Objects::nonNull)
+                        .map(this::mapToResponse)
+                        .toList())
+                .nextCursor(hasMore ? String.valueOf(pageIds.get(pageIds.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
 
-        // Verificar se é membro
-        if (!groupMemberRepository.existsByGroupAndUser(group, user)) {
-            throw new UnauthorizedException("Você não é membro deste grupo");
+    /**
+     * Sincronização incremental: mensagens enviadas e exclusões registradas após o cursor. Com
+     * waitSeconds maior que zero e nada novo, a requisição fica estacionada até a próxima
+     * alteração no grupo ou até o tempo acabar, quando responde vazio com o mesmo cursor
+     */
+    public DeferredResult<MessageSyncResponse> getMessagesSince(Long groupId, String username, String cursor,
+                                                                int limit, int waitSeconds) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+
+        SyncCursor position = SyncCursor.decode(cursor);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_MESSAGES_PAGE_SIZE);
+        int wait = Math.min(Math.max(waitSeconds, 0), pushConfig.getLongPollMaxWaitSeconds());
+
+        if (wait == 0) {
+            DeferredResult<MessageSyncResponse> result = new DeferredResult<>();
+            result.setResult(sync(groupId, position, pageSize));
+            return result;
         }
 
-        return messageRepository.findByGroupOrderByTimestampDesc(group).stream()
-                .map(this::mapToResponse)
-                .toList();
+        DeferredResult<MessageSyncResponse> result = new DeferredResult<>(wait * 1000L, () -> emptySync(position));
+        // Registra antes de consultar: um envio confirmado entre a consulta e o registro não se perde
+        MessageSyncWaiters.Registration registration = syncWaiters.register(groupId, () -> {
+            try {
+                result.setResult(sync(groupId, position, pageSize));
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        result.onCompletion(registration::cancel);
+
+        MessageSyncResponse current = sync(groupId, position, pageSize);
+        if (!current.getMessages().isEmpty() || !current.getDeletedMessageIds().isEmpty()) {
+            registration.cancel();
+            result.setResult(current);
+        }
+        return result;
     }
 
-    public MessageResponse getMessageById(Long id, String username) {
-        Message message = messageRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Mensagem não encontrada"));
+    /**
+     * Abre o canal de mensagens em tempo real do grupo; lastEventId é o cabeçalho Last-Event-ID
+     * enviado pelo navegador ao reconectar
+     */
+    public SseEmitter subscribe(Long groupId, String username, String lastEventId) {
+        Long userId = groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
 
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
+        return messageBroadcaster.subscribe(groupId, userId, lastEventId);
+    }
+
+    public boolean isWriteBehindEnabled() {
+        return messageWriteBehind.isEnabled();
+    }
+
+    /**
+     * Envio pela fila de gravação em lote: valida o membro com uma consulta escalar e devolve um
+     * futuro que completa quando o lote da mensagem for confirmado
+     */
+    public CompletableFuture<MessageResponse> submitMessage(SendMessageRequest request, String username) {
+        Long senderId = groupAccessGuard.requireMember(request.getGroupId(), username, "Você não é membro deste grupo");
 
-        // Verificar se é membro do grupo
-        if (!groupMemberRepository.existsByGroupAndUser(message.getGroup(), user)) {
-            throw new UnauthorizedException("Você não tem acesso a esta mensagem");
+        return messageWriteBehind.submit(
+                request.getGroupId(),
+                senderId,
+                username,
+                request.getContent(),
+                request.getIsAnonymous() == null || request.getIsAnonymous());
+    }
+
+    /**
+     * ETag das mensagens do grupo a partir da revisão dos contadores (que muda a cada envio
+     * ou exclusão), sem carregar as mensagens
+     */
+    public String getGroupMessagesETag(Long groupId, String username) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+
+        return groupStatsRepository.findRevisionByGroupId(groupId)
+                .map(revision -> "m" + groupId + "-" + revision)
+                .orElse(null);
+    }
+
+    /**
+     * Lista as mensagens do grupo da mais recente para a mais antiga, em páginas por cursor
+     * (keyset) sobre (timestamp, id); o cursor é opaco e vem do nextCursor da página anterior
+     */
+    public CursorPageResponse<MessageResponse> getGroupMessages(Long groupId, String username, String before, int limit) {
+        groupAccessGuard.requireMember(groupId, username, "Você não é membro deste grupo");
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_MESSAGES_PAGE_SIZE);
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<MessageView> page;
+        if (before == null || before.isBlank()) {
+            page = messageRepository.findLatest(groupId, pageRequest);
+        } else {
+            MessageCursor cursor = MessageCursor.decode(before);
+            page = messageRepository.findBefore(groupId, cursor.timestamp(), cursor.id(), pageRequest);
         }
 
-        return mapToResponse(message);
+        boolean hasMore = page.size() > pageSize;
+        List<MessageView> items = hasMore ? page.subList(0, pageSize) : page;
+        MessageView last = hasMore ? items.get(items.size() - 1) : null;
+
+        return CursorPageResponse.<MessageResponse>builder()
+                .items(items.stream().map(this::mapToResponse).toList())
+                .nextCursor(last != null ? new MessageCursor(last.timestamp(), last.id()).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    public MessageResponse getMessageById(Long id, String username) {
+        MessageView view = messageRepository.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Mensagem não encontrada"));
+
+        groupAccessGuard.requireMember(view.groupId(), username, "Você não tem acesso a esta mensagem");
+
+        return mapToResponse(view);
     }
 
     @Transactional
     public void deleteMessage(Long id, String username) {
-        Message message = messageRepository.findById(id)
+        MessageOwnership ownership = messageRepository.findOwnershipById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Mensagem não encontrada"));
 
-        User user = userRepository.findByUsername(username)
+        Long userId = userRepository.findIdByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException(USER_NOT_FOUND));
 
-        // Verificar se é o remetente ou admin do grupo
-        boolean isOwner = message.getSender().getId().equals(user.getId());
-        boolean isAdmin = message.getGroup().getAdmin().getId().equals(user.getId());
+        // Verificar se é o remetente ou admin do grupo (os IDs vêm das chaves, sem carregar as entidades)
+        boolean isOwner = ownership.senderId().equals(userId);
+        boolean isAdmin = ownership.adminId().equals(userId);
 
         if (!isOwner && !isAdmin) {
             throw new UnauthorizedException("Você não tem permissão para deletar esta mensagem");
         }
 
-        messageRepository.delete(message);
+        Long groupId = ownership.groupId();
+        groupStatsRepository.lockByGroupIdIn(List.of(groupId));
+        messageRepository.deleteAllByIdIn(List.of(id));
+        groupStatsRepository.addMessages(groupId, -1);
+        groupMemberRepository.skipUnreadMessage(groupId, id);
+        messageTombstoneRepository.save(MessageTombstone.builder()
+                .groupId(groupId)
+                .messageId(id)
+                .deletedAt(LocalDateTime.now())
+                .build());
+
+        eventPublisher.publishEvent(new MessageDeletedEvent(groupId, id));
+    }
+
+    private MessageSyncResponse sync(Long groupId, SyncCursor position, int pageSize) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<MessageView> messages = messageRepository.findAfter(groupId, position.messageId(), pageRequest);
+        boolean moreMessages = messages.size() > pageSize;
+        List<MessageView> sent = moreMessages ? messages.subList(0, pageSize) : messages;
+        long upToMessageId = sent.isEmpty() ? position.messageId() : sent.get(sent.size() - 1).id();
+
+        List<MessageTombstone> tombstones = messageTombstoneRepository.findAfter(
+                groupId, position.tombstoneId(), upToMessageId, pageRequest);
+        boolean moreTombstones = tombstones.size() > pageSize;
+        List<MessageTombstone> deleted = moreTombstones ? tombstones.subList(0, pageSize) : tombstones;
+        long lastTombstoneId = deleted.isEmpty() ? position.tombstoneId() : deleted.get(deleted.size() - 1).getId();
+
+        return MessageSyncResponse.builder()
+                .messages(sent.stream().map(this::mapToResponse).toList())
+                .deletedMessageIds(deleted.stream().map(MessageTombstone::getMessageId).toList())
+                .cursor(new SyncCursor(upToMessageId, lastTombstoneId).encode())
+                .hasMore(moreMessages || moreTombstones)
+                .build();
+    }
+
+    private static MessageSyncResponse emptySync(SyncCursor position) {
+        return MessageSyncResponse.builder()
+                .messages(List.of())
+                .deletedMessageIds(List.of())
+                .cursor(position.encode())
+                .hasMore(false)
+                .build();
     }
 
-    private MessageResponse mapToResponse(Message message) {
+    private MessageResponse mapToResponse(MessageView view) {
         return MessageResponse.builder()
-                .id(message.getId())
-                .groupId(message.getGroup().getId())
-                .groupName(message.getGroup().getName())
-                .senderUsername(Boolean.TRUE.equals(message.getIsAnonymous()) ? "Anônimo" : message.getSender().getUsername())
-                .content(message.getContent())
-                .isAnonymous(message.getIsAnonymous())
-                .timestamp(message.getTimestamp())
+                .id(view.id())
+                .groupId(view.groupId())
+                .groupName(view.groupName())
+                .senderUsername(Boolean.TRUE.equals(view.isAnonymous()) ? "Anônimo" : view.senderUsername())
+                .content(view.content())
+                .isAnonymous(view.isAnonymous())
+                .timestamp(view.timestamp())
                 .build();
     }
 }
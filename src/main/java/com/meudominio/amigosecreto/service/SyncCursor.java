@@ -0,0 +1,29 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.exception.BusinessException;
+
+/**
+ * Posição da sincronização incremental: último ID de mensagem e último ID de exclusão já vistos.
+ * Aceita também só o ID de uma mensagem ("tudo depois da mensagem X"), sem exclusões vistas
+ */
+record SyncCursor(long messageId, long tombstoneId) {
+
+    String encode() {
+        return messageId + "." + tombstoneId;
+    }
+
+    static SyncCursor decode(String value) {
+        try {
+            int dot = value.indexOf('.');
+            SyncCursor cursor = dot < 0
+                    ? new SyncCursor(Long.parseLong(value), 0L)
+                    : new SyncCursor(Long.parseLong(value.substring(0, dot)), Long.parseLong(value.substring(dot + 1)));
+            if (cursor.messageId() < 0 || cursor.tombstoneId() < 0) {
+                throw new BusinessException("Cursor inválido");
+            }
+            return cursor;
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Cursor inválido");
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.meudominio.amigosecreto.service;
 
 import com.meudominio.amigosecreto.dto.response.UserResponse;
+import com.meudominio.amigosecreto.event.UserDeletedEvent;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.model.User;
 import com.meudominio.amigosecreto.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +20,7 @@ public class UserService {
     private static final String GROUP_NOT_FOUND = "Grupo não encontrado";
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserResponse getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
@@ -43,6 +46,7 @@ public class UserService {
             throw new ResourceNotFoundException(USER_NOT_FOUND);
         }
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 
     private UserResponse mapToResponse(User user) {
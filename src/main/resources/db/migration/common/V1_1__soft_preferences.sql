@@ -0,0 +1,17 @@
+-- ===============================
+-- PREFERÊNCIAS DO SORTEIO
+-- ===============================
+-- Pessoas que o participante prefere não tirar, com peso: o sorteio as evita sem bloqueá-las.
+
+create table soft_preferences (
+    id         bigint generated by default as identity,
+    group_id   bigint  not null,
+    user_id    bigint  not null,
+    avoided_id bigint  not null,
+    weight     integer not null,
+    constraint pk_soft_preferences primary key (id),
+    constraint uk_soft_preferences_group_id_user_id_avoided_id unique (group_id, user_id, avoided_id),
+    constraint fk_soft_preferences_group_id foreign key (group_id) references groups (id),
+    constraint fk_soft_preferences_user_id foreign key (user_id) references users (id),
+    constraint fk_soft_preferences_avoided_id foreign key (avoided_id) references users (id)
+);
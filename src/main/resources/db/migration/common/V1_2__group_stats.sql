@@ -0,0 +1,19 @@
+-- ===============================
+-- CONTADORES DOS GRUPOS
+-- ===============================
+-- Contadores desnormalizados, chaveados pelo ID do grupo sem chave estrangeira (como na entidade).
+-- message_seq e last_message_id dão a posição de leitura; revision alimenta o ETag do grupo.
+
+create table group_stats (
+    group_id        bigint      not null,
+    member_count    integer     not null,
+    block_count     integer     not null,
+    message_count   integer     not null,
+    draw_status     varchar(20) not null,
+    updated_at      timestamp(6),
+    message_seq     bigint      not null,
+    last_message_id bigint,
+    revision        bigint      not null,
+    constraint pk_group_stats primary key (group_id),
+    constraint ck_group_stats_draw_status check (draw_status in ('PENDING', 'DRAWN'))
+);
@@ -0,0 +1,11 @@
+-- ===============================
+-- PAGINAÇÃO POR CURSOR
+-- ===============================
+-- Índices das listagens paginadas por chave (sem OFFSET): membros do grupo por ID, mensagens do
+-- grupo por (timestamp, id) e a sincronização incremental por ID.
+
+create index idx_group_members_group_id_id on group_members (group_id, id);
+
+create index idx_messages_group_id_timestamp_id on messages (group_id, timestamp, id);
+
+create index idx_messages_group_id_id on messages (group_id, id);
@@ -0,0 +1,14 @@
+-- ===============================
+-- EXCLUSÕES PARA SINCRONIZAÇÃO
+-- ===============================
+-- Marca de cada mensagem excluída, para que a sincronização incremental avise os clientes.
+
+create table message_tombstones (
+    id         bigint generated by default as identity,
+    group_id   bigint       not null,
+    message_id bigint       not null,
+    deleted_at timestamp(6) not null,
+    constraint pk_message_tombstones primary key (id)
+);
+
+create index idx_message_tombstones_group_id_id on message_tombstones (group_id, id);
@@ -0,0 +1,9 @@
+-- ===============================
+-- POSIÇÃO DE LEITURA DOS MEMBROS
+-- ===============================
+-- Sequência e maior ID de mensagem de group_stats copiados na última leitura; nulos até o membro
+-- ler o grupo pela primeira vez (as não lidas são então todas as mensagens).
+
+alter table group_members add column read_seq bigint;
+
+alter table group_members add column last_read_message_id bigint;
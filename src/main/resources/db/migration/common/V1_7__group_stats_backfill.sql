@@ -0,0 +1,21 @@
+-- ===============================
+-- CONTADORES DOS GRUPOS EXISTENTES
+-- ===============================
+-- Os contadores só são somados sobre a linha de group_stats criada junto com o grupo; grupos
+-- anteriores a V1_2 não a têm e ficariam zerados para sempre. Calcula cada linha a partir das
+-- tabelas de origem; a sequência de mensagens começa no total, e como ninguém tem posição de
+-- leitura ainda, as não lidas de cada membro são todas as mensagens do grupo.
+
+insert into group_stats (group_id, member_count, block_count, message_count, draw_status, updated_at,
+                         message_seq, last_message_id, revision)
+select g.id,
+       (select count(*) from group_members gm where gm.group_id = g.id),
+       (select count(*) from blocked_users b where b.group_id = g.id),
+       (select count(*) from messages m where m.group_id = g.id),
+       case when exists (select 1 from draws d where d.group_id = g.id) then 'DRAWN' else 'PENDING' end,
+       localtimestamp,
+       (select count(*) from messages m where m.group_id = g.id),
+       (select max(m.id) from messages m where m.group_id = g.id),
+       0
+from groups g
+where not exists (select 1 from group_stats s where s.group_id = g.id);
@@ -0,0 +1,76 @@
+-- ===============================
+-- ESQUEMA INICIAL
+-- ===============================
+-- As tabelas como as entidades as mapeavam antes das migrações. Bancos criados nessa época (pelo
+-- Hibernate) são marcados nesta versão (spring.flyway.baseline-on-migrate) e recebem só as
+-- seguintes: tudo o que veio depois entra em V1_1 em diante, nunca aqui.
+
+create table users (
+    id       bigint generated by default as identity,
+    username varchar(50)  not null,
+    email    varchar(100) not null,
+    password varchar(255) not null,
+    role     varchar(20)  not null,
+    constraint pk_users primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint ck_users_role check (role in ('ADMIN', 'PARTICIPANT'))
+);
+
+create table groups (
+    id          bigint generated by default as identity,
+    name        varchar(100) not null,
+    description varchar(500),
+    admin_id    bigint       not null,
+    draw_date   date,
+    created_at  timestamp(6) not null,
+    constraint pk_groups primary key (id),
+    constraint fk_groups_admin_id foreign key (admin_id) references users (id)
+);
+
+create table group_members (
+    id        bigint generated by default as identity,
+    group_id  bigint       not null,
+    user_id   bigint       not null,
+    joined_at timestamp(6) not null,
+    constraint pk_group_members primary key (id),
+    constraint uk_group_members_group_id_user_id unique (group_id, user_id),
+    constraint fk_group_members_group_id foreign key (group_id) references groups (id),
+    constraint fk_group_members_user_id foreign key (user_id) references users (id)
+);
+
+create table draws (
+    id          bigint generated by default as identity,
+    group_id    bigint not null,
+    giver_id    bigint not null,
+    receiver_id bigint not null,
+    constraint pk_draws primary key (id),
+    constraint uk_draws_group_id_giver_id unique (group_id, giver_id),
+    constraint fk_draws_group_id foreign key (group_id) references groups (id),
+    constraint fk_draws_giver_id foreign key (giver_id) references users (id),
+    constraint fk_draws_receiver_id foreign key (receiver_id) references users (id)
+);
+
+create table blocked_users (
+    id         bigint generated by default as identity,
+    group_id   bigint not null,
+    blocker_id bigint not null,
+    blocked_id bigint not null,
+    constraint pk_blocked_users primary key (id),
+    constraint uk_blocked_users_group_id_blocker_id_blocked_id unique (group_id, blocker_id, blocked_id),
+    constraint fk_blocked_users_group_id foreign key (group_id) references groups (id),
+    constraint fk_blocked_users_blocker_id foreign key (blocker_id) references users (id),
+    constraint fk_blocked_users_blocked_id foreign key (blocked_id) references users (id)
+);
+
+create table messages (
+    id           bigint generated by default as identity,
+    group_id     bigint        not null,
+    sender_id    bigint        not null,
+    content      varchar(1000) not null,
+    is_anonymous boolean       not null,
+    timestamp    timestamp(6)  not null,
+    constraint pk_messages primary key (id),
+    constraint fk_messages_group_id foreign key (group_id) references groups (id),
+    constraint fk_messages_sender_id foreign key (sender_id) references users (id)
+);
@@ -0,0 +1,27 @@
+-- ===============================
+-- ÍNDICES DAS CONSULTAS QUENTES
+-- ===============================
+-- As chaves únicas das tabelas já atendem as buscas por (group_id, user_id) em group_members,
+-- (group_id, giver_id) em draws e (group_id, blocker_id) em blocked_users; aqui entram as
+-- buscas pelo outro lado dessas relações e as colunas de chave estrangeira consultadas sozinhas.
+
+-- Grupos do usuário (lista de grupos e ETag da lista): só o índice responde ao join com groups
+create index if not exists idx_group_members_user_id_group_id on group_members (user_id, group_id);
+
+-- Quem tirou o participante no grupo
+create index if not exists idx_draws_group_id_receiver_id on draws (group_id, receiver_id);
+
+-- Sorteios do participante em todos os grupos
+create index if not exists idx_draws_giver_id on draws (giver_id);
+
+-- Quem bloqueou o participante no grupo
+create index if not exists idx_blocked_users_group_id_blocked_id on blocked_users (group_id, blocked_id);
+
+-- Grupos administrados pelo usuário
+create index if not exists idx_groups_admin_id on groups (admin_id);
+
+-- Mensagens de um remetente
+create index if not exists idx_messages_sender_id on messages (sender_id);
+
+-- Grupos com mensagens além da retenção: lê só o trecho antigo do índice, sem tocar na tabela
+create index if not exists idx_messages_timestamp_group_id on messages (timestamp, group_id);
@@ -0,0 +1,20 @@
+-- ===============================
+-- ARQUIVO DE MENSAGENS
+-- ===============================
+-- Payload dos blocos arquivados (até 16 MB): acima do limite de binary varying, o H2 usa blob
+-- (com o nome padrão, aceito também no modo de compatibilidade PostgreSQL)
+
+create table message_archives (
+    id               bigint generated by default as identity,
+    group_id         bigint       not null,
+    first_message_id bigint       not null,
+    last_message_id  bigint       not null,
+    message_count    integer      not null,
+    oldest_timestamp timestamp(6) not null,
+    newest_timestamp timestamp(6) not null,
+    payload          binary large object not null,
+    archived_at      timestamp(6) not null,
+    constraint pk_message_archives primary key (id)
+);
+
+create index idx_message_archives_group_id_last_message_id on message_archives (group_id, last_message_id);
@@ -0,0 +1,15 @@
+-- ===============================
+-- BUSCA TEXTUAL (PostgreSQL)
+-- ===============================
+-- Índices de search.engine=postgres, antes criados na inicialização da aplicação; "if not exists"
+-- preserva os que já existem nesses bancos. As expressões precisam ser idênticas às consultas de
+-- PostgresTrigramGroupSearch e PostgresFullTextMessageSearch para que o planejador as use.
+
+create extension if not exists pg_trgm;
+
+create index if not exists idx_groups_name_trgm on groups using gin (lower(name) gin_trgm_ops);
+
+create index if not exists idx_messages_content_fts on messages using gin (
+    to_tsvector('simple', translate(lower(content),
+        'áàâãäåéèêëíìîïóòôõöúùûüçñýÿ', 'aaaaaaeeeeiiiiooooouuuucnyy'))
+);
@@ -0,0 +1,147 @@
+package com.meudominio.amigosecreto.cache;
+
+import com.meudominio.amigosecreto.config.DrawConfig;
+import com.meudominio.amigosecreto.dto.response.DrawResponse;
+import com.meudominio.amigosecreto.event.DrawExecutedEvent;
+import com.meudominio.amigosecreto.event.DrawResetEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DrawIndex - Testes Unitários")
+class DrawIndexTest {
+
+    private DrawIndex drawIndex;
+
+    @BeforeEach
+    void setUp() {
+        DrawConfig drawConfig = new DrawConfig();
+        drawConfig.setIndexEnabled(true);
+        drawConfig.setIndexInitialCapacity(16);
+        drawIndex = new DrawIndex(drawConfig);
+    }
+
+    @Test
+    @DisplayName("find - deve retornar o sorteio indexado a partir do evento de execução")
+    void find_deveRetornarSorteioIndexado() {
+        drawIndex.onDrawExecuted(cycle(1L, "Natal", 10L, 20L, 30L));
+
+        DrawResponse response = drawIndex.find(1L, 20L, "u20");
+
+        assertThat(response).isNotNull();
+        assertThat(response.getGroupName()).isEqualTo("Natal");
+        assertThat(response.getGiverUsername()).isEqualTo("u20");
+        assertThat(response.getReceiverUsername()).isEqualTo("u30");
+        assertThat(drawIndex.find(2L, 20L, "u20")).isNull();
+        assertThat(drawIndex.find(1L, 99L, "u99")).isNull();
+    }
+
+    @Test
+    @DisplayName("onDrawReset - deve remover apenas os pares do grupo resetado")
+    void onDrawReset_deveRemoverApenasOGrupo() {
+        drawIndex.onDrawExecuted(cycle(1L, "Natal", 10L, 20L, 30L));
+        drawIndex.onDrawExecuted(cycle(2L, "Trabalho", 10L, 40L, 50L));
+
+        drawIndex.onDrawReset(new DrawResetEvent(1L));
+
+        assertThat(drawIndex.find(1L, 10L, "u10")).isNull();
+        assertThat(drawIndex.find(2L, 10L, "u10").getReceiverUsername()).isEqualTo("u40");
+        assertThat(drawIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("onDrawReset/onMemberRemoved - devem soltar o username do sorteado junto com o último par")
+    void eventos_devemSoltarUsernameComOUltimoPar() {
+        drawIndex.onDrawExecuted(cycle(1L, "Natal", 10L, 20L, 30L));
+        drawIndex.onDrawExecuted(cycle(2L, "Trabalho", 10L, 20L));
+        assertThat(drawIndex.receiverNameCount()).isEqualTo(3);
+
+        drawIndex.onDrawReset(new DrawResetEvent(1L));
+        assertThat(drawIndex.receiverNameCount()).isEqualTo(2);
+        assertThat(drawIndex.find(2L, 10L, "u10").getReceiverUsername()).isEqualTo("u20");
+
+        drawIndex.onMemberRemoved(new MemberRemovedEvent(2L, 10L));
+        drawIndex.onMemberRemoved(new MemberRemovedEvent(2L, 20L));
+        assertThat(drawIndex.size()).isZero();
+        assertThat(drawIndex.receiverNameCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("put - deve manter o username ao regravar o mesmo par")
+    void put_deveManterUsernameAoRegravarOMesmoPar() {
+        drawIndex.put(drawIndex.epoch(), 3L, "Natal", 1L, 10L, 20L, "u20");
+        drawIndex.put(drawIndex.epoch(), 3L, "Natal", 1L, 10L, 20L, "u20");
+
+        assertThat(drawIndex.receiverNameCount()).isEqualTo(1);
+        drawIndex.onMemberRemoved(new MemberRemovedEvent(3L, 10L));
+        assertThat(drawIndex.receiverNameCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("onMemberRemoved - deve manter as demais chaves acessíveis após remoção com colisões")
+    void onMemberRemoved_deveManterDemaisChavesAcessiveis() {
+        long[] ids = new long[200];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i + 1;
+        }
+        drawIndex.onDrawExecuted(cycle(7L, "Grande", ids));
+
+        for (int i = 0; i < ids.length; i += 3) {
+            drawIndex.onMemberRemoved(new MemberRemovedEvent(7L, ids[i]));
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            DrawResponse response = drawIndex.find(7L, ids[i], "u" + ids[i]);
+            if (i % 3 == 0) {
+                assertThat(response).isNull();
+            } else {
+                assertThat(response.getReceiverUsername()).isEqualTo("u" + ids[(i + 1) % ids.length]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("put - deve descartar preenchimento lido antes de uma remoção")
+    void put_deveDescartarPreenchimentoObsoleto() {
+        long epoch = drawIndex.epoch();
+        drawIndex.onGroupDeleted(new GroupDeletedEvent(3L));
+
+        drawIndex.put(epoch, 3L, "Antigo", 1L, 10L, 20L, "u20");
+        assertThat(drawIndex.find(3L, 10L, "u10")).isNull();
+
+        drawIndex.put(drawIndex.epoch(), 3L, "Novo", 1L, 10L, 20L, "u20");
+        assertThat(drawIndex.find(3L, 10L, "u10").getGroupName()).isEqualTo("Novo");
+    }
+
+    @Test
+    @DisplayName("find - deve ignorar o índice quando desabilitado")
+    void find_deveIgnorarQuandoDesabilitado() {
+        DrawIndex disabled = new DrawIndex(new DrawConfig());
+
+        disabled.onDrawExecuted(cycle(1L, "Natal", 10L, 20L, 30L));
+
+        assertThat(disabled.find(1L, 10L, "u10")).isNull();
+        assertThat(disabled.size()).isZero();
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private static DrawExecutedEvent cycle(Long groupId, String groupName, long... userIds) {
+        List<DrawExecutedEvent.Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < userIds.length; i++) {
+            long giver = userIds[i];
+            long receiver = userIds[(i + 1) % userIds.length];
+            pairs.add(new DrawExecutedEvent.Pair(groupId * 1000 + i, giver, "u" + giver, receiver, "u" + receiver));
+        }
+        return new DrawExecutedEvent(groupId, groupName, pairs);
+    }
+}
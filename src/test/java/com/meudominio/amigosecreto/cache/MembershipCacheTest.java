@@ -0,0 +1,191 @@
+package com.meudominio.amigosecreto.cache;
+
+import com.meudominio.amigosecreto.config.MembershipConfig;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
+import com.meudominio.amigosecreto.event.UserDeletedEvent;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MembershipCache - Testes Unitários")
+class MembershipCacheTest {
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private MembershipConfig membershipConfig;
+    private MembershipCache membershipCache;
+
+    @BeforeEach
+    void setUp() {
+        membershipConfig = new MembershipConfig();
+        membershipConfig.setCacheEnabled(true);
+        membershipConfig.setCacheMaxEntries(100);
+        membershipConfig.setCacheMaxGroupSize(10);
+        membershipCache = new MembershipCache(groupMemberRepository, userRepository, membershipConfig);
+    }
+
+    @Test
+    @DisplayName("isMember - deve carregar o grupo uma vez e responder as demais verificações da memória")
+    void isMember_deveResponderDaMemoriaAposCarregar() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(30L, 10L, 20L));
+
+        assertThat(membershipCache.isMember(1L, 20L)).isTrue();
+        assertThat(membershipCache.isMember(1L, 10L)).isTrue();
+        assertThat(membershipCache.isMember(1L, 15L)).isFalse();
+
+        verify(groupMemberRepository, times(1)).findUserIdsByGroupId(1L);
+        verify(groupMemberRepository, never()).existsByGroupIdAndUserId(any(), any());
+        assertThat(membershipCache.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("onMembersAdded/onMemberRemoved/onGroupDeleted - devem invalidar o grupo")
+    void eventos_devemInvalidarOGrupo() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L))
+                .thenReturn(List.of(10L))
+                .thenReturn(List.of(10L, 20L))
+                .thenReturn(List.of(20L))
+                .thenReturn(List.of());
+
+        assertThat(membershipCache.isMember(1L, 20L)).isFalse();
+
+        membershipCache.onMembersAdded(new MembersAddedEvent(1L));
+        assertThat(membershipCache.isMember(1L, 20L)).isTrue();
+
+        membershipCache.onMemberRemoved(new MemberRemovedEvent(1L, 10L));
+        assertThat(membershipCache.isMember(1L, 10L)).isFalse();
+
+        membershipCache.onGroupDeleted(new GroupDeletedEvent(1L));
+        assertThat(membershipCache.isMember(1L, 20L)).isFalse();
+        assertThat(membershipCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("isMember - deve descartar carga concorrente com uma invalidação")
+    void isMember_deveDescartarCargaObsoleta() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenAnswer(inv -> {
+            membershipCache.onMemberRemoved(new MemberRemovedEvent(1L, 10L));
+            return List.of(10L, 20L);
+        });
+
+        assertThat(membershipCache.isMember(1L, 20L)).isTrue();
+
+        assertThat(membershipCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("isMember - deve manter a carga quando a invalidação concorrente é de outro grupo")
+    void isMember_deveManterCargaQuandoInvalidacaoEhDeOutroGrupo() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenAnswer(inv -> {
+            membershipCache.onMemberRemoved(new MemberRemovedEvent(2L, 10L));
+            return List.of(10L, 20L);
+        });
+
+        assertThat(membershipCache.isMember(1L, 20L)).isTrue();
+        assertThat(membershipCache.isMember(1L, 10L)).isTrue();
+
+        verify(groupMemberRepository, times(1)).findUserIdsByGroupId(1L);
+        assertThat(membershipCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("isMember - deve consultar o banco para grupos acima do tamanho máximo")
+    void isMember_deveConsultarBancoParaGrupoGrande() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L))
+                .thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L));
+        when(groupMemberRepository.existsByGroupIdAndUserId(1L, 5L)).thenReturn(true);
+
+        assertThat(membershipCache.isMember(1L, 5L)).isTrue();
+        assertThat(membershipCache.isMember(1L, 5L)).isTrue();
+
+        verify(groupMemberRepository, times(1)).findUserIdsByGroupId(1L);
+        verify(groupMemberRepository, times(2)).existsByGroupIdAndUserId(1L, 5L);
+    }
+
+    @Test
+    @DisplayName("isMember - deve despejar os grupos menos usados ao passar do limite")
+    void isMember_deveDespejarGruposMenosUsados() {
+        membershipConfig.setCacheMaxEntries(5);
+        membershipCache = new MembershipCache(groupMemberRepository, userRepository, membershipConfig);
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(1L, 2L));
+        when(groupMemberRepository.findUserIdsByGroupId(2L)).thenReturn(List.of(3L, 4L));
+        when(groupMemberRepository.findUserIdsByGroupId(3L)).thenReturn(List.of(5L, 6L));
+
+        membershipCache.isMember(1L, 1L);
+        membershipCache.isMember(2L, 3L);
+        membershipCache.isMember(1L, 1L);
+        membershipCache.isMember(3L, 5L);
+        membershipCache.isMember(1L, 2L);
+        membershipCache.isMember(2L, 4L);
+
+        assertThat(membershipCache.size()).isLessThanOrEqualTo(5);
+        verify(groupMemberRepository, times(1)).findUserIdsByGroupId(1L);
+        verify(groupMemberRepository, times(2)).findUserIdsByGroupId(2L);
+    }
+
+    @Test
+    @DisplayName("findUserId - deve consultar o username uma vez e responder os demais da memória")
+    void findUserId_deveResponderDaMemoriaAposCarregar() {
+        when(userRepository.findIdByUsername("ana")).thenReturn(Optional.of(7L));
+
+        assertThat(membershipCache.findUserId("ana")).contains(7L);
+        assertThat(membershipCache.findUserId("ana")).contains(7L);
+
+        verify(userRepository, times(1)).findIdByUsername("ana");
+    }
+
+    @Test
+    @DisplayName("findUserId - não deve guardar username inexistente")
+    void findUserId_naoDeveGuardarUsernameInexistente() {
+        when(userRepository.findIdByUsername("fantasma")).thenReturn(Optional.empty());
+
+        assertThat(membershipCache.findUserId("fantasma")).isEmpty();
+        assertThat(membershipCache.findUserId("fantasma")).isEmpty();
+
+        verify(userRepository, times(2)).findIdByUsername("fantasma");
+    }
+
+    @Test
+    @DisplayName("onUserDeleted - deve esquecer o username para que um novo cadastro com o mesmo nome seja consultado")
+    void onUserDeleted_deveInvalidarOUsername() {
+        when(userRepository.findIdByUsername("ana"))
+                .thenReturn(Optional.of(7L))
+                .thenReturn(Optional.of(8L));
+
+        assertThat(membershipCache.findUserId("ana")).contains(7L);
+        membershipCache.onUserDeleted(new UserDeletedEvent(7L));
+
+        assertThat(membershipCache.findUserId("ana")).contains(8L);
+        assertThat(membershipCache.findUserId("ana")).contains(8L);
+        verify(userRepository, times(2)).findIdByUsername("ana");
+    }
+
+    @Test
+    @DisplayName("isMember - deve consultar o banco quando o cache está desabilitado")
+    void isMember_deveConsultarBancoQuandoDesabilitado() {
+        MembershipCache disabled = new MembershipCache(groupMemberRepository, userRepository, new MembershipConfig());
+        when(groupMemberRepository.existsByGroupIdAndUserId(1L, 2L)).thenReturn(true);
+
+        assertThat(disabled.isMember(1L, 2L)).isTrue();
+
+        verify(groupMemberRepository, never()).findUserIdsByGroupId(any());
+    }
+}
@@ -0,0 +1,28 @@
+package com.meudominio.amigosecreto.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ETags - Testes Unitários")
+class ETagsTest {
+
+    @Test
+    @DisplayName("matches - deve aceitar o ETag exato, fraco, em lista ou curinga")
+    void matches_deveAceitarFormatosDoCabecalho() {
+        assertThat(ETags.matches("\"g1-5\"", "g1-5")).isTrue();
+        assertThat(ETags.matches("W/\"g1-5\"", "g1-5")).isTrue();
+        assertThat(ETags.matches("\"g1-4\", \"g1-5\"", "g1-5")).isTrue();
+        assertThat(ETags.matches("*", "g1-5")).isTrue();
+    }
+
+    @Test
+    @DisplayName("matches - deve recusar ETag diferente, ausente ou recurso sem versão")
+    void matches_deveRecusarQuandoDiferente() {
+        assertThat(ETags.matches("\"g1-4\"", "g1-5")).isFalse();
+        assertThat(ETags.matches("g1-5", "g1-5")).isFalse();
+        assertThat(ETags.matches(null, "g1-5")).isFalse();
+        assertThat(ETags.matches("*", null)).isFalse();
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -76,6 +77,18 @@ public class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).isEqualTo("Regra de negócio violada");
     }
 
+    @Test
+    @DisplayName("handleServiceOverloadedException - deve retornar 503 com Retry-After")
+    void handleServiceOverloadedException_deveRetornar503() {
+        ServiceOverloadedException ex = new ServiceOverloadedException("Sobrecarga");
+
+        ResponseEntity<ErrorResponse> response = handler.handleServiceOverloadedException(ex, request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody().getMessage()).isEqualTo("Sobrecarga");
+    }
+
     @Test
     @DisplayName("handleValidationExceptions - deve retornar 400 com mapa de erros")
     void handleValidationExceptions_deveRetornarErrosDeValidacao() {
@@ -0,0 +1,129 @@
+package com.meudominio.amigosecreto.ingest;
+
+import com.meudominio.amigosecreto.config.MessageIngestionConfig;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.exception.ServiceOverloadedException;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageBatchRepository;
+import com.meudominio.amigosecreto.repository.MessageBatchRepository.NewMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageWriteBehind - Testes Unitários")
+class MessageWriteBehindTest {
+
+    @Mock
+    private MessageBatchRepository messageBatchRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MessageWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        MessageIngestionConfig ingestionConfig = new MessageIngestionConfig();
+        ingestionConfig.setWriteBehindEnabled(true);
+        ingestionConfig.setQueueCapacity(3);
+        ingestionConfig.setBatchSize(10);
+        writeBehind = new MessageWriteBehind(messageBatchRepository, groupRepository, groupStatsRepository,
+                groupMemberRepository, eventPublisher, transactionManager, ingestionConfig);
+    }
+
+    @Test
+    @DisplayName("flushPending - deve gravar a fila em um lote e responder cada envio")
+    void flushPending_deveGravarEmLote() {
+        when(messageBatchRepository.insertAll(any())).thenReturn(List.of(100L, 101L, 102L));
+        when(groupRepository.findMatchesByIdIn(any()))
+                .thenReturn(List.of(new GroupMatch(1L, "Natal"), new GroupMatch(2L, "Firma")));
+
+        CompletableFuture<MessageResponse> first = writeBehind.submit(1L, 7L, "ana", "Oi", true);
+        CompletableFuture<MessageResponse> second = writeBehind.submit(2L, 8L, "bia", "Olá", false);
+        CompletableFuture<MessageResponse> third = writeBehind.submit(1L, 8L, "bia", "Tudo bem?", false);
+        writeBehind.flushPending();
+
+        assertThat(first.join().getId()).isEqualTo(100L);
+        assertThat(first.join().getSenderUsername()).isEqualTo("Anônimo");
+        assertThat(second.join().getGroupName()).isEqualTo("Firma");
+        assertThat(third.join().getSenderUsername()).isEqualTo("bia");
+
+        InOrder order = inOrder(groupStatsRepository, messageBatchRepository);
+        order.verify(groupStatsRepository).lockByGroupIdIn(new TreeSet<>(List.of(1L, 2L)));
+        order.verify(messageBatchRepository, times(1)).insertAll(argThat(batch -> batch.size() == 3));
+        verify(groupStatsRepository).addSentMessages(1L, 2, 102L);
+        verify(groupStatsRepository).addSentMessages(2L, 1, 101L);
+        verify(groupMemberRepository).markRead(1L, 7L);
+        verify(groupMemberRepository).markRead(1L, 8L);
+        verify(groupMemberRepository).markRead(2L, 8L);
+        verify(eventPublisher, times(3)).publishEvent(any(MessageSentEvent.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("submit - deve responder 503 quando a fila está cheia")
+    void submit_deveRecusarComFilaCheia() {
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(1L, 7L, "ana", "Mensagem " + i, true);
+        }
+
+        assertThatThrownBy(() -> writeBehind.submit(1L, 7L, "ana", "Uma a mais", true))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    @DisplayName("flushPending - deve isolar a mensagem com falha sem perder as demais do lote")
+    void flushPending_deveIsolarFalha() {
+        when(messageBatchRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<NewMessage> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(message -> message.groupId().equals(9L))) {
+                throw new DataIntegrityViolationException("grupo removido");
+            }
+            return List.of(200L);
+        });
+        when(groupRepository.findMatchesByIdIn(any())).thenReturn(List.of(new GroupMatch(1L, "Natal")));
+
+        CompletableFuture<MessageResponse> valid = writeBehind.submit(1L, 7L, "ana", "Oi", true);
+        CompletableFuture<MessageResponse> orphan = writeBehind.submit(9L, 7L, "ana", "Oi", true);
+        writeBehind.flushPending();
+
+        assertThat(valid.join().getId()).isEqualTo(200L);
+        assertThat(orphan).isCompletedExceptionally();
+        verify(groupStatsRepository).addSentMessages(1L, 1, 200L);
+        verify(groupStatsRepository, never()).addSentMessages(eq(9L), anyInt(), any());
+    }
+}
@@ -0,0 +1,325 @@
+package com.meudominio.amigosecreto.push;
+
+import com.meudominio.amigosecreto.config.PushConfig;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MessageBroadcaster - Testes Unitários")
+class MessageBroadcasterTest {
+
+    private static final Long USER_ID = 2L;
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private long now = 1_000_000L;
+
+    private MessageBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        PushConfig pushConfig = new PushConfig();
+        pushConfig.setReplayBufferSize(3);
+        pushConfig.setSubscriberQueueSize(2);
+        pushConfig.setIdleChannelTtlMs(60_000);
+        broadcaster = new MessageBroadcaster(pushConfig, executor, () -> now) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    // ========================
+    // ENTREGA
+    // ========================
+
+    @Test
+    @DisplayName("onMessageSent - deve entregar apenas aos inscritos do grupo")
+    void onMessageSent_deveEntregarAosInscritosDoGrupo() {
+        RecordingEmitter first = subscribe(1L, null);
+        RecordingEmitter second = subscribe(1L, null);
+        RecordingEmitter other = subscribe(2L, null);
+
+        sent(1L, 10L);
+        sent(1L, 11L);
+        executor.runAll();
+
+        assertThat(first.messageIds()).containsExactly(10L, 11L);
+        assertThat(second.messageIds()).containsExactly(10L, 11L);
+        assertThat(other.events).isEmpty();
+        assertThat(first.events.get(0).id()).endsWith(".1");
+    }
+
+    @Test
+    @DisplayName("subscribe - deve repassar as mensagens perdidas desde o Last-Event-ID")
+    void subscribe_deveRepassarMensagensPerdidas() {
+        RecordingEmitter first = subscribe(1L, null);
+        sent(1L, 10L);
+        executor.runAll();
+        String lastEventId = first.events.get(0).id();
+
+        sent(1L, 11L);
+        sent(1L, 12L);
+        RecordingEmitter reconnected = subscribe(1L, lastEventId);
+        sent(1L, 13L);
+        executor.runAll();
+
+        assertThat(reconnected.messageIds()).containsExactly(11L, 12L, 13L);
+    }
+
+    @Test
+    @DisplayName("subscribe - deve enviar reset quando o Last-Event-ID não é coberto pelo buffer")
+    void subscribe_deveEnviarResetForaDoBuffer() {
+        RecordingEmitter first = subscribe(1L, null);
+        sent(1L, 10L);
+        executor.runAll();
+        String lastEventId = first.events.get(0).id();
+        first.complete();
+
+        for (long id = 11; id <= 14; id++) {
+            sent(1L, id);
+        }
+        RecordingEmitter lagging = subscribe(1L, lastEventId);
+        RecordingEmitter restarted = subscribe(1L, "123.4");
+        executor.runAll();
+
+        assertThat(lagging.events).extracting(SentEvent::name).containsExactly(MessageBroadcaster.RESET_EVENT);
+        assertThat(restarted.events).extracting(SentEvent::name).containsExactly(MessageBroadcaster.RESET_EVENT);
+    }
+
+    @Test
+    @DisplayName("onMessageDeleted - deve avisar as conexões e não repassar a mensagem excluída")
+    void onMessageDeleted_deveAvisarETirarDoBuffer() {
+        RecordingEmitter first = subscribe(1L, null);
+        sent(1L, 10L);
+        executor.runAll();
+        String lastEventId = first.events.get(0).id();
+
+        sent(1L, 11L);
+        sent(1L, 12L);
+        broadcaster.onMessageDeleted(new MessageDeletedEvent(1L, 11L));
+        RecordingEmitter reconnected = subscribe(1L, lastEventId);
+        executor.runAll();
+
+        assertThat(first.names()).containsExactly(
+                MessageBroadcaster.MESSAGE_EVENT, MessageBroadcaster.MESSAGE_EVENT,
+                MessageBroadcaster.MESSAGE_EVENT, MessageBroadcaster.DELETE_EVENT);
+        assertThat(first.events.get(3).data()).isEqualTo(11L);
+        assertThat(reconnected.messageIds()).containsExactly(12L);
+        assertThat(reconnected.names()).containsExactly(
+                MessageBroadcaster.MESSAGE_EVENT, MessageBroadcaster.DELETE_EVENT);
+    }
+
+    // ========================
+    // CONTRAPRESSÃO
+    // ========================
+
+    @Test
+    @DisplayName("onMessageSent - deve desconectar a conexão lenta sem afetar as demais")
+    void onMessageSent_deveDesconectarConexaoLenta() {
+        RecordingEmitter slow = subscribe(1L, null);
+        for (long id = 10; id <= 15; id++) {
+            sent(1L, id);
+        }
+
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+
+        executor.runAll();
+        assertThat(slow.messageIds()).containsExactly(10L, 11L, 12L, 13L, 14L);
+        assertThat(slow.completed).isTrue();
+
+        RecordingEmitter fresh = subscribe(1L, slow.events.get(4).id());
+        executor.runAll();
+        assertThat(fresh.messageIds()).containsExactly(15L);
+    }
+
+    // ========================
+    // MANUTENÇÃO
+    // ========================
+
+    @Test
+    @DisplayName("heartbeat - deve descartar o buffer de grupos ociosos sem conexões")
+    void heartbeat_deveDescartarCanalOcioso() {
+        RecordingEmitter first = subscribe(1L, null);
+        sent(1L, 10L);
+        executor.runAll();
+        String lastEventId = first.events.get(0).id();
+        first.complete();
+
+        now += 120_000;
+        broadcaster.heartbeat();
+
+        RecordingEmitter reconnected = subscribe(1L, lastEventId);
+        executor.runAll();
+        assertThat(reconnected.events).extracting(SentEvent::name).containsExactly(MessageBroadcaster.RESET_EVENT);
+    }
+
+    @Test
+    @DisplayName("onGroupDeleted - deve encerrar as conexões do grupo")
+    void onGroupDeleted_deveEncerrarConexoes() {
+        RecordingEmitter emitter = subscribe(1L, null);
+
+        broadcaster.onGroupDeleted(new GroupDeletedEvent(1L));
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("onMemberRemoved - deve encerrar só as conexões do membro removido naquele grupo")
+    void onMemberRemoved_deveEncerrarConexoesDoMembro() {
+        RecordingEmitter removed = subscribe(1L, 5L, null);
+        RecordingEmitter removedOtherTab = subscribe(1L, 5L, null);
+        RecordingEmitter stays = subscribe(1L, USER_ID, null);
+        RecordingEmitter otherGroup = subscribe(2L, 5L, null);
+
+        broadcaster.onMemberRemoved(new MemberRemovedEvent(1L, 5L));
+        sent(1L, 10L);
+        executor.runAll();
+
+        assertThat(removed.completed).isTrue();
+        assertThat(removedOtherTab.completed).isTrue();
+        assertThat(removed.events).isEmpty();
+        assertThat(stays.messageIds()).containsExactly(10L);
+        assertThat(otherGroup.completed).isFalse();
+        assertThat(broadcaster.subscriberCount(1L)).isEqualTo(1);
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private RecordingEmitter subscribe(Long groupId, String lastEventId) {
+        return subscribe(groupId, USER_ID, lastEventId);
+    }
+
+    private RecordingEmitter subscribe(Long groupId, Long userId, String lastEventId) {
+        broadcaster.subscribe(groupId, userId, lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private void sent(Long groupId, Long messageId) {
+        MessageResponse message = MessageResponse.builder().id(messageId).groupId(groupId).build();
+        broadcaster.onMessageSent(new MessageSentEvent(groupId, message));
+    }
+
+    private record SentEvent(String id, String name, Object data) {
+    }
+
+    /**
+     * Guarda os eventos escritos em vez de enviá-los; o ciclo de vida fica a cargo do teste
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<SentEvent> events = new ArrayList<>();
+        private final List<Runnable> completionCallbacks = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String id = null;
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        } else if (line.startsWith(":")) {
+                            return;
+                        }
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            events.add(new SentEvent(id, name, data));
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            completionCallbacks.forEach(Runnable::run);
+        }
+
+        List<Long> messageIds() {
+            return events.stream()
+                    .filter(event -> event.data() instanceof MessageResponse)
+                    .map(event -> ((MessageResponse) event.data()).getId())
+                    .toList();
+        }
+
+        List<String> names() {
+            return events.stream().map(SentEvent::name).toList();
+        }
+    }
+
+    /**
+     * Executor que só roda as tarefas quando o teste pede, simulando clientes que ainda não leram
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
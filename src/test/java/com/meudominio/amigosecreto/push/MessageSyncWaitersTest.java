@@ -0,0 +1,84 @@
+package com.meudominio.amigosecreto.push;
+
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MessageSyncWaiters - Testes Unitários")
+class MessageSyncWaitersTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final MessageSyncWaiters waiters = new MessageSyncWaiters(new DirectExecutor());
+
+    @Test
+    @DisplayName("onMessageSent - deve acordar uma vez todas as esperas do grupo")
+    void onMessageSent_deveAcordarEsperasDoGrupo() {
+        waiters.register(1L, () -> calls.add("a"));
+        waiters.register(1L, () -> calls.add("b"));
+        waiters.register(2L, () -> calls.add("outro"));
+
+        waiters.onMessageSent(new MessageSentEvent(1L, MessageResponse.builder().id(9L).build()));
+        waiters.onMessageDeleted(new MessageDeletedEvent(1L, 9L));
+
+        assertThat(calls).containsExactlyInAnyOrder("a", "b");
+        assertThat(waiters.waiting(1L)).isZero();
+        assertThat(waiters.waiting(2L)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cancel - não deve acordar esperas canceladas")
+    void cancel_naoDeveAcordarEsperaCancelada() {
+        MessageSyncWaiters.Registration registration = waiters.register(1L, () -> calls.add("a"));
+
+        registration.cancel();
+        waiters.onMessageDeleted(new MessageDeletedEvent(1L, 9L));
+
+        assertThat(calls).isEmpty();
+        assertThat(waiters.waiting(1L)).isZero();
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private static final class DirectExecutor extends AbstractExecutorService {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+}
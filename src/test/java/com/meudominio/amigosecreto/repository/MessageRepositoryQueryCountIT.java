@@ -0,0 +1,149 @@
+package com.meudominio.amigosecreto.repository;
+
+import com.meudominio.amigosecreto.dto.projection.MessageOwnership;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
+import com.meudominio.amigosecreto.model.Group;
+import com.meudominio.amigosecreto.model.Message;
+import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("MessageRepository - Contagem de consultas")
+class MessageRepositoryQueryCountIT {
+
+    private static final int MESSAGES = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private Statistics statistics;
+    private Long groupId;
+    private Long firstMessageId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("dono");
+        User other = persistUser("participante");
+
+        Group group = entityManager.persist(Group.builder()
+                .name("Natal 2025")
+                .admin(owner)
+                .drawDate(LocalDate.now().plusDays(10))
+                .createdAt(LocalDateTime.now())
+                .build());
+        groupId = group.getId();
+
+        LocalDateTime start = LocalDateTime.of(2025, 12, 1, 10, 0);
+        for (int i = 0; i < MESSAGES; i++) {
+            // Uma em cada três mensagens é identificada
+            Message message = entityManager.persist(Message.builder()
+                    .group(group)
+                    .sender(i % 2 == 0 ? owner : other)
+                    .content("Mensagem " + i)
+                    .isAnonymous(i % 3 != 0)
+                    .timestamp(start.plusMinutes(i))
+                    .build());
+            if (i == 0) {
+                firstMessageId = message.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findLatest - deve listar 500 mensagens com uma única consulta sem carregar entidades")
+    void findLatest_deveUsarUmaUnicaConsulta() {
+        List<MessageView> views = messageRepository.findLatest(groupId, PageRequest.of(0, MESSAGES));
+
+        assertThat(views).hasSize(MESSAGES);
+        assertThat(views).allSatisfy(view -> assertThat(view.groupName()).isEqualTo("Natal 2025"));
+        assertRemetenteSoNasIdentificadas(views);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findAfter - deve sincronizar com uma única consulta sem carregar entidades")
+    void findAfter_deveUsarUmaUnicaConsulta() {
+        List<MessageView> views = messageRepository.findAfter(groupId, firstMessageId, PageRequest.of(0, MESSAGES));
+
+        assertThat(views).hasSize(MESSAGES - 1);
+        assertRemetenteSoNasIdentificadas(views);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findViewById - deve ler a mensagem sem carregar remetente nem grupo")
+    void findViewById_naoDeveCarregarEntidades() {
+        MessageView identified = messageRepository.findViewById(firstMessageId).orElseThrow();
+        MessageView anonymous = messageRepository.findViewById(firstMessageId + 1).orElseThrow();
+
+        assertThat(identified.senderUsername()).isEqualTo("dono");
+        assertThat(anonymous.isAnonymous()).isTrue();
+        assertThat(anonymous.senderUsername()).isNull();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findOwnershipById - deve ler grupo, remetente e admin com uma única consulta sem carregar entidades")
+    void findOwnershipById_naoDeveCarregarEntidades() {
+        MessageOwnership ownership = messageRepository.findOwnershipById(firstMessageId + 1).orElseThrow();
+
+        assertThat(ownership.groupId()).isEqualTo(groupId);
+        assertThat(ownership.senderId()).isNotEqualTo(ownership.adminId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private static void assertRemetenteSoNasIdentificadas(List<MessageView> views) {
+        assertThat(views).allSatisfy(view -> {
+            if (view.isAnonymous()) {
+                assertThat(view.senderUsername()).isNull();
+            } else {
+                assertThat(view.senderUsername()).isIn("dono", "participante");
+            }
+        });
+        assertThat(views).anyMatch(view -> !view.isAnonymous());
+    }
+
+    private User persistUser(String username) {
+        return entityManager.persist(User.builder()
+                .username(username)
+                .email(username + "@email.com")
+                .password("senha")
+                .role(Role.PARTICIPANT)
+                .build());
+    }
+}
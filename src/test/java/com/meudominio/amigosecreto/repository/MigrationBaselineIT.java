@@ -0,0 +1,100 @@
+package com.meudominio.amigosecreto.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Banco de produção criado antes das migrações: o esquema já existe (como o Hibernate o criou),
+ * o Flyway o marca na V1 (baseline-on-migrate, como em application-prod.properties) e precisa
+ * aplicar todas as migrações seguintes
+ */
+@DisplayName("Migrações - Banco anterior às migrações")
+class MigrationBaselineIT {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline" + System.nanoTime() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/common/V1__baseline.sql")).execute(dataSource);
+    }
+
+    @Test
+    @DisplayName("migrate - deve marcar a V1 e criar tudo o que veio depois dela")
+    void migrate_deveAplicarAsMigracoesPosterioresAoBaseline() {
+        migrate();
+
+        assertThat(columns("group_stats")).contains("member_count", "message_seq", "last_message_id", "revision");
+        assertThat(columns("group_members")).contains("read_seq", "last_read_message_id");
+        assertThat(columns("message_archives")).contains("payload");
+        assertThat(columns("message_tombstones")).contains("message_id");
+        assertThat(columns("soft_preferences")).contains("weight");
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where lower(index_name) = 'idx_messages_group_id_id'",
+                Long.class)).isPositive();
+    }
+
+    @Test
+    @DisplayName("migrate - deve criar os contadores dos grupos existentes a partir das tabelas de origem")
+    void migrate_deveCalcularContadoresDosGruposExistentes() {
+        jdbcTemplate.execute("insert into users (id, username, email, password, role) " +
+                "select x, 'usuario' || x, 'usuario' || x || '@email.com', 'senha', 'PARTICIPANT' " +
+                "from system_range(1, 4) r(x)");
+        jdbcTemplate.execute("insert into groups (id, name, admin_id, created_at) values " +
+                "(1, 'Natal', 1, timestamp '2024-12-01 00:00:00'), (2, 'Firma', 2, timestamp '2024-12-01 00:00:00')");
+        jdbcTemplate.execute("insert into group_members (group_id, user_id, joined_at) " +
+                "select 1, x, timestamp '2024-12-01 00:00:00' from system_range(1, 4) r(x)");
+        jdbcTemplate.execute("insert into group_members (group_id, user_id, joined_at) " +
+                "values (2, 2, timestamp '2024-12-01 00:00:00')");
+        jdbcTemplate.execute("insert into blocked_users (group_id, blocker_id, blocked_id) values (1, 1, 2)");
+        jdbcTemplate.execute("insert into draws (group_id, giver_id, receiver_id) " +
+                "select 1, x, mod(x, 4) + 1 from system_range(1, 4) r(x)");
+        jdbcTemplate.execute("insert into messages (id, group_id, sender_id, content, is_anonymous, timestamp) " +
+                "select x, 1, 1, 'Mensagem ' || x, true, timestamp '2024-12-02 00:00:00' from system_range(10, 12) r(x)");
+
+        migrate();
+
+        assertThat(jdbcTemplate.queryForList("select group_id, member_count, block_count, message_count, " +
+                "draw_status, message_seq, last_message_id, revision from group_stats order by group_id"))
+                .extracting(row -> Arrays.asList(row.values().toArray()))
+                .containsExactly(
+                        List.of(1L, 4, 1, 3, "DRAWN", 3L, 12L, 0L),
+                        Arrays.asList(2L, 1, 0, 0, "PENDING", 0L, null, 0L));
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private List<String> columns(String table) {
+        return jdbcTemplate.queryForList(
+                "select lower(column_name) from information_schema.columns where lower(table_name) = ?",
+                String.class, table);
+    }
+}
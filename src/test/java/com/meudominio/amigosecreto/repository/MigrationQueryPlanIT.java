@@ -0,0 +1,138 @@
+package com.meudominio.amigosecreto.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplica as migrações num H2 em modo PostgreSQL, com o Hibernate apenas validando o esquema, e
+ * confere pelo EXPLAIN que as consultas quentes dos repositórios são atendidas por um índice cujas
+ * primeiras colunas cobrem o filtro, em vez de varrer a tabela. O H2 indexa sozinho as chaves
+ * estrangeiras, o PostgreSQL não: por isso a V2 cria também os índices de coluna única
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Migrações - Plano das consultas quentes")
+class MigrationQueryPlanIT {
+
+    /** Índice escolhido pelo H2, no comentário que ele põe após a tabela: "public.idx_x: coluna = ..." */
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* public\\.([a-z0-9_]+): ");
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Volume mínimo para o ANALYZE dar seletividade às colunas; com tabelas vazias o H2 não
+     * diferencia os índices pelo custo. Carregado uma vez: o ANALYZE confirma a transação
+     */
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        if (jdbcTemplate.queryForObject("select count(*) from users", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.execute("insert into users (username, email, password, role) " +
+                "select 'usuario' || x, 'usuario' || x || '@email.com', 'senha', 'PARTICIPANT' " +
+                "from system_range(1, 200) r(x)");
+        jdbcTemplate.execute("insert into groups (name, admin_id, created_at) " +
+                "select 'Grupo ' || x, mod(x, 200) + 1, timestamp '2025-01-01 00:00:00' from system_range(1, 20) r(x)");
+        jdbcTemplate.execute("insert into group_members (group_id, user_id, joined_at) " +
+                "select g.x, u.x, timestamp '2025-01-01 00:00:00' from system_range(1, 20) g(x), system_range(1, 50) u(x)");
+        jdbcTemplate.execute("insert into draws (group_id, giver_id, receiver_id) " +
+                "select g.x, u.x, mod(u.x, 50) + 1 from system_range(1, 20) g(x), system_range(1, 50) u(x)");
+        jdbcTemplate.execute("insert into blocked_users (group_id, blocker_id, blocked_id) " +
+                "select g.x, u.x, mod(u.x + 7, 50) + 1 from system_range(1, 20) g(x), system_range(1, 50) u(x)");
+        jdbcTemplate.execute("insert into messages (group_id, sender_id, content, is_anonymous, timestamp) " +
+                "select mod(x, 20) + 1, mod(x, 50) + 1, 'Mensagem ' || x, mod(x, 3) > 0, " +
+                "dateadd('HOUR', x, timestamp '2024-06-01 00:00:00') from system_range(1, 5000) r(x)");
+        jdbcTemplate.execute("insert into message_tombstones (group_id, message_id, deleted_at) " +
+                "select mod(x, 20) + 1, x, timestamp '2025-01-01 00:00:00' from system_range(1, 500) r(x)");
+        jdbcTemplate.execute("insert into message_archives (group_id, first_message_id, last_message_id, " +
+                "message_count, oldest_timestamp, newest_timestamp, payload, archived_at) " +
+                "select mod(x, 20) + 1, x * 100, x * 100 + 99, 100, timestamp '2024-01-01 00:00:00', " +
+                "timestamp '2024-01-02 00:00:00', x'1f8b', timestamp '2025-01-01 00:00:00' from system_range(1, 500) r(x)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @DisplayName("EXPLAIN - deve usar um índice que cobre o filtro sem varrer a tabela")
+    @CsvSource(delimiter = '|', textBlock = """
+            MessageRepository.findLatest | group_id,timestamp | \
+            select id from messages where group_id = 1 order by timestamp desc, id desc limit 51
+            MessageRepository.findBefore | group_id,timestamp | \
+            select id from messages where group_id = 1 and (timestamp < timestamp '2024-09-01 10:00:00' \
+            or (timestamp = timestamp '2024-09-01 10:00:00' and id < 10)) order by timestamp desc, id desc limit 51
+            MessageRepository.findAfter | group_id | \
+            select id from messages where group_id = 1 and id > 10 order by id limit 51
+            MessageRepository.findGroupIdsWithMessagesBefore | timestamp | \
+            select distinct group_id from messages where timestamp < timestamp '2024-06-02 00:00:00'
+            MessageRepository.findBySender | sender_id | \
+            select id from messages where sender_id = 2
+            GroupRepository.findSummariesByMemberUsername | user_id | \
+            select group_id from group_members where user_id = 2
+            GroupRepository.findByAdmin | admin_id | \
+            select id from groups where admin_id = 1
+            GroupMemberRepository.findByGroupIdAndUserId | group_id,user_id | \
+            select id from group_members where group_id = 1 and user_id = 2
+            GroupMemberRepository.findMembersAfter | group_id | \
+            select id from group_members where group_id = 1 and id > 0 order by id limit 51
+            DrawRepository.findViewByGroupIdAndGiverId | group_id,giver_id | \
+            select receiver_id from draws where group_id = 1 and giver_id = 2
+            DrawRepository.findByGroupAndReceiver | group_id,receiver_id | \
+            select giver_id from draws where group_id = 1 and receiver_id = 2
+            DrawRepository.findViewsByGiverUsername | giver_id | \
+            select group_id from draws where giver_id = 2
+            BlockedUserRepository.findByGroupAndBlocker | group_id,blocker_id | \
+            select blocked_id from blocked_users where group_id = 1 and blocker_id = 2
+            BlockedUserRepository.findByGroupAndBlocked | group_id,blocked_id | \
+            select blocker_id from blocked_users where group_id = 1 and blocked_id = 2
+            MessageTombstoneRepository.findAfter | group_id | \
+            select message_id from message_tombstones where group_id = 1 and id > 10 order by id limit 51
+            MessageArchiveRepository.findBefore | group_id | \
+            select id from message_archives where group_id = 1 and first_message_id < 100 \
+            order by last_message_id desc limit 1
+            UserRepository.findIdByUsername | username | \
+            select id from users where username = 'usuario7'
+            """)
+    void explain_deveUsarIndice(String query, String leadingColumns, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+
+        Matcher index = PLAN_INDEX.matcher(plan);
+        assertThat(index.find()).as("%s varre a tabela:%n%s", query, plan).isTrue();
+        assertThat(indexColumns(index.group(1)))
+                .as("índice %s usado por %s", index.group(1), query)
+                .startsWith(leadingColumns.split(","));
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private List<String> indexColumns(String indexName) {
+        return jdbcTemplate.queryForList(
+                "select lower(column_name) from information_schema.index_columns " +
+                "where lower(index_name) = ? order by ordinal_position",
+                String.class, indexName);
+    }
+}
@@ -0,0 +1,111 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.config.SearchConfig;
+import com.meudominio.amigosecreto.dto.projection.MessageContent;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InvertedMessageIndex - Testes Unitários")
+class InvertedMessageIndexTest {
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    private InvertedMessageIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SearchConfig searchConfig = new SearchConfig();
+        searchConfig.setMessageLoadPageSize(2);
+        index = new InvertedMessageIndex(messageRepository, searchConfig);
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated - deve carregar as mensagens em páginas pelo ID")
+    void afterSingletonsInstantiated_deveCarregarEmPaginas() {
+        when(messageRepository.findContentsAfter(0L, PageRequest.of(0, 2))).thenReturn(List.of(
+                new MessageContent(1L, 1L, "Qual o valor do presente?"),
+                new MessageContent(2L, 2L, "Presente comprado")));
+        when(messageRepository.findContentsAfter(2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new MessageContent(3L, 1L, "Já comprei o presente")));
+
+        index.afterSingletonsInstantiated();
+
+        assertThat(index.search(1L, List.of("presente"), Long.MAX_VALUE, 10)).containsExactly(3L, 1L);
+        verify(messageRepository, times(2)).findContentsAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("search - deve exigir todas as palavras sem diferenciar acentos")
+    void search_deveExigirTodasAsPalavras() {
+        sent(1L, 10L, "Vamos fazer a troca no Natal?");
+        sent(1L, 11L, "A troca será na confraternização");
+        sent(1L, 12L, "Confraternização adiada");
+
+        assertThat(index.search(1L, SearchTokenizer.tokenize("confraternizacao TROCA"), Long.MAX_VALUE, 10))
+                .containsExactly(11L);
+        assertThat(index.search(1L, SearchTokenizer.tokenize("troca"), Long.MAX_VALUE, 10))
+                .containsExactly(11L, 10L);
+        assertThat(index.search(1L, SearchTokenizer.tokenize("troca sorteio"), Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search - deve paginar pelo ID da última mensagem e isolar os grupos")
+    void search_devePaginarPeloId() {
+        for (long id = 1; id <= 5; id++) {
+            sent(1L, id, "lembrete " + id);
+        }
+        sent(2L, 6L, "lembrete de outro grupo");
+
+        assertThat(index.search(1L, List.of("lembrete"), Long.MAX_VALUE, 2)).containsExactly(5L, 4L);
+        assertThat(index.search(1L, List.of("lembrete"), 4L, 2)).containsExactly(3L, 2L);
+        assertThat(index.search(1L, List.of("lembrete"), 2L, 2)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("onMessageDeleted - deve tirar a mensagem excluída dos resultados")
+    void onMessageDeleted_deveRemoverDosResultados() {
+        sent(1L, 10L, "sorteio hoje");
+        sent(1L, 11L, "sorteio amanhã");
+
+        index.onMessageDeleted(new MessageDeletedEvent(1L, 11L));
+
+        assertThat(index.search(1L, List.of("sorteio"), Long.MAX_VALUE, 10)).containsExactly(10L);
+    }
+
+    @Test
+    @DisplayName("onGroupDeleted - deve descartar o grupo e ignorar mensagens tardias dele")
+    void onGroupDeleted_deveDescartarGrupo() {
+        sent(1L, 10L, "sorteio hoje");
+
+        index.onGroupDeleted(new GroupDeletedEvent(1L));
+        sent(1L, 11L, "sorteio atrasado");
+
+        assertThat(index.search(1L, List.of("sorteio"), Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private void sent(Long groupId, Long messageId, String content) {
+        MessageResponse message = MessageResponse.builder().id(messageId).groupId(groupId).content(content).build();
+        index.onMessageSent(new MessageSentEvent(groupId, message));
+    }
+}
@@ -0,0 +1,153 @@
+package com.meudominio.amigosecreto.search;
+
+import com.meudominio.amigosecreto.config.SearchConfig;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.event.GroupCreatedEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NgramGroupIndex - Testes Unitários")
+class NgramGroupIndexTest {
+
+    private static final Long USER_ID = 7L;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    private NgramGroupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        SearchConfig searchConfig = new SearchConfig();
+        searchConfig.setNgramLoadPageSize(2);
+        index = new NgramGroupIndex(groupRepository, groupMemberRepository, searchConfig);
+    }
+
+    @Test
+    @DisplayName("afterSingletonsInstantiated - deve carregar os grupos em páginas pelo ID")
+    void afterSingletonsInstantiated_deveCarregarEmPaginas() {
+        when(groupRepository.findMatchesAfter(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new GroupMatch(1L, "Natal"), new GroupMatch(2L, "Trabalho")));
+        when(groupRepository.findMatchesAfter(2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new GroupMatch(5L, "Família")));
+
+        index.afterSingletonsInstantiated();
+        memberOf(1L, 2L, 5L);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(USER_ID, "míl", 10)).extracting(GroupMatch::id).containsExactly(5L);
+        verify(groupRepository, times(2)).findMatchesAfter(any(), any());
+    }
+
+    @Test
+    @DisplayName("search - deve achar prefixo e trecho do meio com os prefixos primeiro")
+    void search_deveOrdenarPrefixosPrimeiro() {
+        created(1L, "Amigo Secreto da Firma");
+        created(2L, "Natal do Amigo");
+        created(3L, "amigos");
+        created(4L, "Churrasco");
+        memberOf(1L, 2L, 3L, 4L);
+
+        List<GroupMatch> results = index.search(USER_ID, "amigo", 10);
+
+        assertThat(results).extracting(GroupMatch::id).containsExactly(3L, 1L, 2L);
+        assertThat(results.get(0).name()).isEqualTo("amigos");
+    }
+
+    @Test
+    @DisplayName("search - deve respeitar o limite mantendo os mais relevantes")
+    void search_deveRespeitarLimite() {
+        for (long id = 1; id <= 100; id++) {
+            created(id, "Grupo de teste " + id);
+        }
+        created(500L, "teste");
+        memberOf(allIds(1, 100, 500L));
+
+        List<GroupMatch> results = index.search(USER_ID, "teste", 3);
+
+        assertThat(results).extracting(GroupMatch::id).containsExactly(500L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("search - não deve retornar candidatos que só compartilham trigramas")
+    void search_deveConfirmarOTrecho() {
+        created(1L, "abcxbcd");
+        memberOf(1L);
+
+        assertThat(index.search(USER_ID, "abcd", 10)).isEmpty();
+        assertThat(index.search(USER_ID, "bcd", 10)).extracting(GroupMatch::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("onGroupDeleted - deve remover o grupo e impedir que a carga o reinsira")
+    void onGroupDeleted_deveRemoverGrupo() {
+        created(1L, "Natal");
+        created(2L, "Natal da Família");
+
+        index.onGroupDeleted(new GroupDeletedEvent(1L));
+        index.onGroupDeleted(new GroupDeletedEvent(3L));
+        created(3L, "Natal antigo");
+        memberOf(1L, 2L, 3L);
+
+        assertThat(index.search(USER_ID, "natal", 10)).extracting(GroupMatch::id).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("search - deve retornar apenas grupos de que o usuário é membro")
+    void search_deveRestringirAosGruposDoUsuario() {
+        for (long id = 1; id <= 50; id++) {
+            created(id, "Amigo Secreto " + id);
+        }
+        created(60L, "Amigo da Família");
+
+        memberOf(60L, 7L, 999L);
+        assertThat(index.search(USER_ID, "amigo", 10)).extracting(GroupMatch::id).containsExactly(7L, 60L);
+
+        memberOf(allIds(1, 40));
+        assertThat(index.search(USER_ID, "família", 10)).isEmpty();
+        assertThat(index.search(USER_ID, "secreto 4", 10)).extracting(GroupMatch::id).containsExactly(4L, 40L);
+
+        memberOf();
+        assertThat(index.search(USER_ID, "amigo", 10)).isEmpty();
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private void created(Long id, String name) {
+        index.onGroupCreated(new GroupCreatedEvent(id, name));
+    }
+
+    private void memberOf(Long... groupIds) {
+        when(groupMemberRepository.findGroupIdsByUserId(USER_ID)).thenReturn(List.of(groupIds));
+    }
+
+    private static Long[] allIds(long from, long to, Long... extra) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = from; id <= to; id++) {
+            ids.add(id);
+        }
+        ids.addAll(List.of(extra));
+        return ids.toArray(Long[]::new);
+    }
+}
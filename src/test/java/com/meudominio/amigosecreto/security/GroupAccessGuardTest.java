@@ -0,0 +1,145 @@
+package com.meudominio.amigosecreto.security;
+
+import com.meudominio.amigosecreto.cache.MembershipCache;
+import com.meudominio.amigosecreto.config.MembershipConfig;
+import com.meudominio.amigosecreto.dto.projection.GroupAdmin;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupAccessGuard - Testes Unitários")
+class GroupAccessGuardTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MembershipCache membershipCache;
+
+    @InjectMocks
+    private GroupAccessGuard groupAccessGuard;
+
+    // ========================
+    // ADMINISTRADOR
+    // ========================
+
+    @Test
+    @DisplayName("requireAdmin - deve retornar o ID do administrador")
+    void requireAdmin_deveRetornarIdDoAdmin() {
+        when(groupRepository.findAdminById(1L)).thenReturn(Optional.of(new GroupAdmin(7L, "admin")));
+
+        assertThat(groupAccessGuard.requireAdmin(1L, "admin", "negado")).isEqualTo(7L);
+
+        verifyNoInteractions(userRepository, membershipCache);
+    }
+
+    @Test
+    @DisplayName("requireAdmin - deve lançar exceção quando o usuário não é o administrador")
+    void requireAdmin_deveLancarExcecaoQuandoNaoEhAdmin() {
+        when(groupRepository.findAdminById(1L)).thenReturn(Optional.of(new GroupAdmin(7L, "admin")));
+
+        assertThatThrownBy(() -> groupAccessGuard.requireAdmin(1L, "membro", "negado"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("negado");
+    }
+
+    @Test
+    @DisplayName("requireAdmin - deve lançar exceção quando o grupo não existe")
+    void requireAdmin_deveLancarExcecaoQuandoGrupoNaoExiste() {
+        when(groupRepository.findAdminById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> groupAccessGuard.requireAdmin(1L, "admin", "negado"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Grupo não encontrado");
+    }
+
+    // ========================
+    // MEMBRO
+    // ========================
+
+    @Test
+    @DisplayName("requireMember - deve resolver o membro com uma única consulta sem o cache")
+    void requireMember_deveUsarConsultaUnicaSemCache() {
+        when(groupMemberRepository.findUserIdByGroupIdAndUsername(1L, "membro")).thenReturn(Optional.of(2L));
+
+        assertThat(groupAccessGuard.requireMember(1L, "membro", "negado")).isEqualTo(2L);
+
+        verify(groupRepository, never()).existsById(any());
+        verify(membershipCache, never()).findUserId(any());
+    }
+
+    @Test
+    @DisplayName("requireMember - deve resolver usuário e membro pelo cache quando ativo")
+    void requireMember_deveUsarCacheQuandoAtivo() {
+        when(membershipCache.isEnabled()).thenReturn(true);
+        when(membershipCache.findUserId("membro")).thenReturn(Optional.of(2L));
+        when(membershipCache.isMember(1L, 2L)).thenReturn(true);
+
+        assertThat(groupAccessGuard.requireMember(1L, "membro", "negado")).isEqualTo(2L);
+
+        verifyNoInteractions(groupMemberRepository, groupRepository, userRepository);
+    }
+
+    @Test
+    @DisplayName("requireMember - acerto no cache não deve fazer nenhuma consulta")
+    void requireMember_acertoNoCacheNaoDeveConsultarORepositorio() {
+        MembershipConfig membershipConfig = new MembershipConfig();
+        membershipConfig.setCacheEnabled(true);
+        GroupAccessGuard cached = new GroupAccessGuard(groupRepository, groupMemberRepository,
+                new MembershipCache(groupMemberRepository, userRepository, membershipConfig));
+        when(userRepository.findIdByUsername("membro")).thenReturn(Optional.of(2L));
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(2L, 3L));
+        cached.requireMember(1L, "membro", "negado");
+        clearInvocations(userRepository, groupMemberRepository);
+
+        assertThat(cached.requireMember(1L, "membro", "negado")).isEqualTo(2L);
+
+        verifyNoInteractions(userRepository, groupMemberRepository, groupRepository);
+    }
+
+    @Test
+    @DisplayName("requireMember - deve lançar 403 quando o grupo existe e o usuário não é membro")
+    void requireMember_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupMemberRepository.findUserIdByGroupIdAndUsername(1L, "outro")).thenReturn(Optional.empty());
+        when(groupRepository.existsById(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> groupAccessGuard.requireMember(1L, "outro", "negado"))
+                .isInstanceOf(UnauthorizedException.class)
+                .hasMessage("negado");
+    }
+
+    @Test
+    @DisplayName("requireMember - deve lançar 404 quando o grupo não existe")
+    void requireMember_deveLancarExcecaoQuandoGrupoNaoExiste() {
+        when(membershipCache.isEnabled()).thenReturn(true);
+        when(membershipCache.findUserId("membro")).thenReturn(Optional.of(2L));
+        when(membershipCache.isMember(1L, 2L)).thenReturn(false);
+        when(groupRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> groupAccessGuard.requireMember(1L, "membro", "negado"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Grupo não encontrado");
+    }
+}
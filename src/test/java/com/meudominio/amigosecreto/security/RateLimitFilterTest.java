@@ -0,0 +1,97 @@
+package com.meudominio.amigosecreto.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.security.RateLimiter.Category;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter - Testes Unitários")
+class RateLimitFilterTest {
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("doFilter - deve responder 429 com Retry-After quando o usuário excede o limite")
+    void doFilter_deveResponder429() throws Exception {
+        authenticate("ana");
+        when(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).thenReturn(1500L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter().doFilter(request("POST", "/api/messages"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Muitas requisições");
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("doFilter - deve seguir a cadeia dentro do limite")
+    void doFilter_deveSeguirDentroDoLimite() throws Exception {
+        authenticate("ana");
+        when(rateLimiter.tryAcquire(Category.DRAWS, "ana")).thenReturn(0L);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter().doFilter(request("POST", "/api/groups/7/draw"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("doFilter - não deve limitar outras rotas nem requisições sem usuário")
+    void doFilter_naoDeveLimitarOutrasRotas() throws Exception {
+        authenticate("ana");
+        filter().doFilter(request("GET", "/api/messages/group/7"), new MockHttpServletResponse(), new MockFilterChain());
+        filter().doFilter(request("GET", "/api/groups/7/draw/all"), new MockHttpServletResponse(), new MockFilterChain());
+
+        SecurityContextHolder.clearContext();
+        MockFilterChain chain = new MockFilterChain();
+        filter().doFilter(request("POST", "/api/messages"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        verify(rateLimiter, never()).tryAcquire(any(), any());
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private RateLimitFilter filter() {
+        return new RateLimitFilter(rateLimiter, new ObjectMapper().findAndRegisterModules());
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,141 @@
+package com.meudominio.amigosecreto.security;
+
+import com.meudominio.amigosecreto.config.RateLimitConfig;
+import com.meudominio.amigosecreto.security.RateLimiter.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimiter - Testes Unitários")
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private long now = 5_000L;
+
+    private RateLimitConfig rateLimitConfig;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitConfig = new RateLimitConfig();
+        rateLimitConfig.setMessageCapacity(3);
+        rateLimitConfig.setMessageRefillPerMinute(60);
+        rateLimitConfig.setDrawCapacity(1);
+        rateLimitConfig.setDrawRefillPerMinute(2);
+        rateLimiter = new RateLimiter(rateLimitConfig, meterRegistry, () -> now);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - deve liberar a rajada e recusar informando a espera até o próximo token")
+    void tryAcquire_deveLiberarRajadaERecusar() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isZero();
+        }
+
+        assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isEqualTo(1000L);
+
+        now += 400;
+        assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isEqualTo(600L);
+        now += 600;
+        assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isZero();
+
+        assertThat(requests("allowed")).isEqualTo(4);
+        assertThat(requests("rejected")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - deve isolar usuários e categorias")
+    void tryAcquire_deveIsolarUsuariosECategorias() {
+        assertThat(rateLimiter.tryAcquire(Category.DRAWS, "ana")).isZero();
+        assertThat(rateLimiter.tryAcquire(Category.DRAWS, "ana")).isEqualTo(30_000L);
+
+        assertThat(rateLimiter.tryAcquire(Category.DRAWS, "bia")).isZero();
+        assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire - não deve acumular além da capacidade")
+    void tryAcquire_naoDeveAcumularAlemDaCapacidade() {
+        rateLimiter.tryAcquire(Category.MESSAGES, "ana");
+        now += 3_600_000;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(Category.MESSAGES, "ana")).isPositive();
+    }
+
+    @Test
+    @DisplayName("tryAcquire - não deve liberar mais que a capacidade sob concorrência")
+    void tryAcquire_deveRespeitarCapacidadeSobConcorrencia() throws InterruptedException {
+        rateLimitConfig.setMessageCapacity(100);
+        rateLimiter = new RateLimiter(rateLimitConfig, new SimpleMeterRegistry(), () -> now);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (rateLimiter.tryAcquire(Category.MESSAGES, "ana") == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("evictIdle - deve descartar apenas os baldes que já recarregaram")
+    void evictIdle_deveDescartarBaldesCheios() {
+        rateLimiter.tryAcquire(Category.MESSAGES, "ana");
+        now += 500;
+        rateLimiter.tryAcquire(Category.MESSAGES, "bia");
+        now += 600;
+
+        rateLimiter.evictIdle();
+
+        assertThat(rateLimiter.trackedUsers(Category.MESSAGES)).isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limit.buckets").tag("category", "MESSAGES").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - não deve limitar quando desativado")
+    void tryAcquire_naoDeveLimitarQuandoDesativado() {
+        rateLimitConfig.setEnabled(false);
+        rateLimiter = new RateLimiter(rateLimitConfig, new SimpleMeterRegistry(), () -> now);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire(Category.DRAWS, "ana")).isZero();
+        }
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private double requests(String result) {
+        return meterRegistry.get("rate.limit.requests")
+                .tag("category", Category.MESSAGES.name())
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,81 @@
+package com.meudominio.amigosecreto.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DrawFeasibility - Testes Unitários")
+class DrawFeasibilityTest {
+
+    @Test
+    @DisplayName("isProvablyInfeasible - não deve rejeitar grupo sem bloqueios")
+    void isProvablyInfeasible_naoDeveRejeitarSemBloqueios() {
+        assertThat(new DrawFeasibility(3).isProvablyInfeasible()).isFalse();
+    }
+
+    @Test
+    @DisplayName("isProvablyInfeasible - deve rejeitar quando alguém não pode tirar ninguém")
+    void isProvablyInfeasible_deveRejeitarDoadorSemOpcoes() {
+        DrawFeasibility feasibility = new DrawFeasibility(3)
+                .block(0, 1)
+                .block(0, 2);
+
+        assertThat(feasibility.isProvablyInfeasible()).isTrue();
+    }
+
+    @Test
+    @DisplayName("isProvablyInfeasible - deve rejeitar quando dois participantes só podem tirar a mesma pessoa")
+    void isProvablyInfeasible_deveRejeitarViolacaoDeHall() {
+        // 1 e 2 só podem tirar 0: não há sorteado distinto para cada um
+        DrawFeasibility feasibility = new DrawFeasibility(4)
+                .block(1, 2).block(1, 3)
+                .block(2, 1).block(2, 3);
+
+        assertThat(feasibility.isProvablyInfeasible()).isTrue();
+    }
+
+    @Test
+    @DisplayName("isProvablyInfeasible - deve rejeitar grafo partido em dois grupos sem ligação")
+    void isProvablyInfeasible_deveRejeitarGrafoDesconexo() {
+        // {0, 1} e {2, 3} só se tiram entre si: há emparelhamento, mas não um ciclo único
+        DrawFeasibility feasibility = new DrawFeasibility(4)
+                .block(0, 2).block(0, 3)
+                .block(1, 2).block(1, 3)
+                .block(2, 0).block(2, 1)
+                .block(3, 0).block(3, 1);
+
+        assertThat(feasibility.isProvablyInfeasible()).isTrue();
+    }
+
+    @Test
+    @DisplayName("isProvablyInfeasible - não deve rejeitar quando o único ciclo possível exige caminho aumentante")
+    void isProvablyInfeasible_naoDeveRejeitarCicloUnicoComCaminhoAumentante() {
+        int n = 200;
+        DrawFeasibility feasibility = new DrawFeasibility(n);
+        // Único ciclo permitido: i -> i - 1; o palpite inicial i -> i + 1 falha para todos
+        for (int giver = 0; giver < n; giver++) {
+            for (int receiver = 0; receiver < n; receiver++) {
+                if (receiver != giver && receiver != (giver - 1 + n) % n) {
+                    feasibility.block(giver, receiver);
+                }
+            }
+        }
+
+        assertThat(feasibility.isProvablyInfeasible()).isFalse();
+    }
+
+    @Test
+    @DisplayName("isProvablyInfeasible - deve dar sempre a mesma resposta para o mesmo conjunto de bloqueios")
+    void isProvablyInfeasible_deveSerDeterministico() {
+        int n = 1000;
+        DrawFeasibility feasibility = new DrawFeasibility(n);
+        for (int giver = 0; giver < n; giver++) {
+            feasibility.block(giver, (giver + 1) % n).block(giver, (giver + 7) % n);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(feasibility.isProvablyInfeasible()).isFalse();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.config.DrawConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DrawOptimizer - Testes Unitários")
+class DrawOptimizerTest {
+
+    private DrawConfig drawConfig;
+    private DrawOptimizer drawOptimizer;
+
+    @BeforeEach
+    void setUp() {
+        drawConfig = new DrawConfig();
+        drawConfig.setOptimizerTimeBudgetMs(500);
+        drawOptimizer = new DrawOptimizer(drawConfig);
+    }
+
+    @Test
+    @DisplayName("optimize - deve retornar um ciclo que é permutação de todos os participantes")
+    void optimize_deveRetornarPermutacao() {
+        DrawOptimizer.Result result = drawOptimizer.optimize(new DrawOptimizer.Constraints(10), new Random(1));
+
+        int[] sorted = result.order().clone();
+        Arrays.sort(sorted);
+
+        assertThat(sorted).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(result.softPenalty()).isZero();
+        assertThat(result.hardViolations()).isZero();
+    }
+
+    @Test
+    @DisplayName("optimize - deve respeitar bloqueios e zerar penalidade quando existe solução perfeita")
+    void optimize_deveRespeitarBloqueiosEZerarPenalidade() {
+        int n = 6;
+        DrawOptimizer.Constraints constraints = new DrawOptimizer.Constraints(n);
+        // Único ciclo sem penalidade: 0 -> 1 -> 2 -> 3 -> 4 -> 5 -> 0
+        for (int giver = 0; giver < n; giver++) {
+            for (int receiver = 0; receiver < n; receiver++) {
+                if (receiver != giver && receiver != (giver + 1) % n) {
+                    if (giver % 2 == 0) {
+                        constraints.block(giver, receiver);
+                    } else {
+                        constraints.prefer(giver, receiver, 50);
+                    }
+                }
+            }
+        }
+
+        DrawOptimizer.Result result = drawOptimizer.optimize(constraints, new Random(42));
+
+        assertThat(result.hardViolations()).isZero();
+        assertThat(result.softPenalty()).isZero();
+        int[] order = result.order();
+        for (int i = 0; i < n; i++) {
+            assertThat(order[(i + 1) % n]).isEqualTo((order[i] + 1) % n);
+        }
+    }
+
+    @Test
+    @DisplayName("optimize - deve preferir pares com menor peso quando não há solução sem penalidade")
+    void optimize_deveMinimizarPenalidadeTotal() {
+        int n = 3;
+        DrawOptimizer.Constraints constraints = new DrawOptimizer.Constraints(n);
+        // Ciclo 0->1->2->0 custa 100; ciclo 0->2->1->0 custa 1
+        constraints.prefer(0, 1, 100);
+        constraints.prefer(0, 2, 1);
+
+        DrawOptimizer.Result result = drawOptimizer.optimize(constraints, new Random(7));
+
+        assertThat(result.softPenalty()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("optimize - deve reportar violações quando bloqueios tornam o sorteio impossível")
+    void optimize_deveReportarViolacoesQuandoImpossivel() {
+        drawConfig.setOptimizerTimeBudgetMs(50);
+        DrawOptimizer.Constraints constraints = new DrawOptimizer.Constraints(3)
+                .block(0, 1)
+                .block(0, 2);
+
+        DrawOptimizer.Result result = drawOptimizer.optimize(constraints, new Random(3));
+
+        assertThat(result.hardViolations()).isPositive();
+    }
+
+    @Test
+    @DisplayName("optimize - deve respeitar o orçamento de tempo com milhares de participantes")
+    void optimize_deveRespeitarOrcamentoDeTempo() {
+        int n = 5000;
+        drawConfig.setOptimizerTimeBudgetMs(200);
+        DrawOptimizer.Constraints constraints = new DrawOptimizer.Constraints(n);
+        Random setup = new Random(11);
+        for (int i = 0; i < n * 3; i++) {
+            int giver = setup.nextInt(n);
+            int other = setup.nextInt(n);
+            if (giver != other) {
+                constraints.prefer(giver, other, 1 + setup.nextInt(100));
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        DrawOptimizer.Result result = drawOptimizer.optimize(constraints, new Random(5));
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(result.order()).hasSize(n);
+        assertThat(elapsed).isLessThan(2000);
+    }
+}
@@ -1,12 +1,20 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.cache.DrawIndex;
+import com.meudominio.amigosecreto.dto.projection.DrawListVersion;
+import com.meudominio.amigosecreto.dto.projection.DrawView;
 import com.meudominio.amigosecreto.dto.response.DrawResponse;
+import com.meudominio.amigosecreto.event.DrawExecutedEvent;
+import com.meudominio.amigosecreto.event.DrawResetEvent;
 import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.exception.UnauthorizedException;
 import com.meudominio.amigosecreto.model.*;
+import com.meudominio.amigosecreto.model.enums.DrawMode;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
 import com.meudominio.amigosecreto.model.enums.Role;
 import com.meudominio.amigosecreto.repository.*;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +22,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,6 +33,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,15 +46,30 @@ class DrawServiceTest {
     @Mock
     private GroupRepository groupRepository;
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private GroupMemberRepository groupMemberRepository;
 
     @Mock
     private BlockedUserRepository blockedUserRepository;
 
+    @Mock
+    private SoftPreferenceRepository softPreferenceRepository;
+
+    @Mock
+    private DrawOptimizer drawOptimizer;
+
+    @Mock
+    private DrawIndex drawIndex;
+
+    @Mock
+    private GroupAccessGuard groupAccessGuard;
+
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DrawService drawService;
 
@@ -86,7 +111,6 @@ class DrawServiceTest {
 
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
         when(drawRepository.existsByGroup(group)).thenReturn(false);
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(groupMemberRepository.findByGroup(group)).thenReturn(members);
         when(blockedUserRepository.findByGroup(group)).thenReturn(List.of());
         when(drawRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
@@ -95,6 +119,57 @@ class DrawServiceTest {
 
         assertThat(results).hasSize(4);
         verify(drawRepository).saveAll(anyList());
+        verify(groupStatsRepository).updateDrawStatus(1L, DrawStatus.DRAWN);
+        verify(eventPublisher).publishEvent(any(DrawExecutedEvent.class));
+    }
+
+    @Test
+    @DisplayName("executeDraw - modo otimizado deve montar o ciclo na ordem retornada pelo otimizador")
+    void executeDraw_modoOtimizadoDeveUsarOrdemDoOtimizador() {
+        List<GroupMember> members = List.of(
+                buildMember(admin),
+                buildMember(user1),
+                buildMember(user2)
+        );
+        SoftPreference preference = SoftPreference.builder()
+                .group(group).user(admin).avoided(user1).weight(50).build();
+
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(drawRepository.existsByGroup(group)).thenReturn(false);
+        when(groupMemberRepository.findByGroup(group)).thenReturn(members);
+        when(blockedUserRepository.findByGroup(group)).thenReturn(List.of());
+        when(softPreferenceRepository.findByGroup(group)).thenReturn(List.of(preference));
+        when(drawOptimizer.optimize(any(), any()))
+                .thenReturn(new DrawOptimizer.Result(new int[]{0, 2, 1}, 0, 0, 10));
+
+        List<DrawResponse> results = drawService.executeDraw(1L, "admin", DrawMode.OPTIMIZED);
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).getGiverUsername()).isEqualTo("admin");
+        assertThat(results.get(0).getReceiverUsername()).isEqualTo("user2");
+    }
+
+    @Test
+    @DisplayName("executeDraw - modo otimizado deve lançar exceção quando bloqueios não podem ser respeitados")
+    void executeDraw_modoOtimizadoDeveLancarExcecaoComViolacoes() {
+        List<GroupMember> members = List.of(
+                buildMember(admin),
+                buildMember(user1),
+                buildMember(user2)
+        );
+
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(drawRepository.existsByGroup(group)).thenReturn(false);
+        when(groupMemberRepository.findByGroup(group)).thenReturn(members);
+        when(blockedUserRepository.findByGroup(group)).thenReturn(List.of());
+        when(softPreferenceRepository.findByGroup(group)).thenReturn(List.of());
+        when(drawOptimizer.optimize(any(), any()))
+                .thenReturn(new DrawOptimizer.Result(new int[]{0, 1, 2}, 0, 1, 10));
+
+        assertThatThrownBy(() -> drawService.executeDraw(1L, "admin", DrawMode.OPTIMIZED))
+                .isInstanceOf(BusinessException.class);
+
+        verify(drawRepository, never()).saveAll(any());
     }
 
     @Test
@@ -113,13 +188,13 @@ class DrawServiceTest {
     @Test
     @DisplayName("executeDraw - deve lançar exceção quando não é admin")
     void executeDraw_deveLancarExcecaoQuandoNaoEhAdmin() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(drawRepository.existsByGroup(group)).thenReturn(false);
-        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("user1"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode executar o sorteio"));
 
         assertThatThrownBy(() -> drawService.executeDraw(1L, "user1"))
                 .isInstanceOf(UnauthorizedException.class);
 
+        verify(groupRepository, never()).findById(any());
         verify(drawRepository, never()).saveAll(any());
     }
 
@@ -133,7 +208,6 @@ class DrawServiceTest {
 
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
         when(drawRepository.existsByGroup(group)).thenReturn(false);
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(groupMemberRepository.findByGroup(group)).thenReturn(members);
 
         assertThatThrownBy(() -> drawService.executeDraw(1L, "admin"))
@@ -157,48 +231,88 @@ class DrawServiceTest {
     @Test
     @DisplayName("getMyDraw - deve retornar resultado do sorteio do usuário")
     void getMyDraw_deveRetornarResultadoDoSorteio() {
-        Draw draw = Draw.builder()
-                .id(1L)
-                .group(group)
-                .giver(admin)
-                .receiver(user1)
-                .build();
+        DrawView draw = new DrawView(1L, 1L, "Amigo Secreto 2025", "admin", "user1", 2L);
 
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(groupMemberRepository.existsByGroupAndUser(group, admin)).thenReturn(true);
-        when(drawRepository.findByGroupAndGiver(group, admin)).thenReturn(Optional.of(draw));
+        when(drawIndex.epoch()).thenReturn(5L);
+        when(groupAccessGuard.requireMember(eq(1L), eq("admin"), any())).thenReturn(1L);
+        when(drawRepository.findViewByGroupIdAndGiverId(1L, 1L)).thenReturn(Optional.of(draw));
 
         DrawResponse response = drawService.getMyDraw(1L, "admin");
 
         assertThat(response).isNotNull();
         assertThat(response.getGiverUsername()).isEqualTo("admin");
         assertThat(response.getReceiverUsername()).isEqualTo("user1");
+        verify(drawIndex).put(5L, 1L, "Amigo Secreto 2025", 1L, 1L, 2L, "user1");
+    }
+
+    @Test
+    @DisplayName("getMyDraw - deve responder pelo índice em memória após a checagem de membro")
+    void getMyDraw_deveResponderPeloIndice() {
+        DrawResponse indexed = DrawResponse.builder()
+                .id(1L).groupId(1L).groupName("Amigo Secreto 2025")
+                .giverUsername("admin").receiverUsername("user1")
+                .build();
+        when(groupAccessGuard.requireMember(eq(1L), eq("admin"), any())).thenReturn(1L);
+        when(drawIndex.find(1L, 1L, "admin")).thenReturn(indexed);
+
+        DrawResponse response = drawService.getMyDraw(1L, "admin");
+
+        assertThat(response).isSameAs(indexed);
+        verifyNoInteractions(groupRepository, groupMemberRepository, drawRepository);
     }
 
     @Test
     @DisplayName("getMyDraw - deve lançar exceção quando usuário não é membro")
     void getMyDraw_deveLancarExcecaoQuandoNaoEhMembro() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-        when(groupMemberRepository.existsByGroupAndUser(group, user1)).thenReturn(false);
+        when(groupAccessGuard.requireMember(eq(1L), eq("user1"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
 
         assertThatThrownBy(() -> drawService.getMyDraw(1L, "user1"))
                 .isInstanceOf(UnauthorizedException.class);
+        verify(drawIndex, never()).find(any(), any(), any());
     }
 
     @Test
     @DisplayName("getMyDraw - deve lançar exceção quando sorteio não foi realizado")
     void getMyDraw_deveLancarExcecaoQuandoSorteioNaoFoiRealizado() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(groupMemberRepository.existsByGroupAndUser(group, admin)).thenReturn(true);
-        when(drawRepository.findByGroupAndGiver(group, admin)).thenReturn(Optional.empty());
+        when(groupAccessGuard.requireMember(eq(1L), eq("admin"), any())).thenReturn(1L);
+        when(drawRepository.findViewByGroupIdAndGiverId(1L, 1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> drawService.getMyDraw(1L, "admin"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
+    @Test
+    @DisplayName("getMyDraws - deve retornar os sorteios do usuário em todos os grupos")
+    void getMyDraws_deveRetornarSorteiosDeTodosOsGrupos() {
+        when(drawRepository.findViewsByGiverUsername("user1")).thenReturn(List.of(
+                new DrawView(10L, 1L, "Amigo Secreto 2025", "user1", "user2", 3L),
+                new DrawView(20L, 2L, "Família", "user1", "admin", 1L)
+        ));
+
+        List<DrawResponse> results = drawService.getMyDraws("user1");
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(1).getGroupName()).isEqualTo("Família");
+        assertThat(results.get(1).getReceiverUsername()).isEqualTo("admin");
+        verifyNoInteractions(groupRepository, groupAccessGuard, groupMemberRepository);
+    }
+
+    @Test
+    @DisplayName("getMyDrawsETag - deve mudar com os sorteios sem montar a lista")
+    void getMyDrawsETag_deveMudarComOsSorteiosSemMontarALista() {
+        when(drawRepository.findListVersionByGiverUsername("user1"))
+                .thenReturn(new DrawListVersion(2L, 30L, 20L))
+                .thenReturn(new DrawListVersion(2L, 30L, 20L))
+                .thenReturn(new DrawListVersion(2L, 70L, 40L));
+
+        String first = drawService.getMyDrawsETag("user1");
+
+        assertThat(drawService.getMyDrawsETag("user1")).isEqualTo(first);
+        assertThat(drawService.getMyDrawsETag("user1")).isNotEqualTo(first);
+        verify(drawRepository, never()).findViewsByGiverUsername(any());
+    }
+
     // ========================
     // OBTER TODOS OS SORTEIOS
     // ========================
@@ -209,20 +323,21 @@ class DrawServiceTest {
         Draw draw1 = Draw.builder().id(1L).group(group).giver(admin).receiver(user1).build();
         Draw draw2 = Draw.builder().id(2L).group(group).giver(user1).receiver(user2).build();
 
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(groupRepository.getReferenceById(1L)).thenReturn(group);
         when(drawRepository.findByGroup(group)).thenReturn(List.of(draw1, draw2));
 
         List<DrawResponse> results = drawService.getAllDraws(1L, "admin");
 
         assertThat(results).hasSize(2);
+        verify(groupAccessGuard).requireAdmin(eq(1L), eq("admin"), any());
+        verify(groupRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("getAllDraws - deve lançar exceção quando não é admin")
     void getAllDraws_deveLancarExcecaoQuandoNaoEhAdmin() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("user1"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode ver todos os sorteios"));
 
         assertThatThrownBy(() -> drawService.getAllDraws(1L, "user1"))
                 .isInstanceOf(UnauthorizedException.class);
@@ -235,24 +350,24 @@ class DrawServiceTest {
     @Test
     @DisplayName("resetDraw - deve resetar sorteio com sucesso")
     void resetDraw_deveResetarSorteioComSucesso() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-
         drawService.resetDraw(1L, "admin");
 
-        verify(drawRepository).deleteByGroup(group);
+        verify(groupAccessGuard).requireAdmin(eq(1L), eq("admin"), any());
+        verify(drawRepository).deleteAllByGroupId(1L);
+        verify(groupStatsRepository).updateDrawStatus(1L, DrawStatus.PENDING);
+        verify(eventPublisher).publishEvent(new DrawResetEvent(1L));
     }
 
     @Test
     @DisplayName("resetDraw - deve lançar exceção quando não é admin")
     void resetDraw_deveLancarExcecaoQuandoNaoEhAdmin() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("user1"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode resetar o sorteio"));
 
         assertThatThrownBy(() -> drawService.resetDraw(1L, "user1"))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(drawRepository, never()).deleteByGroup(any());
+        verify(drawRepository, never()).deleteAllByGroupId(any());
     }
 
     // ========================
@@ -0,0 +1,175 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.dto.projection.IdPair;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse.Problem;
+import com.meudominio.amigosecreto.dto.response.DrawVerificationResponse.Status;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.repository.BlockedUserRepository;
+import com.meudominio.amigosecreto.repository.DrawRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DrawVerificationService - Testes Unitários")
+class DrawVerificationServiceTest {
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private DrawRepository drawRepository;
+
+    @Mock
+    private BlockedUserRepository blockedUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DrawVerificationService drawVerificationService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        drawVerificationService = new DrawVerificationService(
+                groupRepository, groupMemberRepository, drawRepository, blockedUserRepository, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("verify - deve aprovar um ciclo único e sem bloqueios")
+    void verify_deveAprovarCicloValido() {
+        givenMembers(10L, 20L, 30L, 40L);
+        givenDraws(pair(10L, 20L), pair(20L, 30L), pair(30L, 40L), pair(40L, 10L));
+        givenBlocks(pair(10L, 30L));
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.VALID);
+        assertThat(result.getDraws()).isEqualTo(4);
+        assertThat(result.getProblems()).isEmpty();
+        assertThat(meterRegistry.counter("draw.verification", "status", "VALID").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("verify - deve aprovar um ciclo grande com IDs esparsos")
+    void verify_deveAprovarCicloGrandeComIdsEsparsos() {
+        int n = 1000;
+        Long[] ids = new Long[n];
+        IdPair[] draws = new IdPair[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = 1_000_003L * (i + 1);
+        }
+        for (int i = 0; i < n; i++) {
+            draws[i] = pair(ids[i], ids[(i + 1) % n]);
+        }
+        givenMembers(ids);
+        givenDraws(draws);
+        givenBlocks(pair(ids[0], ids[2]));
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.VALID);
+        assertThat(result.getParticipants()).isEqualTo(n);
+        assertThat(result.getProblems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("verify - deve detectar dois ciclos separados")
+    void verify_deveDetectarMultiplosCiclos() {
+        givenMembers(1L, 2L, 3L, 4L);
+        givenDraws(pair(1L, 2L), pair(2L, 1L), pair(3L, 4L), pair(4L, 3L));
+        givenBlocks();
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.INVALID);
+        assertThat(result.getProblems()).containsKey(Problem.MULTIPLE_CYCLES);
+    }
+
+    @Test
+    @DisplayName("verify - deve detectar par bloqueado no sorteio")
+    void verify_deveDetectarParBloqueado() {
+        givenMembers(1L, 2L, 3L);
+        givenDraws(pair(1L, 2L), pair(2L, 3L), pair(3L, 1L));
+        givenBlocks(pair(2L, 3L));
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.INVALID);
+        assertThat(result.getProblems()).containsEntry(Problem.BLOCKED_PAIR, 1);
+        assertThat(meterRegistry.counter("draw.verification.problems", "type", "BLOCKED_PAIR").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("verify - deve detectar recebedor duplicado, não membro e doador faltando")
+    void verify_deveDetectarProblemasDePermutacao() {
+        givenMembers(1L, 2L, 3L);
+        givenDraws(pair(1L, 2L), pair(2L, 99L), pair(3L, 2L));
+        givenBlocks();
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.INVALID);
+        assertThat(result.getProblems())
+                .containsEntry(Problem.NON_MEMBER, 1)
+                .containsEntry(Problem.DUPLICATE_RECEIVER, 1)
+                .containsEntry(Problem.MISSING_GIVER, 2);
+    }
+
+    @Test
+    @DisplayName("verify - deve informar quando o grupo ainda não tem sorteio")
+    void verify_deveInformarGrupoSemSorteio() {
+        givenMembers(1L, 2L, 3L);
+        givenDraws();
+
+        DrawVerificationResponse result = drawVerificationService.verify(1L);
+
+        assertThat(result.getStatus()).isEqualTo(Status.NOT_DRAWN);
+        verify(blockedUserRepository, never()).streamPairsByGroupId(any());
+    }
+
+    @Test
+    @DisplayName("verify - deve lançar exceção quando grupo não existe")
+    void verify_deveLancarExcecaoQuandoGrupoNaoExiste() {
+        when(groupRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> drawVerificationService.verify(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private void givenMembers(Long... ids) {
+        when(groupRepository.existsById(1L)).thenReturn(true);
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(ids));
+    }
+
+    private void givenDraws(IdPair... pairs) {
+        when(drawRepository.streamPairsByGroupId(1L)).thenReturn(Stream.of(pairs));
+    }
+
+    private void givenBlocks(IdPair... pairs) {
+        when(blockedUserRepository.streamPairsByGroupId(1L)).thenReturn(Stream.of(pairs));
+    }
+
+    private static IdPair pair(Long first, Long second) {
+        return new IdPair(first, second);
+    }
+}
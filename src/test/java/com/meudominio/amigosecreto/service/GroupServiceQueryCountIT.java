@@ -0,0 +1,328 @@
+package com.meudominio.amigosecreto.service;
+
+import com.meudominio.amigosecreto.cache.MembershipCache;
+import com.meudominio.amigosecreto.config.MembershipConfig;
+import com.meudominio.amigosecreto.config.SearchConfig;
+import com.meudominio.amigosecreto.dto.request.AddMembersRequest;
+import com.meudominio.amigosecreto.dto.request.BlockUsersRequest;
+import com.meudominio.amigosecreto.dto.request.GroupSort;
+import com.meudominio.amigosecreto.dto.response.BatchAddMembersResponse;
+import com.meudominio.amigosecreto.dto.response.BatchBlockResponse;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
+import com.meudominio.amigosecreto.dto.response.GroupResponse;
+import com.meudominio.amigosecreto.dto.response.MemberResponse;
+import com.meudominio.amigosecreto.model.Group;
+import com.meudominio.amigosecreto.model.GroupMember;
+import com.meudominio.amigosecreto.model.GroupStats;
+import com.meudominio.amigosecreto.model.Message;
+import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
+import com.meudominio.amigosecreto.model.enums.Role;
+import com.meudominio.amigosecreto.repository.BlockedUserBatchRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberBatchRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.search.NgramGroupIndex;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({GroupService.class, GroupMemberBatchRepository.class, BlockedUserBatchRepository.class,
+        MembershipCache.class, MembershipConfig.class, GroupAccessGuard.class,
+        NgramGroupIndex.class, SearchConfig.class})
+@DisplayName("GroupService - Contagem de consultas")
+class GroupServiceQueryCountIT {
+
+    private static final int GROUPS = 20;
+    private static final int MEMBERS_PER_GROUP = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private GroupStatsRepository groupStatsRepository;
+
+    @Autowired
+    private GroupMemberRepository groupMemberRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User owner = persistUser("dono");
+
+        List<User> others = new ArrayList<>();
+        for (int i = 1; i < MEMBERS_PER_GROUP; i++) {
+            others.add(persistUser("participante" + i));
+        }
+
+        for (int g = 0; g < GROUPS; g++) {
+            Group group = entityManager.persist(Group.builder()
+                    .name("Grupo " + g)
+                    .admin(owner)
+                    .drawDate(LocalDate.now().plusDays(10))
+                    .createdAt(LocalDateTime.now())
+                    .build());
+
+            persistMember(group, owner);
+            others.forEach(user -> persistMember(group, user));
+            entityManager.persist(GroupStats.builder().groupId(group.getId()).memberCount(MEMBERS_PER_GROUP).build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getUserGroups - deve listar 20 grupos de 50 membros com uma única consulta")
+    void getUserGroups_deveUsarUmaUnicaConsulta() {
+        List<GroupResponse> groups = groupService.getUserGroups("dono");
+
+        assertThat(groups).hasSize(GROUPS);
+        assertThat(groups).allSatisfy(group -> {
+            assertThat(group.getAdminUsername()).isEqualTo("dono");
+            assertThat(group.getMemberCount()).isEqualTo(MEMBERS_PER_GROUP);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getUserGroups - deve ordenar e filtrar pelos contadores com uma única consulta")
+    void getUserGroups_deveOrdenarEFiltrarPelosContadores() {
+        List<GroupResponse> all = groupService.getUserGroups("dono");
+        Long busiest = all.get(5).getId();
+        entityManager.getEntityManager()
+                .createQuery("update GroupStats s set s.messageCount = 7, s.drawStatus = :status where s.groupId = :groupId")
+                .setParameter("status", DrawStatus.DRAWN)
+                .setParameter("groupId", busiest)
+                .executeUpdate();
+        statistics.clear();
+
+        List<GroupResponse> byMessages = groupService.getUserGroups("dono", GroupSort.MESSAGE_COUNT,
+                Sort.Direction.DESC, null, 0);
+        List<GroupResponse> drawn = groupService.getUserGroups("dono", GroupSort.ID, Sort.Direction.ASC,
+                DrawStatus.DRAWN, MEMBERS_PER_GROUP);
+
+        assertThat(byMessages).hasSize(GROUPS);
+        assertThat(byMessages.get(0).getId()).isEqualTo(busiest);
+        assertThat(byMessages.get(0).getMessageCount()).isEqualTo(7);
+        assertThat(drawn).extracting(GroupResponse::getId).containsExactly(busiest);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(groupService.getUserGroups("dono", GroupSort.ID, Sort.Direction.ASC, null, MEMBERS_PER_GROUP + 1))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("getGroupETag/getUserGroupsETag - devem mudar após uma alteração no grupo com uma consulta escalar cada")
+    void etags_devemMudarAposAlteracao() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+        statistics.clear();
+
+        String groupETag = groupService.getGroupETag(groupId, "dono");
+        String listETag = groupService.getUserGroupsETag("dono", GroupSort.ID, Sort.Direction.ASC, null, 0);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        Long memberId = groupService.getMembers(groupId, "dono", null, 2).getItems().get(1).getUserId();
+        groupService.removeMember(groupId, memberId, "dono");
+        entityManager.flush();
+
+        assertThat(groupService.getGroupETag(groupId, "dono")).isNotEqualTo(groupETag);
+        assertThat(groupService.getUserGroupsETag("dono", GroupSort.ID, Sort.Direction.ASC, null, 0)).isNotEqualTo(listETag);
+        assertThat(groupService.getUserGroupsETag("dono", GroupSort.NAME, Sort.Direction.ASC, null, 0)).isNotEqualTo(
+                groupService.getUserGroupsETag("dono", GroupSort.ID, Sort.Direction.ASC, null, 0));
+    }
+
+    @Test
+    @DisplayName("getMembers - deve paginar os membros com uma consulta por página além das verificações")
+    void getMembers_devePaginarComConsultaPorPagina() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+
+        CursorPageResponse<MemberResponse> first = groupService.getMembers(groupId, "dono", null, 30);
+        CursorPageResponse<MemberResponse> second = groupService.getMembers(groupId, "dono", Long.valueOf(first.getNextCursor()), 30);
+
+        assertThat(first.getItems()).hasSize(30);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getItems()).hasSize(MEMBERS_PER_GROUP - 30);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getItems().get(0).getUsername()).isNotEqualTo(first.getItems().get(29).getUsername());
+    }
+
+    @Test
+    @DisplayName("addMembers - deve resolver e inserir o lote com número fixo de comandos")
+    void addMembers_deveInserirLoteComNumeroFixoDeConsultas() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+        List<String> newcomers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            newcomers.add(persistUser("novato" + i).getUsername());
+        }
+        newcomers.add("participante1");
+        newcomers.add("inexistente");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        BatchAddMembersResponse response = groupService.addMembers(groupId,
+                AddMembersRequest.builder().usernames(newcomers).build(), "dono");
+        entityManager.flush();
+
+        assertThat(response.getTotals())
+                .containsEntry(BatchAddMembersResponse.Status.ADDED, 300)
+                .containsEntry(BatchAddMembersResponse.Status.ALREADY_MEMBER, 1)
+                .containsEntry(BatchAddMembersResponse.Status.NOT_FOUND, 1);
+        // administrador, consulta IN e atualização do contador; as inserções JDBC não passam pelo Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(groupService.getGroupById(groupId, "dono").getMemberCount()).isEqualTo(MEMBERS_PER_GROUP + 300);
+    }
+
+    @Test
+    @DisplayName("blockUsers - deve validar e inserir o lote com número fixo de comandos")
+    void blockUsers_deveInserirLoteComNumeroFixoDeConsultas() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+        List<Long> memberIds = groupService.getMembers(groupId, "dono", null, MEMBERS_PER_GROUP).getItems().stream()
+                .map(MemberResponse::getUserId)
+                .toList();
+        List<BlockUsersRequest.Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < memberIds.size(); i++) {
+            pairs.add(new BlockUsersRequest.Pair(memberIds.get(i), memberIds.get((i + 1) % memberIds.size())));
+            pairs.add(new BlockUsersRequest.Pair(memberIds.get(i), memberIds.get((i + 2) % memberIds.size())));
+        }
+        statistics.clear();
+
+        BatchBlockResponse response = groupService.blockUsers(groupId,
+                BlockUsersRequest.builder().blocks(pairs).checkFeasibility(true).build(), "dono");
+        entityManager.flush();
+
+        assertThat(response.getTotals()).containsEntry(BatchBlockResponse.Status.ADDED, pairs.size());
+        // administrador, membros, bloqueios existentes e atualização do contador; as inserções JDBC não passam pelo Hibernate
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(count("select count(b) from BlockedUser b where b.group.id = :groupId", groupId)).isEqualTo(pairs.size());
+    }
+
+    @Test
+    @DisplayName("deleteGroup - deve remover o grupo e seus registros sem carregar as entidades filhas")
+    void deleteGroup_deveRemoverComDeletesEmMassa() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+        Group group = entityManager.find(Group.class, groupId);
+        User owner = group.getAdmin();
+        for (int i = 0; i < 200; i++) {
+            entityManager.persist(Message.builder()
+                    .group(group)
+                    .sender(owner)
+                    .content("Mensagem " + i)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        groupService.deleteGroup(groupId, "dono");
+        entityManager.flush();
+
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+        assertThat(count("select count(m) from Message m where m.group.id = :groupId", groupId)).isZero();
+        assertThat(count("select count(gm) from GroupMember gm where gm.group.id = :groupId", groupId)).isZero();
+        assertThat(count("select count(g) from Group g where g.id = :groupId", groupId)).isZero();
+        assertThat(groupService.getUserGroups("dono")).hasSize(GROUPS - 1);
+    }
+
+    @Test
+    @DisplayName("getUserGroups - deve calcular as não lidas pelas sequências de group_stats")
+    void getUserGroups_deveCalcularNaoLidas() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+        Long ownerId = entityManager.find(Group.class, groupId).getAdmin().getId();
+
+        groupStatsRepository.addSentMessages(groupId, 3, 103L);
+        assertThat(unread("dono", groupId)).isEqualTo(3L);
+
+        groupMemberRepository.markRead(groupId, ownerId);
+        assertThat(unread("dono", groupId)).isZero();
+
+        groupStatsRepository.addSentMessages(groupId, 2, 105L);
+        groupStatsRepository.addMessages(groupId, -1);
+        groupMemberRepository.skipUnreadMessage(groupId, 104L);
+        groupMemberRepository.skipUnreadMessage(groupId, 100L);
+
+        statistics.clear();
+        assertThat(unread("dono", groupId)).isEqualTo(1L);
+        assertThat(unread("participante1", groupId)).isEqualTo(4L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("lockByGroupIdIn - deve travar as linhas pedidas numa única consulta")
+    void lockByGroupIdIn_deveTravarNumaUnicaConsulta() {
+        Long groupId = groupService.getUserGroups("dono").get(0).getId();
+
+        statistics.clear();
+        assertThat(groupStatsRepository.lockByGroupIdIn(List.of(groupId)))
+                .extracting(GroupStats::getGroupId)
+                .containsExactly(groupId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private Long unread(String username, Long groupId) {
+        return groupService.getUserGroups(username).stream()
+                .filter(group -> group.getId().equals(groupId))
+                .findFirst()
+                .orElseThrow()
+                .getUnreadCount();
+    }
+
+    private User persistUser(String username) {
+        return entityManager.persist(User.builder()
+                .username(username)
+                .email(username + "@email.com")
+                .password("senha")
+                .role(Role.PARTICIPANT)
+                .build());
+    }
+
+    private long count(String jpql, Long groupId) {
+        return entityManager.getEntityManager()
+                .createQuery(jpql, Long.class)
+                .setParameter("groupId", groupId)
+                .getSingleResult();
+    }
+
+    private void persistMember(Group group, User user) {
+        entityManager.persist(GroupMember.builder()
+                .group(group)
+                .user(user)
+                .joinedAt(LocalDateTime.now())
+                .build());
+    }
+}
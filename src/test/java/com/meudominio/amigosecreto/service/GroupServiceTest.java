@@ -1,34 +1,75 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.cache.MembershipCache;
+import com.meudominio.amigosecreto.dto.projection.GroupListVersion;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.projection.GroupSummary;
+import com.meudominio.amigosecreto.dto.projection.IdPair;
+import com.meudominio.amigosecreto.dto.projection.MemberCandidate;
+import com.meudominio.amigosecreto.dto.projection.MemberView;
+import com.meudominio.amigosecreto.dto.request.AddMembersRequest;
+import com.meudominio.amigosecreto.dto.request.BlockUsersRequest;
 import com.meudominio.amigosecreto.dto.request.CreateGroupRequest;
+import com.meudominio.amigosecreto.dto.request.GroupSort;
+import com.meudominio.amigosecreto.dto.response.BatchAddMembersResponse;
+import com.meudominio.amigosecreto.dto.response.BatchAddMembersResponse.Status;
+import com.meudominio.amigosecreto.dto.response.BatchBlockResponse;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.GroupResponse;
+import com.meudominio.amigosecreto.dto.response.GroupSearchResult;
+import com.meudominio.amigosecreto.dto.response.MemberResponse;
+import com.meudominio.amigosecreto.event.GroupCreatedEvent;
+import com.meudominio.amigosecreto.event.GroupDeletedEvent;
+import com.meudominio.amigosecreto.event.MemberRemovedEvent;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
 import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.exception.UnauthorizedException;
 import com.meudominio.amigosecreto.model.BlockedUser;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.GroupMember;
+import com.meudominio.amigosecreto.model.GroupStats;
+import com.meudominio.amigosecreto.model.SoftPreference;
 import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.model.enums.DrawStatus;
 import com.meudominio.amigosecreto.model.enums.Role;
+import com.meudominio.amigosecreto.repository.BlockedUserBatchRepository;
 import com.meudominio.amigosecreto.repository.BlockedUserRepository;
+import com.meudominio.amigosecreto.repository.DrawRepository;
+import com.meudominio.amigosecreto.repository.GroupMemberBatchRepository;
 import com.meudominio.amigosecreto.repository.GroupMemberRepository;
 import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageArchiveRepository;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.repository.MessageTombstoneRepository;
+import com.meudominio.amigosecreto.repository.SoftPreferenceRepository;
 import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.search.GroupSearchEngine;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -48,6 +89,42 @@ class GroupServiceTest {
     @Mock
     private BlockedUserRepository blockedUserRepository;
 
+    @Mock
+    private DrawRepository drawRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageTombstoneRepository messageTombstoneRepository;
+
+    @Mock
+    private MessageArchiveRepository messageArchiveRepository;
+
+    @Mock
+    private SoftPreferenceRepository softPreferenceRepository;
+
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private GroupMemberBatchRepository groupMemberBatchRepository;
+
+    @Mock
+    private MembershipCache membershipCache;
+
+    @Mock
+    private GroupAccessGuard groupAccessGuard;
+
+    @Mock
+    private BlockedUserBatchRepository blockedUserBatchRepository;
+
+    @Mock
+    private GroupSearchEngine groupSearchEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private GroupService groupService;
 
@@ -98,16 +175,21 @@ class GroupServiceTest {
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(groupRepository.save(any(Group.class))).thenReturn(group);
         when(groupMemberRepository.save(any(GroupMember.class))).thenReturn(new GroupMember());
-        when(groupMemberRepository.findByGroup(any())).thenReturn(List.of());
+        when(groupStatsRepository.save(any(GroupStats.class))).thenAnswer(inv -> inv.getArgument(0));
 
         GroupResponse response = groupService.createGroup(createGroupRequest, "admin");
 
         assertThat(response).isNotNull();
         assertThat(response.getName()).isEqualTo("Amigo Secreto 2025");
         assertThat(response.getAdminUsername()).isEqualTo("admin");
+        assertThat(response.getMemberCount()).isEqualTo(1);
+        assertThat(response.getMessageCount()).isZero();
+        assertThat(response.getDrawStatus()).isEqualTo(DrawStatus.PENDING);
 
         verify(groupRepository).save(any(Group.class));
         verify(groupMemberRepository).save(any(GroupMember.class));
+        verify(groupStatsRepository).save(any(GroupStats.class));
+        verify(eventPublisher).publishEvent(any(GroupCreatedEvent.class));
     }
 
     @Test
@@ -128,29 +210,63 @@ class GroupServiceTest {
     @Test
     @DisplayName("getUserGroups - deve retornar grupos do usuário")
     void getUserGroups_deveRetornarGruposDoUsuario() {
-        GroupMember membership = GroupMember.builder().group(group).user(admin).build();
+        GroupSummary summary = new GroupSummary(1L, "Amigo Secreto 2025", "Confraternização", "admin",
+                group.getDrawDate(), group.getCreatedAt(), 2, 1, 5, DrawStatus.PENDING, null, 3L);
 
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(groupMemberRepository.findByUser(admin)).thenReturn(List.of(membership));
-        when(groupMemberRepository.findByGroup(group)).thenReturn(List.of(membership));
+        when(groupRepository.findSummariesByMemberUsername(eq("admin"), isNull(), eq(0), any(Sort.class)))
+                .thenReturn(List.of(summary));
 
         List<GroupResponse> groups = groupService.getUserGroups("admin");
 
         assertThat(groups).hasSize(1);
         assertThat(groups.get(0).getName()).isEqualTo("Amigo Secreto 2025");
+        assertThat(groups.get(0).getMemberCount()).isEqualTo(2);
+        assertThat(groups.get(0).getMessageCount()).isEqualTo(5);
+        assertThat(groups.get(0).getUnreadCount()).isEqualTo(3L);
+        assertThat(groups.get(0).getDrawStatus()).isEqualTo(DrawStatus.PENDING);
+        verifyNoInteractions(userRepository, groupMemberRepository);
+    }
+
+    @Test
+    @DisplayName("getUserGroups - deve repassar filtros e ordenação pelos contadores para a consulta")
+    void getUserGroups_deveOrdenarEFiltrarPelosContadores() {
+        when(groupRepository.findSummariesByMemberUsername(eq("admin"), eq(DrawStatus.DRAWN), eq(5), any(Sort.class)))
+                .thenReturn(List.of(summary(8)));
+
+        List<GroupResponse> groups = groupService.getUserGroups("admin", GroupSort.MESSAGE_COUNT,
+                Sort.Direction.DESC, DrawStatus.DRAWN, 5);
+
+        assertThat(groups).hasSize(1);
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(groupRepository).findSummariesByMemberUsername(eq("admin"), eq(DrawStatus.DRAWN), eq(5), sort.capture());
+        assertThat(sort.getValue()).extracting(Sort.Order::getProperty, Sort.Order::getDirection).containsExactly(
+                tuple("coalesce(s.messageCount, 0)", Sort.Direction.DESC),
+                tuple("g.id", Sort.Direction.ASC));
     }
 
     @Test
     @DisplayName("getUserGroups - deve retornar lista vazia quando usuário não tem grupos")
     void getUserGroups_deveRetornarListaVazia() {
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(groupMemberRepository.findByUser(admin)).thenReturn(List.of());
+        when(groupRepository.findSummariesByMemberUsername(eq("admin"), isNull(), eq(0), any(Sort.class)))
+                .thenReturn(List.of());
+        when(userRepository.existsByUsername("admin")).thenReturn(true);
 
         List<GroupResponse> groups = groupService.getUserGroups("admin");
 
         assertThat(groups).isEmpty();
     }
 
+    @Test
+    @DisplayName("getUserGroups - deve lançar exceção quando usuário não existe")
+    void getUserGroups_deveLancarExcecaoQuandoUsuarioNaoExiste() {
+        when(groupRepository.findSummariesByMemberUsername(eq("inexistente"), isNull(), eq(0), any(Sort.class)))
+                .thenReturn(List.of());
+        when(userRepository.existsByUsername("inexistente")).thenReturn(false);
+
+        assertThatThrownBy(() -> groupService.getUserGroups("inexistente"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
     // ========================
     // PEGAR GRUPO POR ID
     // ========================
@@ -158,28 +274,169 @@ class GroupServiceTest {
     @Test
     @DisplayName("getGroupById - deve retornar grupo quando usuário é membro")
     void getGroupById_deveRetornarGrupoQuandoEhMembro() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(groupMemberRepository.existsByGroupAndUser(group, admin)).thenReturn(true);
-        when(groupMemberRepository.findByGroup(group)).thenReturn(List.of());
+        when(groupRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(8)));
 
         GroupResponse response = groupService.getGroupById(1L, "admin");
 
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getMemberCount()).isEqualTo(8);
+        verify(groupAccessGuard).requireMember(eq(1L), eq("admin"), any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
     @DisplayName("getGroupById - deve lançar exceção quando usuário não é membro")
     void getGroupById_deveLancarExcecaoQuandoNaoEhMembro() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("membro")).thenReturn(Optional.of(member));
-        when(groupMemberRepository.existsByGroupAndUser(group, member)).thenReturn(false);
+        when(groupRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(8)));
+        when(groupAccessGuard.requireMember(eq(1L), eq("membro"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
 
         assertThatThrownBy(() -> groupService.getGroupById(1L, "membro"))
                 .isInstanceOf(UnauthorizedException.class);
     }
 
+    @Test
+    @DisplayName("getGroupETag - deve montar o ETag pela revisão sem buscar o resumo do grupo")
+    void getGroupETag_deveUsarRevisao() {
+        when(groupStatsRepository.findRevisionByGroupId(1L)).thenReturn(Optional.of(7L));
+
+        assertThat(groupService.getGroupETag(1L, "admin")).isEqualTo("g1-7");
+
+        verify(groupAccessGuard).requireMember(eq(1L), eq("admin"), any());
+        verify(groupRepository, never()).findSummaryById(any());
+    }
+
+    @Test
+    @DisplayName("getUserGroupsETag - deve mudar quando a revisão de algum grupo muda e ignorar grupos sem contadores")
+    void getUserGroupsETag_deveMudarComARevisao() {
+        when(groupRepository.findListVersionByMemberUsername("admin"))
+                .thenReturn(new GroupListVersion(2L, 3L, 10L, 2L, 0L))
+                .thenReturn(new GroupListVersion(2L, 3L, 11L, 2L, 0L))
+                .thenReturn(new GroupListVersion(2L, 3L, 11L, 1L, 0L));
+
+        String before = groupService.getUserGroupsETag("admin", GroupSort.ID, Sort.Direction.ASC, null, 0);
+        String after = groupService.getUserGroupsETag("admin", GroupSort.ID, Sort.Direction.ASC, null, 0);
+
+        assertThat(before).isNotNull().isNotEqualTo(after);
+        assertThat(groupService.getUserGroupsETag("admin", GroupSort.ID, Sort.Direction.ASC, null, 0)).isNull();
+        verify(groupRepository, never()).findSummariesByMemberUsername(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("getUserGroupsETag - deve mudar quando o usuário marca um grupo como lido")
+    void getUserGroupsETag_deveMudarComALeitura() {
+        when(groupRepository.findListVersionByMemberUsername("admin"))
+                .thenReturn(new GroupListVersion(2L, 3L, 10L, 2L, 4L))
+                .thenReturn(new GroupListVersion(2L, 3L, 10L, 2L, 9L));
+
+        String before = groupService.getUserGroupsETag("admin", GroupSort.ID, Sort.Direction.ASC, null, 0);
+        String after = groupService.getUserGroupsETag("admin", GroupSort.ID, Sort.Direction.ASC, null, 0);
+
+        assertThat(before).isNotEqualTo(after);
+    }
+
+    // ========================
+    // MENSAGENS NÃO LIDAS
+    // ========================
+
+    @Test
+    @DisplayName("markGroupRead - deve marcar o grupo como lido pelo membro")
+    void markGroupRead_deveMarcarComoLido() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("admin"), any())).thenReturn(1L);
+
+        groupService.markGroupRead(1L, "admin");
+
+        verify(groupMemberRepository).markRead(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("markGroupRead - deve lançar exceção quando não é membro")
+    void markGroupRead_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("intruso"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> groupService.markGroupRead(1L, "intruso"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(groupMemberRepository, never()).markRead(any(), any());
+    }
+
+    // ========================
+    // BUSCAR GRUPOS
+    // ========================
+
+    @Test
+    @DisplayName("searchGroups - deve consultar o índice de busca com o usuário e o limite ajustado")
+    void searchGroups_deveConsultarIndice() {
+        when(userRepository.findIdByUsername("admin")).thenReturn(Optional.of(1L));
+        when(groupSearchEngine.search(1L, "amigo", 50)).thenReturn(List.of(new GroupMatch(1L, "Amigo Secreto 2025")));
+
+        List<GroupSearchResult> results = groupService.searchGroups("  AMIGO ", 1000, "admin");
+
+        assertThat(results).singleElement().satisfies(result -> {
+            assertThat(result.getId()).isEqualTo(1L);
+            assertThat(result.getName()).isEqualTo("Amigo Secreto 2025");
+        });
+        verifyNoInteractions(groupRepository);
+    }
+
+    @Test
+    @DisplayName("searchGroups - deve lançar exceção quando a busca tem menos de 3 caracteres")
+    void searchGroups_deveLancarExcecaoQuandoBuscaCurta() {
+        assertThatThrownBy(() -> groupService.searchGroups(" am ", 10, "admin"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("A busca precisa de pelo menos 3 caracteres");
+
+        verifyNoInteractions(groupSearchEngine);
+    }
+
+    // ========================
+    // LISTAR MEMBROS
+    // ========================
+
+    @Test
+    @DisplayName("getMembers - deve retornar página com cursor quando há mais membros")
+    void getMembers_deveRetornarPaginaComCursor() {
+        when(groupMemberRepository.findMembersAfter(1L, 10L, PageRequest.of(0, 3))).thenReturn(List.of(
+                new MemberView(11L, 1L, "admin", LocalDateTime.now()),
+                new MemberView(15L, 2L, "membro", LocalDateTime.now()),
+                new MemberView(20L, 3L, "outro", LocalDateTime.now())
+        ));
+
+        CursorPageResponse<MemberResponse> page = groupService.getMembers(1L, "admin", 10L, 2);
+
+        assertThat(page.getItems()).extracting(MemberResponse::getUsername).containsExactly("admin", "membro");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo("15");
+    }
+
+    @Test
+    @DisplayName("getMembers - deve indicar a última página sem cursor")
+    void getMembers_deveIndicarUltimaPagina() {
+        when(groupMemberRepository.findMembersAfter(1L, 0L, PageRequest.of(0, 51))).thenReturn(List.of(
+                new MemberView(11L, 1L, "admin", LocalDateTime.now())
+        ));
+
+        CursorPageResponse<MemberResponse> page = groupService.getMembers(1L, "admin", null, 50);
+
+        assertThat(page.getItems()).hasSize(1);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getMembers - deve lançar exceção quando usuário não é membro")
+    void getMembers_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("membro"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> groupService.getMembers(1L, "membro", null, 50))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(groupMemberRepository, never()).findMembersAfter(any(), any(), any());
+    }
+
     // ========================
     // ADICIONAR MEMBRO
     // ========================
@@ -187,24 +444,83 @@ class GroupServiceTest {
     @Test
     @DisplayName("addMember - deve adicionar membro com sucesso")
     void addMember_deveAdicionarMembroComSucesso() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(groupMemberRepository.existsByGroupAndUser(group, member)).thenReturn(false);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(groupMemberRepository.existsByGroupIdAndUserId(1L, 2L)).thenReturn(false);
 
         groupService.addMember(1L, 2L, "admin");
 
+        verify(groupAccessGuard).requireAdmin(eq(1L), eq("admin"), any());
         verify(groupMemberRepository).save(any(GroupMember.class));
+        verify(groupRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new MembersAddedEvent(1L));
+        verify(groupStatsRepository).addMembers(1L, 1);
+    }
+
+    @Test
+    @DisplayName("addMembers - deve classificar cada item e inserir apenas os novos em lote")
+    void addMembers_deveClassificarItensEInserirNovos() {
+        when(groupMemberRepository.findCandidatesByIds(1L, List.of(2L, 3L, 99L))).thenReturn(List.of(
+                new MemberCandidate(2L, "membro", null),
+                new MemberCandidate(3L, "outro", 40L)
+        ));
+        when(groupMemberRepository.findCandidatesByUsernames(1L, List.of("membro", "novo"))).thenReturn(List.of(
+                new MemberCandidate(2L, "membro", null),
+                new MemberCandidate(5L, "novo", null)
+        ));
+
+        AddMembersRequest request = AddMembersRequest.builder()
+                .userIds(List.of(2L, 3L, 99L, 2L))
+                .usernames(List.of("membro", "novo"))
+                .build();
+
+        BatchAddMembersResponse response = groupService.addMembers(1L, request, "admin");
+
+        assertThat(response.getResults()).extracting(BatchAddMembersResponse.Item::getStatus).containsExactly(
+                Status.ADDED, Status.ALREADY_MEMBER, Status.NOT_FOUND, Status.DUPLICATE, Status.DUPLICATE, Status.ADDED);
+        assertThat(response.getTotals()).containsEntry(Status.ADDED, 2).containsEntry(Status.DUPLICATE, 2);
+        verify(groupMemberBatchRepository).insertAll(eq(1L), eq(List.of(2L, 5L)), any(LocalDateTime.class));
+        verify(groupStatsRepository).addMembers(1L, 2);
+    }
+
+    @Test
+    @DisplayName("addMembers - não deve inserir nada quando todos já são membros")
+    void addMembers_naoDeveInserirQuandoTodosJaSaoMembros() {
+        when(groupMemberRepository.findCandidatesByIds(1L, List.of(1L)))
+                .thenReturn(List.of(new MemberCandidate(1L, "admin", 10L)));
+
+        BatchAddMembersResponse response = groupService.addMembers(1L,
+                AddMembersRequest.builder().userIds(List.of(1L)).build(), "admin");
+
+        assertThat(response.getTotals()).containsOnlyKeys(Status.ALREADY_MEMBER);
+        verifyNoInteractions(groupMemberBatchRepository, groupStatsRepository);
+    }
+
+    @Test
+    @DisplayName("addMembers - deve lançar exceção quando a requisição está vazia")
+    void addMembers_deveLancarExcecaoQuandoVazia() {
+        assertThatThrownBy(() -> groupService.addMembers(1L, new AddMembersRequest(), "admin"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("addMembers - deve lançar exceção quando não é admin")
+    void addMembers_deveLancarExcecaoQuandoNaoEhAdmin() {
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("membro"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode adicionar membros"));
+
+        assertThatThrownBy(() -> groupService.addMembers(1L,
+                AddMembersRequest.builder().userIds(List.of(3L)).build(), "membro"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(groupMemberBatchRepository);
     }
 
     @Test
     @DisplayName("addMember - deve lançar exceção quando não é admin")
     void addMember_deveLancarExcecaoQuandoNaoEhAdmin() {
-        User outroUsuario = User.builder().id(3L).username("outro").build();
-        group = Group.builder().id(1L).admin(admin).name("Grupo").createdAt(LocalDateTime.now()).build();
-
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("outro")).thenReturn(Optional.of(outroUsuario));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("outro"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode adicionar membros"));
 
         assertThatThrownBy(() -> groupService.addMember(1L, 2L, "outro"))
                 .isInstanceOf(UnauthorizedException.class);
@@ -215,10 +531,8 @@ class GroupServiceTest {
     @Test
     @DisplayName("addMember - deve lançar exceção quando usuário já é membro")
     void addMember_deveLancarExcecaoQuandoJaEhMembro() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(groupMemberRepository.existsByGroupAndUser(group, member)).thenReturn(true);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(groupMemberRepository.existsByGroupIdAndUserId(1L, 2L)).thenReturn(true);
 
         assertThatThrownBy(() -> groupService.addMember(1L, 2L, "admin"))
                 .isInstanceOf(BusinessException.class)
@@ -234,26 +548,26 @@ class GroupServiceTest {
     void removeMember_deveRemoverMembroComSucesso() {
         GroupMember membership = GroupMember.builder().group(group).user(member).build();
 
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(groupMemberRepository.findByGroupAndUser(group, member)).thenReturn(Optional.of(membership));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("admin"), any())).thenReturn(1L);
+        when(groupMemberRepository.findByGroupIdAndUserId(1L, 2L)).thenReturn(Optional.of(membership));
 
         groupService.removeMember(1L, 2L, "admin");
 
         verify(groupMemberRepository).delete(membership);
+        verify(groupStatsRepository).addMembers(1L, -1);
+        verify(eventPublisher).publishEvent(any(MemberRemovedEvent.class));
     }
 
     @Test
     @DisplayName("removeMember - deve lançar exceção ao tentar remover o admin")
     void removeMember_deveLancarExcecaoAoTentarRemoverAdmin() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(admin));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("admin"), any())).thenReturn(1L);
 
         assertThatThrownBy(() -> groupService.removeMember(1L, 1L, "admin"))
                 .isInstanceOf(BusinessException.class)
                 .hasMessage("Não é possível remover o administrador do grupo");
+
+        verify(groupMemberRepository, never()).delete(any());
     }
 
     // ========================
@@ -263,24 +577,33 @@ class GroupServiceTest {
     @Test
     @DisplayName("deleteGroup - deve deletar grupo com sucesso")
     void deleteGroup_deveDeletarGrupoComSucesso() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
-
         groupService.deleteGroup(1L, "admin");
 
-        verify(groupRepository).delete(group);
+        InOrder inOrder = inOrder(messageRepository, messageTombstoneRepository, messageArchiveRepository, drawRepository,
+                blockedUserRepository, softPreferenceRepository, groupMemberRepository, groupStatsRepository, groupRepository);
+        inOrder.verify(messageRepository).deleteAllByGroupId(1L);
+        inOrder.verify(messageTombstoneRepository).deleteAllByGroupId(1L);
+        inOrder.verify(messageArchiveRepository).deleteAllByGroupId(1L);
+        inOrder.verify(drawRepository).deleteAllByGroupId(1L);
+        inOrder.verify(blockedUserRepository).deleteAllByGroupId(1L);
+        inOrder.verify(softPreferenceRepository).deleteAllByGroupId(1L);
+        inOrder.verify(groupMemberRepository).deleteAllByGroupId(1L);
+        inOrder.verify(groupStatsRepository).deleteByGroupId(1L);
+        inOrder.verify(groupRepository).deleteGroupById(1L);
+        verify(groupRepository, never()).delete(any());
+        verify(eventPublisher).publishEvent(new GroupDeletedEvent(1L));
     }
 
     @Test
     @DisplayName("deleteGroup - deve lançar exceção quando não é admin")
     void deleteGroup_deveLancarExcecaoQuandoNaoEhAdmin() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("membro")).thenReturn(Optional.of(member));
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("membro"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode deletar o grupo"));
 
         assertThatThrownBy(() -> groupService.deleteGroup(1L, "membro"))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(groupRepository, never()).delete(any());
+        verify(groupRepository, never()).deleteGroupById(any());
     }
 
     // ========================
@@ -293,13 +616,14 @@ class GroupServiceTest {
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(groupMemberRepository.existsByGroupAndUser(group, admin)).thenReturn(true);
-        when(groupMemberRepository.existsByGroupAndUser(group, member)).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), admin.getId())).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), member.getId())).thenReturn(true);
         when(blockedUserRepository.existsByGroupAndBlockerAndBlocked(group, admin, member)).thenReturn(false);
 
         groupService.blockUser(1L, "admin", 2L);
 
         verify(blockedUserRepository).save(any(BlockedUser.class));
+        verify(groupStatsRepository).addBlocks(1L, 1);
     }
 
     @Test
@@ -308,8 +632,8 @@ class GroupServiceTest {
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
         when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(userRepository.findById(2L)).thenReturn(Optional.of(member));
-        when(groupMemberRepository.existsByGroupAndUser(group, admin)).thenReturn(true);
-        when(groupMemberRepository.existsByGroupAndUser(group, member)).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), admin.getId())).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), member.getId())).thenReturn(true);
         when(blockedUserRepository.existsByGroupAndBlockerAndBlocked(group, admin, member)).thenReturn(true);
 
         assertThatThrownBy(() -> groupService.blockUser(1L, "admin", 2L))
@@ -330,4 +654,118 @@ class GroupServiceTest {
 
         verify(blockedUserRepository, never()).save(any());
     }
+
+    @Test
+    @DisplayName("blockUsers - deve classificar os pares e inserir apenas os novos em lote")
+    void blockUsers_deveClassificarParesEInserirNovos() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(blockedUserRepository.streamPairsByGroupId(1L)).thenReturn(Stream.of(new IdPair(1L, 3L)));
+
+        BatchBlockResponse response = groupService.blockUsers(1L, blocks(false,
+                1L, 2L,
+                1L, 3L,
+                2L, 2L,
+                2L, 9L,
+                1L, 2L,
+                3L, 1L), "admin");
+
+        assertThat(response.getResults()).extracting(BatchBlockResponse.Item::getStatus).containsExactly(
+                BatchBlockResponse.Status.ADDED,
+                BatchBlockResponse.Status.ALREADY_BLOCKED,
+                BatchBlockResponse.Status.SELF_BLOCK,
+                BatchBlockResponse.Status.NOT_MEMBER,
+                BatchBlockResponse.Status.DUPLICATE,
+                BatchBlockResponse.Status.ADDED);
+        assertThat(response.getTotals()).containsEntry(BatchBlockResponse.Status.ADDED, 2);
+        verify(blockedUserBatchRepository).insertAll(1L, List.of(new IdPair(1L, 2L), new IdPair(3L, 1L)));
+        verify(groupStatsRepository).addBlocks(1L, 2);
+        verify(blockedUserRepository, never()).existsByGroupAndBlockerAndBlocked(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("blockUsers - deve rejeitar o lote quando o sorteio se torna impossível")
+    void blockUsers_deveRejeitarQuandoSorteioImpossivel() {
+        when(groupMemberRepository.findUserIdsByGroupId(1L)).thenReturn(List.of(1L, 2L, 3L));
+        when(blockedUserRepository.streamPairsByGroupId(1L)).thenReturn(Stream.empty());
+
+        assertThatThrownBy(() -> groupService.blockUsers(1L, blocks(true, 1L, 2L, 1L, 3L), "admin"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("não é possível realizar o sorteio");
+    }
+
+    @Test
+    @DisplayName("blockUsers - deve lançar exceção quando não é admin")
+    void blockUsers_deveLancarExcecaoQuandoNaoEhAdmin() {
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("membro"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode cadastrar bloqueios em lote"));
+
+        assertThatThrownBy(() -> groupService.blockUsers(1L, blocks(false, 1L, 2L), "membro"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(blockedUserBatchRepository);
+    }
+
+    // ========================
+    // PREFERÊNCIAS SUAVES
+    // ========================
+
+    @Test
+    @DisplayName("addPreference - deve registrar preferência com sucesso")
+    void addPreference_deveRegistrarPreferenciaComSucesso() {
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
+        when(membershipCache.isMember(group.getId(), admin.getId())).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), member.getId())).thenReturn(true);
+        when(softPreferenceRepository.findByGroupAndUserAndAvoided(group, admin, member)).thenReturn(Optional.empty());
+
+        groupService.addPreference(1L, "admin", 2L, 30);
+
+        verify(softPreferenceRepository).save(argThat(p -> p.getWeight() == 30 && p.getAvoided() == member));
+    }
+
+    @Test
+    @DisplayName("addPreference - deve atualizar o peso de preferência existente")
+    void addPreference_deveAtualizarPesoExistente() {
+        SoftPreference existing = SoftPreference.builder().id(5L).group(group).user(admin).avoided(member).weight(10).build();
+
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(member));
+        when(membershipCache.isMember(group.getId(), admin.getId())).thenReturn(true);
+        when(membershipCache.isMember(group.getId(), member.getId())).thenReturn(true);
+        when(softPreferenceRepository.findByGroupAndUserAndAvoided(group, admin, member)).thenReturn(Optional.of(existing));
+
+        groupService.addPreference(1L, "admin", 2L, 80);
+
+        assertThat(existing.getWeight()).isEqualTo(80);
+        verify(softPreferenceRepository).save(existing);
+    }
+
+    @Test
+    @DisplayName("addPreference - deve lançar exceção quando peso está fora do intervalo")
+    void addPreference_deveLancarExcecaoQuandoPesoInvalido() {
+        assertThatThrownBy(() -> groupService.addPreference(1L, "admin", 2L, 0))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Peso");
+
+        verify(softPreferenceRepository, never()).save(any());
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private static BlockUsersRequest blocks(boolean checkFeasibility, long... ids) {
+        List<BlockUsersRequest.Pair> pairs = new ArrayList<>();
+        for (int i = 0; i < ids.length; i += 2) {
+            pairs.add(new BlockUsersRequest.Pair(ids[i], ids[i + 1]));
+        }
+        return BlockUsersRequest.builder().blocks(pairs).checkFeasibility(checkFeasibility).build();
+    }
+
+    private GroupSummary summary(int memberCount) {
+        return new GroupSummary(1L, "Amigo Secreto 2025", "Confraternização", "admin",
+                group.getDrawDate(), group.getCreatedAt(), memberCount, 0, 0, DrawStatus.PENDING, null);
+    }
 }
@@ -0,0 +1,280 @@
+package com.meudominio.amigosecreto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.config.MemberImportConfig;
+import com.meudominio.amigosecreto.dto.projection.MemberCandidate;
+import com.meudominio.amigosecreto.dto.response.ImportProgressResponse;
+import com.meudominio.amigosecreto.event.MembersAddedEvent;
+import com.meudominio.amigosecreto.exception.BusinessException;
+import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
+import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.model.User;
+import com.meudominio.amigosecreto.repository.*;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MemberImportService - Testes Unitários")
+class MemberImportServiceTest {
+
+    @Mock
+    private GroupAccessGuard groupAccessGuard;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private GroupMemberRepository groupMemberRepository;
+
+    @Mock
+    private GroupMemberBatchRepository groupMemberBatchRepository;
+
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MemberImportService memberImportService;
+    private final MemberImportConfig memberImportConfig = new MemberImportConfig();
+
+    /** Usuários "no banco": username -> candidato (ID e associação) */
+    private final Map<String, MemberCandidate> users = new HashMap<>();
+    private long nextUserId = 100;
+
+    @BeforeEach
+    void setUp() {
+        memberImportService = createService();
+
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("admin"), any())).thenReturn(1L);
+        when(passwordEncoder.encode(any())).thenReturn("hash");
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        when(groupMemberRepository.findCandidatesByUsernames(eq(1L), anyCollection())).thenAnswer(inv -> {
+            Collection<String> usernames = inv.getArgument(1);
+            return usernames.stream().map(users::get).filter(Objects::nonNull).toList();
+        });
+        doAnswer(inv -> {
+            List<User> created = inv.getArgument(0);
+            created.forEach(u -> users.put(u.getUsername(), new MemberCandidate(nextUserId++, u.getUsername(), null)));
+            return null;
+        }).when(userBatchRepository).insertAll(anyList());
+    }
+
+    @Test
+    @DisplayName("importMembers - deve criar usuários novos, adicionar membros e rejeitar linhas inválidas")
+    void importMembers_deveProcessarCsvComCabecalho() {
+        users.put("joao", new MemberCandidate(2L, "joao", 20L));
+        users.put("maria", new MemberCandidate(3L, "maria", null));
+
+        String csv = """
+                email;username;password
+                joao@email.com;joao;senha123
+                maria@email.com;maria;senha123
+                "pedro@email.com";"pedro";"senha;123"
+                invalido;ana;senha123
+                """;
+
+        ImportProgressResponse result = memberImportService.importMembers(1L, "admin", stream(csv),
+                MemberImportService.Format.CSV);
+
+        assertThat(result.getStatus()).isEqualTo(ImportProgressResponse.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(4);
+        assertThat(result.getUsersCreated()).isEqualTo(1);
+        assertThat(result.getMembersAdded()).isEqualTo(2);
+        assertThat(result.getAlreadyMembers()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().asString().startsWith("linha 5");
+        verify(passwordEncoder).encode("senha;123");
+        verify(groupMemberBatchRepository).insertAll(eq(1L), argThat(ids -> ids.containsAll(List.of(3L, 100L))),
+                any(LocalDateTime.class));
+        verify(groupStatsRepository).addMembers(1L, 2);
+        verify(eventPublisher).publishEvent(new MembersAddedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("importMembers - falha em um lote não deve desfazer os lotes já gravados")
+    void importMembers_falhaNoLoteNaoDeveDesfazerAnteriores() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            ndjson.append("{\"username\":\"user").append(i).append("\",\"email\":\"user").append(i)
+                  .append("@email.com\",\"password\":\"senha123\"}\n");
+        }
+        doNothing()
+                .doThrow(new DataAccessResourceFailureException("conexão perdida"))
+                .when(groupMemberBatchRepository).insertAll(eq(1L), anyList(), any(LocalDateTime.class));
+
+        ImportProgressResponse result = memberImportService.importMembers(1L, "admin",
+                stream(ndjson.toString()), MemberImportService.Format.NDJSON);
+
+        assertThat(result.getStatus()).isEqualTo(ImportProgressResponse.Status.COMPLETED);
+        assertThat(result.getRowsRead()).isEqualTo(1000);
+        assertThat(result.getChunksCommitted()).isEqualTo(1);
+        assertThat(result.getMembersAdded()).isEqualTo(500);
+        assertThat(result.getRejected()).isEqualTo(500);
+        assertThat(result.getErrors()).singleElement().asString().contains("linha 1000");
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    @DisplayName("importMembers - deve rejeitar uma segunda importação simultânea no mesmo grupo")
+    void importMembers_deveRejeitarImportacaoSimultanea() {
+        AtomicReference<Throwable> nested = new AtomicReference<>();
+        InputStream body = new InputStream() {
+            private final InputStream delegate = stream("novo,novo@email.com,senha123\n");
+            private boolean first = true;
+
+            @Override
+            public int read() throws java.io.IOException {
+                return delegate.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws java.io.IOException {
+                if (first) {
+                    first = false;
+                    ImportProgressResponse running = memberImportService.getProgress(1L, "admin");
+                    assertThat(running.getStatus()).isEqualTo(ImportProgressResponse.Status.RUNNING);
+                    try {
+                        memberImportService.importMembers(1L, "admin", stream(""), MemberImportService.Format.CSV);
+                    } catch (Throwable e) {
+                        nested.set(e);
+                    }
+                }
+                return delegate.read(b, off, len);
+            }
+        };
+
+        ImportProgressResponse result = memberImportService.importMembers(1L, "admin", body,
+                MemberImportService.Format.CSV);
+
+        assertThat(nested.get()).isInstanceOf(BusinessException.class);
+        assertThat(result.getMembersAdded()).isEqualTo(1);
+        assertThat(memberImportService.getProgress(1L, "admin").getStatus())
+                .isEqualTo(ImportProgressResponse.Status.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("importMembers - deve lançar exceção quando não é admin")
+    void importMembers_deveLancarExcecaoQuandoNaoEhAdmin() {
+        when(groupAccessGuard.requireAdmin(eq(1L), eq("outro"), any()))
+                .thenThrow(new UnauthorizedException("Apenas o administrador pode importar participantes"));
+
+        assertThatThrownBy(() -> memberImportService.importMembers(1L, "outro", stream(""),
+                MemberImportService.Format.CSV))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(userBatchRepository, groupMemberBatchRepository);
+    }
+
+    @Test
+    @DisplayName("evictFinished - deve descartar o andamento das importações finalizadas após o TTL")
+    void evictFinished_deveDescartarImportacoesExpiradas() {
+        memberImportConfig.setProgressTtlMinutes(0);
+        memberImportService = createService();
+        memberImportService.importMembers(1L, "admin", stream("novo,novo@email.com,senha123\n"),
+                MemberImportService.Format.CSV);
+
+        memberImportService.evictFinished();
+
+        assertThat(memberImportService.trackedImports()).isZero();
+        assertThatThrownBy(() -> memberImportService.getProgress(1L, "admin"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("evictFinished - deve manter importações em andamento e as finalizadas dentro do TTL")
+    void evictFinished_deveManterImportacoesAtivasERecentes() {
+        when(groupAccessGuard.requireAdmin(eq(2L), eq("admin"), any())).thenReturn(1L);
+        memberImportService.importMembers(2L, "admin", stream(""), MemberImportService.Format.CSV);
+
+        AtomicReference<ImportProgressResponse> duringEviction = new AtomicReference<>();
+        InputStream body = new InputStream() {
+            private final InputStream delegate = stream("novo,novo@email.com,senha123\n");
+            private boolean first = true;
+
+            @Override
+            public int read() throws java.io.IOException {
+                return delegate.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws java.io.IOException {
+                if (first) {
+                    first = false;
+                    memberImportService.evictFinished();
+                    duringEviction.set(memberImportService.getProgress(1L, "admin"));
+                }
+                return delegate.read(b, off, len);
+            }
+        };
+
+        memberImportService.importMembers(1L, "admin", body, MemberImportService.Format.CSV);
+        memberImportService.evictFinished();
+
+        assertThat(duringEviction.get().getStatus()).isEqualTo(ImportProgressResponse.Status.RUNNING);
+        assertThat(memberImportService.trackedImports()).isEqualTo(2);
+        assertThat(memberImportService.getProgress(2L, "admin").getStatus())
+                .isEqualTo(ImportProgressResponse.Status.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("parseCsvLine - deve respeitar aspas e aspas escapadas")
+    void parseCsvLine_deveRespeitarAspas() {
+        assertThat(MemberImportService.parseCsvLine("\"a,b\",\"di\"\"go\",c", ','))
+                .containsExactly("a,b", "di\"go", "c");
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private MemberImportService createService() {
+        return new MemberImportService(groupAccessGuard, userRepository, groupMemberRepository,
+                groupMemberBatchRepository, userBatchRepository, groupStatsRepository, passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), eventPublisher,
+                transactionManager, memberImportConfig);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,198 @@
+package com.meudominio.amigosecreto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meudominio.amigosecreto.dto.projection.GroupMatch;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
+import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.event.MessagesArchivedEvent;
+import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.model.MessageArchive;
+import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
+import com.meudominio.amigosecreto.repository.MessageArchiveRepository;
+import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MessageArchiveService - Testes Unitários")
+class MessageArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageArchiveRepository messageArchiveRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private GroupAccessGuard groupAccessGuard;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<MessageArchive> archives = new ArrayList<>();
+    private MessageArchiveService messageArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        messageArchiveService = new MessageArchiveService(messageRepository, messageArchiveRepository, groupRepository,
+                groupStatsRepository, groupAccessGuard, eventPublisher, new ObjectMapper().findAndRegisterModules());
+    }
+
+    // ========================
+    // ARQUIVAMENTO
+    // ========================
+
+    @Test
+    @DisplayName("archiveChunk - deve compactar o bloco e removê-lo da tabela de mensagens")
+    void archiveChunk_deveCompactarERemover() {
+        when(messageRepository.findArchivable(1L, CUTOFF, PageRequest.of(0, 100)))
+                .thenReturn(List.of(view(1L, true), view(2L, false), view(3L, false)));
+
+        int archived = messageArchiveService.archiveChunk(1L, CUTOFF, 100);
+
+        assertThat(archived).isEqualTo(3);
+        ArgumentCaptor<MessageArchive> captor = ArgumentCaptor.forClass(MessageArchive.class);
+        verify(messageArchiveRepository).save(captor.capture());
+        MessageArchive archive = captor.getValue();
+        assertThat(archive.getFirstMessageId()).isEqualTo(1L);
+        assertThat(archive.getLastMessageId()).isEqualTo(3L);
+        assertThat(archive.getMessageCount()).isEqualTo(3);
+        assertThat(archive.getOldestTimestamp()).isEqualTo(CUTOFF.minusDays(100));
+        assertThat(archive.getPayload()).startsWith((byte) 0x1f, (byte) 0x8b);
+
+        verify(messageRepository).deleteAllByIdIn(List.of(1L, 2L, 3L));
+        verify(groupStatsRepository).touch(1L);
+        verify(eventPublisher).publishEvent(new MessagesArchivedEvent(1L, List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    @DisplayName("archiveChunk - não deve gravar o remetente das mensagens anônimas")
+    void archiveChunk_naoDeveGravarRemetenteDasAnonimas() throws IOException {
+        when(messageRepository.findArchivable(1L, CUTOFF, PageRequest.of(0, 100)))
+                .thenReturn(List.of(view(1L, true), view(2L, true)));
+
+        messageArchiveService.archiveChunk(1L, CUTOFF, 100);
+
+        ArgumentCaptor<MessageArchive> captor = ArgumentCaptor.forClass(MessageArchive.class);
+        verify(messageArchiveRepository).save(captor.capture());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(captor.getValue().getPayload()))) {
+            String ndjson = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(ndjson).contains("Mensagem 1", "Mensagem 2").doesNotContain("ana");
+        }
+    }
+
+    @Test
+    @DisplayName("archiveChunk - não deve gravar nada quando não há mensagens antigas")
+    void archiveChunk_semMensagensAntigas() {
+        when(messageRepository.findArchivable(eq(1L), eq(CUTOFF), any())).thenReturn(List.of());
+
+        assertThat(messageArchiveService.archiveChunk(1L, CUTOFF, 100)).isZero();
+
+        verifyNoInteractions(messageArchiveRepository, groupStatsRepository, eventPublisher);
+        verify(messageRepository, never()).deleteAllByIdIn(any());
+    }
+
+    // ========================
+    // LEITURA
+    // ========================
+
+    @Test
+    @DisplayName("getArchivedMessages - deve ler os blocos do mais recente ao mais antigo mantendo o anonimato")
+    void getArchivedMessages_devePaginarEntreBlocos() {
+        archive(1L, 3L);
+        archive(4L, 6L);
+        givenArchivesStored();
+        when(groupRepository.findMatchesByIdIn(List.of(1L))).thenReturn(List.of(new GroupMatch(1L, "Natal 2024")));
+
+        CursorPageResponse<MessageResponse> first = messageArchiveService.getArchivedMessages(1L, "ana", null, 4);
+        CursorPageResponse<MessageResponse> second =
+                messageArchiveService.getArchivedMessages(1L, "ana", Long.valueOf(first.getNextCursor()), 4);
+
+        assertThat(first.getItems()).extracting(MessageResponse::getId).containsExactly(6L, 5L, 4L, 3L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo("3");
+        assertThat(first.getItems().get(0).getGroupName()).isEqualTo("Natal 2024");
+        assertThat(second.getItems()).extracting(MessageResponse::getId).containsExactly(2L, 1L);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getItems()).extracting(MessageResponse::getSenderUsername).containsExactly("ana", "Anônimo");
+    }
+
+    @Test
+    @DisplayName("getArchivedMessages - deve lançar exceção quando não é membro")
+    void getArchivedMessages_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("intruso"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> messageArchiveService.getArchivedMessages(1L, "intruso", null, 50))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(messageArchiveRepository);
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private MessageView view(Long id, boolean anonymous) {
+        return new MessageView(id, 1L, "Natal 2024", "ana", "Mensagem " + id, anonymous, CUTOFF.minusDays(101 - id));
+    }
+
+    /**
+     * Arquiva pelo próprio serviço as mensagens de first a last (a primeira é anônima)
+     */
+    private void archive(long first, long last) {
+        List<MessageView> views = LongStream.rangeClosed(first, last).mapToObj(id -> view(id, id == 1L)).toList();
+        when(messageRepository.findArchivable(1L, CUTOFF, PageRequest.of(0, 10))).thenReturn(views);
+        doAnswer(invocation -> {
+            archives.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        }).when(messageArchiveRepository).save(any());
+        messageArchiveService.archiveChunk(1L, CUTOFF, 10);
+    }
+
+    private void givenArchivesStored() {
+        when(messageArchiveRepository.findBefore(eq(1L), anyLong(), any())).thenAnswer(invocation -> {
+            long before = invocation.getArgument(1);
+            return archives.stream()
+                    .filter(archive -> archive.getFirstMessageId() < before)
+                    .sorted(Comparator.comparing(MessageArchive::getLastMessageId).reversed())
+                    .limit(1)
+                    .toList();
+        });
+    }
+}
@@ -1,33 +1,57 @@
 package com.meudominio.amigosecreto.service;
 
+import com.meudominio.amigosecreto.config.PushConfig;
+import com.meudominio.amigosecreto.dto.projection.MessageOwnership;
+import com.meudominio.amigosecreto.dto.projection.MessageView;
 import com.meudominio.amigosecreto.dto.request.SendMessageRequest;
+import com.meudominio.amigosecreto.dto.response.CursorPageResponse;
 import com.meudominio.amigosecreto.dto.response.MessageResponse;
+import com.meudominio.amigosecreto.dto.response.MessageSyncResponse;
+import com.meudominio.amigosecreto.event.MessageDeletedEvent;
+import com.meudominio.amigosecreto.event.MessageSentEvent;
+import com.meudominio.amigosecreto.exception.BusinessException;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.exception.UnauthorizedException;
+import com.meudominio.amigosecreto.ingest.MessageWriteBehind;
 import com.meudominio.amigosecreto.model.Group;
 import com.meudominio.amigosecreto.model.Message;
+import com.meudominio.amigosecreto.model.MessageTombstone;
 import com.meudominio.amigosecreto.model.User;
 import com.meudominio.amigosecreto.model.enums.Role;
+import com.meudominio.amigosecreto.push.MessageBroadcaster;
+import com.meudominio.amigosecreto.push.MessageSyncWaiters;
 import com.meudominio.amigosecreto.repository.GroupMemberRepository;
 import com.meudominio.amigosecreto.repository.GroupRepository;
+import com.meudominio.amigosecreto.repository.GroupStatsRepository;
 import com.meudominio.amigosecreto.repository.MessageRepository;
+import com.meudominio.amigosecreto.repository.MessageTombstoneRepository;
 import com.meudominio.amigosecreto.repository.UserRepository;
+import com.meudominio.amigosecreto.search.MessageSearchEngine;
+import com.meudominio.amigosecreto.security.GroupAccessGuard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,9 +67,36 @@ class MessageServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private GroupStatsRepository groupStatsRepository;
+
+    @Mock
+    private GroupAccessGuard groupAccessGuard;
+
+    @Mock
+    private MessageTombstoneRepository messageTombstoneRepository;
+
+    @Mock
+    private MessageBroadcaster messageBroadcaster;
+
+    @Mock
+    private MessageSyncWaiters syncWaiters;
+
+    @Mock
+    private MessageWriteBehind messageWriteBehind;
+
+    @Mock
+    private MessageSearchEngine messageSearchEngine;
+
     @Mock
     private GroupMemberRepository groupMemberRepository;
 
+    @Spy
+    private PushConfig pushConfig = new PushConfig();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -91,8 +142,8 @@ class MessageServiceTest {
     @DisplayName("sendMessage - deve enviar mensagem anônima com sucesso")
     void sendMessage_deveEnviarMensagemAnonima() {
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(true);
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any())).thenReturn(2L);
+        when(userRepository.getReferenceById(2L)).thenReturn(sender);
         when(messageRepository.save(any(Message.class))).thenReturn(message);
 
         MessageResponse response = messageService.sendMessage(sendRequest, "sender");
@@ -101,7 +152,17 @@ class MessageServiceTest {
         assertThat(response.getIsAnonymous()).isTrue();
         assertThat(response.getSenderUsername()).isEqualTo("Anônimo");
 
-        verify(messageRepository).save(any(Message.class));
+        InOrder order = inOrder(groupStatsRepository, messageRepository);
+        order.verify(groupStatsRepository).lockByGroupIdIn(List.of(1L));
+        order.verify(messageRepository).save(any(Message.class));
+        order.verify(groupStatsRepository).addSentMessages(eq(1L), eq(1), any());
+        verify(groupMemberRepository).markRead(1L, 2L);
+
+        ArgumentCaptor<MessageSentEvent> event = ArgumentCaptor.forClass(MessageSentEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().groupId()).isEqualTo(1L);
+        assertThat(event.getValue().message().getSenderUsername()).isEqualTo("Anônimo");
+        verify(userRepository, never()).findByUsername(any());
     }
 
     @Test
@@ -116,8 +177,8 @@ class MessageServiceTest {
                 .groupId(1L).content("Olá!").isAnonymous(false).build();
 
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(true);
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any())).thenReturn(2L);
+        when(userRepository.getReferenceById(2L)).thenReturn(sender);
         when(messageRepository.save(any(Message.class))).thenReturn(msgIdentificada);
 
         MessageResponse response = messageService.sendMessage(reqIdentificada, "sender");
@@ -141,8 +202,8 @@ class MessageServiceTest {
                 .timestamp(LocalDateTime.now()).build();
 
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(true);
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any())).thenReturn(2L);
+        when(userRepository.getReferenceById(2L)).thenReturn(sender);
         when(messageRepository.save(any(Message.class))).thenReturn(msgAnonima);
 
         ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
@@ -157,13 +218,38 @@ class MessageServiceTest {
     @DisplayName("sendMessage - deve lançar exceção quando usuário não é membro")
     void sendMessage_deveLancarExcecaoQuandoNaoEhMembro() {
         when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(false);
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
 
         assertThatThrownBy(() -> messageService.sendMessage(sendRequest, "sender"))
                 .isInstanceOf(UnauthorizedException.class);
 
         verify(messageRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("submitMessage - deve validar o membro e enfileirar sem carregar as entidades")
+    void submitMessage_deveEnfileirar() {
+        CompletableFuture<MessageResponse> ack = new CompletableFuture<>();
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any())).thenReturn(2L);
+        when(messageWriteBehind.submit(1L, 2L, "sender", "Olá pessoal!", true)).thenReturn(ack);
+
+        assertThat(messageService.submitMessage(sendRequest, "sender")).isSameAs(ack);
+
+        verifyNoInteractions(groupRepository, userRepository, messageRepository);
+    }
+
+    @Test
+    @DisplayName("submitMessage - não deve enfileirar mensagem de quem não é membro")
+    void submitMessage_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> messageService.submitMessage(sendRequest, "sender"))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(messageWriteBehind);
     }
 
     @Test
@@ -180,27 +266,231 @@ class MessageServiceTest {
     // ========================
 
     @Test
-    @DisplayName("getGroupMessages - deve retornar mensagens do grupo")
-    void getGroupMessages_deveRetornarMensagens() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(true);
-        when(messageRepository.findByGroupOrderByTimestampDesc(group)).thenReturn(List.of(message));
+    @DisplayName("getGroupMessages - deve retornar a primeira página com cursor para a próxima")
+    void getGroupMessages_deveRetornarPrimeiraPagina() {
+        LocalDateTime now = LocalDateTime.of(2025, 12, 1, 10, 0);
+        when(messageRepository.findLatest(1L, PageRequest.of(0, 3))).thenReturn(List.of(
+                view(9L, now, false), view(8L, now, true), view(7L, now.minusMinutes(1), false)));
+
+        CursorPageResponse<MessageResponse> page = messageService.getGroupMessages(1L, "sender", null, 2);
+
+        assertThat(page.getItems()).extracting(MessageResponse::getId).containsExactly(9L, 8L);
+        assertThat(page.getItems().get(1).getSenderUsername()).isEqualTo("Anônimo");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(MessageCursor.decode(page.getNextCursor())).isEqualTo(new MessageCursor(now, 8L));
+        verify(groupAccessGuard).requireMember(eq(1L), eq("sender"), any());
+    }
 
-        List<MessageResponse> messages = messageService.getGroupMessages(1L, "sender");
+    @Test
+    @DisplayName("getGroupMessages - deve buscar a partir do cursor e encerrar na última página")
+    void getGroupMessages_deveContinuarDoCursor() {
+        LocalDateTime now = LocalDateTime.of(2025, 12, 1, 10, 0);
+        String cursor = new MessageCursor(now, 8L).encode();
+        when(messageRepository.findBefore(1L, now, 8L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(view(7L, now.minusMinutes(1), false)));
+
+        CursorPageResponse<MessageResponse> page = messageService.getGroupMessages(1L, "sender", cursor, 2);
+
+        assertThat(page.getItems()).extracting(MessageResponse::getId).containsExactly(7L);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verify(messageRepository, never()).findLatest(any(), any());
+    }
+
+    @Test
+    @DisplayName("getGroupMessages - deve rejeitar cursor inválido")
+    void getGroupMessages_deveRejeitarCursorInvalido() {
+        assertThatThrownBy(() -> messageService.getGroupMessages(1L, "sender", "não-é-cursor", 50))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cursor inválido");
 
-        assertThat(messages).hasSize(1);
+        verifyNoInteractions(messageRepository);
     }
 
     @Test
     @DisplayName("getGroupMessages - deve lançar exceção quando não é membro")
     void getGroupMessages_deveLancarExcecaoQuandoNaoEhMembro() {
-        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(false);
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> messageService.getGroupMessages(1L, "sender", null, 50))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("getGroupMessagesETag - deve montar o ETag pela revisão sem carregar as mensagens")
+    void getGroupMessagesETag_deveUsarRevisao() {
+        when(groupStatsRepository.findRevisionByGroupId(1L)).thenReturn(Optional.of(3L));
+
+        assertThat(messageService.getGroupMessagesETag(1L, "sender")).isEqualTo("m1-3");
+
+        verify(groupAccessGuard).requireMember(eq(1L), eq("sender"), any());
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("getGroupMessagesETag - deve retornar null quando o grupo não tem contadores")
+    void getGroupMessagesETag_deveRetornarNullSemContadores() {
+        when(groupStatsRepository.findRevisionByGroupId(1L)).thenReturn(Optional.empty());
+
+        assertThat(messageService.getGroupMessagesETag(1L, "sender")).isNull();
+    }
+
+    // ========================
+    // BUSCA
+    // ========================
+
+    @Test
+    @DisplayName("searchMessages - deve retornar na ordem da busca mantendo o anonimato")
+    void searchMessages_deveRetornarResultadosMascarados() {
+        LocalDateTime now = LocalDateTime.of(2025, 12, 1, 10, 0);
+        when(messageSearchEngine.search(1L, List.of("presente", "natal"), Long.MAX_VALUE, 3))
+                .thenReturn(List.of(9L, 5L, 2L));
+        when(messageRepository.findViewsByIdIn(List.of(9L, 5L)))
+                .thenReturn(List.of(view(5L, now.minusDays(1), false), view(9L, now, true)));
+
+        CursorPageResponse<MessageResponse> page =
+                messageService.searchMessages(1L, "sender", "Presente, NATAL!", null, 2);
+
+        assertThat(page.getItems()).extracting(MessageResponse::getId).containsExactly(9L, 5L);
+        assertThat(page.getItems()).extracting(MessageResponse::getSenderUsername).containsExactly("Anônimo", "sender");
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isEqualTo("5");
+        verify(groupAccessGuard).requireMember(eq(1L), eq("sender"), any());
+    }
 
-        assertThatThrownBy(() -> messageService.getGroupMessages(1L, "sender"))
+    @Test
+    @DisplayName("searchMessages - deve continuar antes do ID informado")
+    void searchMessages_deveContinuarDoCursor() {
+        when(messageSearchEngine.search(1L, List.of("natal"), 5L, 3)).thenReturn(List.of());
+
+        CursorPageResponse<MessageResponse> page = messageService.searchMessages(1L, "sender", "natal", 5L, 2);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        verifyNoInteractions(messageRepository);
+    }
+
+    @Test
+    @DisplayName("searchMessages - deve rejeitar busca sem palavras válidas")
+    void searchMessages_deveRejeitarBuscaVazia() {
+        assertThatThrownBy(() -> messageService.searchMessages(1L, "sender", " ! a ", null, 20))
+                .isInstanceOf(BusinessException.class);
+
+        verifyNoInteractions(messageSearchEngine);
+    }
+
+    // ========================
+    // SINCRONIZAÇÃO INCREMENTAL
+    // ========================
+
+    @Test
+    @DisplayName("getMessagesSince - deve retornar mensagens e exclusões após o cursor")
+    void getMessagesSince_deveRetornarNovidades() {
+        LocalDateTime now = LocalDateTime.now();
+        when(messageRepository.findAfter(1L, 5L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(view(8L, now, true), view(9L, now, false)));
+        when(messageTombstoneRepository.findAfter(1L, 3L, 9L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(tombstone(4L, 2L)));
+
+        MessageSyncResponse sync = (MessageSyncResponse) messageService.getMessagesSince(1L, "sender", "5.3", 50, 0).getResult();
+
+        assertThat(sync.getMessages()).extracting(MessageResponse::getId).containsExactly(8L, 9L);
+        assertThat(sync.getMessages().get(0).getSenderUsername()).isEqualTo("Anônimo");
+        assertThat(sync.getDeletedMessageIds()).containsExactly(2L);
+        assertThat(sync.getCursor()).isEqualTo("9.4");
+        assertThat(sync.isHasMore()).isFalse();
+        verifyNoInteractions(syncWaiters);
+    }
+
+    @Test
+    @DisplayName("getMessagesSince - deve aceitar o ID de uma mensagem como cursor inicial")
+    void getMessagesSince_deveAceitarIdDeMensagem() {
+        when(messageRepository.findAfter(1L, 42L, PageRequest.of(0, 51))).thenReturn(List.of());
+        when(messageTombstoneRepository.findAfter(1L, 0L, 42L, PageRequest.of(0, 51))).thenReturn(List.of());
+
+        MessageSyncResponse sync = (MessageSyncResponse) messageService.getMessagesSince(1L, "sender", "42", 50, 0).getResult();
+
+        assertThat(sync.getMessages()).isEmpty();
+        assertThat(sync.getCursor()).isEqualTo("42.0");
+    }
+
+    @Test
+    @DisplayName("getMessagesSince - deve estacionar a requisição e responder na próxima alteração")
+    void getMessagesSince_deveAguardarAlteracao() {
+        LocalDateTime now = LocalDateTime.now();
+        MessageSyncWaiters.Registration registration = mock(MessageSyncWaiters.Registration.class);
+        ArgumentCaptor<Runnable> onChange = ArgumentCaptor.forClass(Runnable.class);
+        when(syncWaiters.register(eq(1L), onChange.capture())).thenReturn(registration);
+        when(messageRepository.findAfter(1L, 5L, PageRequest.of(0, 51)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(view(6L, now, false)));
+        when(messageTombstoneRepository.findAfter(eq(1L), eq(0L), any(), any())).thenReturn(List.of());
+
+        DeferredResult<MessageSyncResponse> result = messageService.getMessagesSince(1L, "sender", "5", 50, 10);
+
+        assertThat(result.hasResult()).isFalse();
+        verify(registration, never()).cancel();
+
+        onChange.getValue().run();
+
+        MessageSyncResponse sync = (MessageSyncResponse) result.getResult();
+        assertThat(sync.getMessages()).extracting(MessageResponse::getId).containsExactly(6L);
+        assertThat(sync.getCursor()).isEqualTo("6.0");
+    }
+
+    @Test
+    @DisplayName("getMessagesSince - deve responder na hora e cancelar a espera quando já há novidades")
+    void getMessagesSince_deveResponderNaHoraComNovidades() {
+        MessageSyncWaiters.Registration registration = mock(MessageSyncWaiters.Registration.class);
+        when(syncWaiters.register(eq(1L), any())).thenReturn(registration);
+        when(messageRepository.findAfter(1L, 5L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(view(6L, LocalDateTime.now(), false)));
+        when(messageTombstoneRepository.findAfter(1L, 0L, 6L, PageRequest.of(0, 51))).thenReturn(List.of());
+
+        DeferredResult<MessageSyncResponse> result = messageService.getMessagesSince(1L, "sender", "5", 50, 10);
+
+        assertThat(result.hasResult()).isTrue();
+        verify(registration).cancel();
+    }
+
+    @Test
+    @DisplayName("getMessagesSince - deve rejeitar cursor inválido")
+    void getMessagesSince_deveRejeitarCursorInvalido() {
+        assertThatThrownBy(() -> messageService.getMessagesSince(1L, "sender", "abc", 50, 0))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Cursor inválido");
+
+        verifyNoInteractions(messageRepository, syncWaiters);
+    }
+
+    // ========================
+    // TEMPO REAL
+    // ========================
+
+    @Test
+    @DisplayName("subscribe - deve abrir o canal do grupo repassando o Last-Event-ID")
+    void subscribe_deveAbrirCanal() {
+        SseEmitter emitter = new SseEmitter();
+        when(groupAccessGuard.requireMember(eq(1L), eq("sender"), any())).thenReturn(2L);
+        when(messageBroadcaster.subscribe(1L, 2L, "7.3")).thenReturn(emitter);
+
+        assertThat(messageService.subscribe(1L, "sender", "7.3")).isSameAs(emitter);
+    }
+
+    @Test
+    @DisplayName("subscribe - não deve abrir o canal para quem não é membro")
+    void subscribe_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(groupAccessGuard.requireMember(eq(1L), eq("outro"), any()))
+                .thenThrow(new UnauthorizedException("Você não é membro deste grupo"));
+
+        assertThatThrownBy(() -> messageService.subscribe(1L, "outro", null))
                 .isInstanceOf(UnauthorizedException.class);
+
+        verifyNoInteractions(messageBroadcaster);
     }
 
     // ========================
@@ -208,22 +498,37 @@ class MessageServiceTest {
     // ========================
 
     @Test
-    @DisplayName("getMessageById - deve retornar mensagem quando usuário é membro")
+    @DisplayName("getMessageById - deve retornar mensagem pela projeção quando usuário é membro")
     void getMessageById_deveRetornarMensagem() {
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(message));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
-        when(groupMemberRepository.existsByGroupAndUser(group, sender)).thenReturn(true);
+        when(messageRepository.findViewById(1L))
+                .thenReturn(Optional.of(new MessageView(1L, 1L, "Amigo Secreto 2025", null, "Olá pessoal!", true,
+                        LocalDateTime.now())));
 
         MessageResponse response = messageService.getMessageById(1L, "sender");
 
         assertThat(response).isNotNull();
         assertThat(response.getId()).isEqualTo(1L);
+        assertThat(response.getSenderUsername()).isEqualTo("Anônimo");
+        verify(groupAccessGuard).requireMember(eq(1L), eq("sender"), any());
+        verify(messageRepository, never()).findById(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("getMessageById - deve lançar exceção quando usuário não é membro do grupo da mensagem")
+    void getMessageById_deveLancarExcecaoQuandoNaoEhMembro() {
+        when(messageRepository.findViewById(1L)).thenReturn(Optional.of(view(1L, LocalDateTime.now(), false)));
+        when(groupAccessGuard.requireMember(eq(1L), eq("outro"), any()))
+                .thenThrow(new UnauthorizedException("Você não tem acesso a esta mensagem"));
+
+        assertThatThrownBy(() -> messageService.getMessageById(1L, "outro"))
+                .isInstanceOf(UnauthorizedException.class);
     }
 
     @Test
     @DisplayName("getMessageById - deve lançar exceção quando mensagem não é encontrada")
     void getMessageById_deveLancarExcecaoQuandoNaoEncontrada() {
-        when(messageRepository.findById(99L)).thenReturn(Optional.empty());
+        when(messageRepository.findViewById(99L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> messageService.getMessageById(99L, "sender"))
                 .isInstanceOf(ResourceNotFoundException.class);
@@ -236,36 +541,57 @@ class MessageServiceTest {
     @Test
     @DisplayName("deleteMessage - remetente deve conseguir deletar sua própria mensagem")
     void deleteMessage_remetentePodeDeletarSuaMensagem() {
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(message));
-        when(userRepository.findByUsername("sender")).thenReturn(Optional.of(sender));
+        when(messageRepository.findOwnershipById(1L)).thenReturn(Optional.of(new MessageOwnership(1L, 2L, 1L)));
+        when(userRepository.findIdByUsername("sender")).thenReturn(Optional.of(2L));
 
         messageService.deleteMessage(1L, "sender");
 
-        verify(messageRepository).delete(message);
+        verify(messageRepository).deleteAllByIdIn(List.of(1L));
+        verify(messageRepository, never()).findById(any());
+        verify(groupStatsRepository).addMessages(1L, -1);
+        verify(groupMemberRepository).skipUnreadMessage(1L, 1L);
+
+        ArgumentCaptor<MessageTombstone> tombstone = ArgumentCaptor.forClass(MessageTombstone.class);
+        InOrder order = inOrder(groupStatsRepository, messageTombstoneRepository);
+        order.verify(groupStatsRepository).lockByGroupIdIn(List.of(1L));
+        order.verify(messageTombstoneRepository).save(tombstone.capture());
+        assertThat(tombstone.getValue().getGroupId()).isEqualTo(1L);
+        assertThat(tombstone.getValue().getMessageId()).isEqualTo(1L);
+        verify(eventPublisher).publishEvent(new MessageDeletedEvent(1L, 1L));
     }
 
     @Test
     @DisplayName("deleteMessage - admin do grupo deve conseguir deletar qualquer mensagem")
     void deleteMessage_adminPodeDeletarQualquerMensagem() {
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(message));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        when(messageRepository.findOwnershipById(1L)).thenReturn(Optional.of(new MessageOwnership(1L, 2L, 1L)));
+        when(userRepository.findIdByUsername("admin")).thenReturn(Optional.of(1L));
 
         messageService.deleteMessage(1L, "admin");
 
-        verify(messageRepository).delete(message);
+        verify(messageRepository).deleteAllByIdIn(List.of(1L));
     }
 
     @Test
     @DisplayName("deleteMessage - deve lançar exceção quando usuário não tem permissão")
     void deleteMessage_deveLancarExcecaoQuandoNaoTemPermissao() {
-        User outro = User.builder().id(5L).username("outro").build();
-
-        when(messageRepository.findById(1L)).thenReturn(Optional.of(message));
-        when(userRepository.findByUsername("outro")).thenReturn(Optional.of(outro));
+        when(messageRepository.findOwnershipById(1L)).thenReturn(Optional.of(new MessageOwnership(1L, 2L, 1L)));
+        when(userRepository.findIdByUsername("outro")).thenReturn(Optional.of(5L));
 
         assertThatThrownBy(() -> messageService.deleteMessage(1L, "outro"))
                 .isInstanceOf(UnauthorizedException.class);
 
-        verify(messageRepository, never()).delete(any());
+        verify(messageRepository, never()).deleteAllByIdIn(any());
+    }
+
+    // ========================
+    // HELPER
+    // ========================
+
+    private MessageTombstone tombstone(Long id, Long messageId) {
+        return MessageTombstone.builder().id(id).groupId(1L).messageId(messageId).deletedAt(LocalDateTime.now()).build();
+    }
+
+    private MessageView view(Long id, LocalDateTime timestamp, boolean anonymous) {
+        return new MessageView(id, 1L, "Amigo Secreto 2025", "sender", "Mensagem " + id, anonymous, timestamp);
     }
 }
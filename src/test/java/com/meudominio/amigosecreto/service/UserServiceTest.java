@@ -1,6 +1,7 @@
 package com.meudominio.amigosecreto.service;
 
 import com.meudominio.amigosecreto.dto.response.UserResponse;
+import com.meudominio.amigosecreto.event.UserDeletedEvent;
 import com.meudominio.amigosecreto.exception.ResourceNotFoundException;
 import com.meudominio.amigosecreto.model.User;
 import com.meudominio.amigosecreto.model.enums.Role;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +29,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -135,6 +140,7 @@ class UserServiceTest {
         userService.deleteUser(1L);
 
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
     }
 
     @Test
@@ -146,5 +152,6 @@ class UserServiceTest {
                 .isInstanceOf(ResourceNotFoundException.class);
 
         verify(userRepository, never()).deleteById(any());
+        verifyNoInteractions(eventPublisher);
     }
 }